@@ -0,0 +1,48 @@
+package com.blyznytsia.bring.benchmarks;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.blyznytsia.bring.benchmarks.fixtures.Leaf;
+import com.blyznytsia.bring.context.BeanDefinition;
+import com.blyznytsia.bring.context.util.BeanDefinitionGenerator;
+
+/**
+ * {@link BeanDefinitionGeneratorBenchmark} measures {@link BeanDefinitionGenerator#generate} for a class
+ * of each injection mode
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeanDefinitionGeneratorBenchmark {
+
+    @Param({"Leaf", "FieldInjected", "SetterInjected", "ConstructorInjected"})
+    private String fixture;
+
+    private Class<?> targetClass;
+
+    @Setup
+    public void setUp() throws ClassNotFoundException {
+        targetClass = Class.forName(Leaf.class.getPackageName() + "." + fixture);
+    }
+
+    @Benchmark
+    public BeanDefinition generate() {
+        return BeanDefinitionGenerator.generate(targetClass, Collections.emptySet());
+    }
+}
@@ -0,0 +1,71 @@
+package com.blyznytsia.bring.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.blyznytsia.bring.benchmarks.fixtures.Fixtures;
+import com.blyznytsia.bring.context.BeanDefinitionRegistry;
+import com.blyznytsia.bring.context.BeanFactory;
+
+/**
+ * {@link BeanFactoryBenchmark} measures {@link BeanFactory#traverseBeanDefinitionRegistryAndFillBeanMap}
+ * over the fixture classes, with objects created in the calling thread or on an executor.
+ * Definitions are reset before every traversal, the reset is part of the score.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeanFactoryBenchmark {
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private BeanDefinitionRegistry registry;
+    private ExecutorService executor;
+    private BeanFactory factory;
+
+    @Setup
+    public void setUp() {
+        registry = Fixtures.registry();
+        if (parallel) {
+            executor = Executors.newFixedThreadPool(4);
+            factory = new BeanFactory(executor);
+        } else {
+            factory = new BeanFactory();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> traverseBeanDefinitionRegistryAndFillBeanMap() {
+        Fixtures.reset(registry);
+        var beanMap = new HashMap<String, Object>();
+        factory.traverseBeanDefinitionRegistryAndFillBeanMap(registry, beanMap);
+        return beanMap;
+    }
+}
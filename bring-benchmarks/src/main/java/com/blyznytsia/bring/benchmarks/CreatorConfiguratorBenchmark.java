@@ -0,0 +1,99 @@
+package com.blyznytsia.bring.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.blyznytsia.bring.benchmarks.fixtures.ConstructorInjected;
+import com.blyznytsia.bring.benchmarks.fixtures.FieldInjected;
+import com.blyznytsia.bring.benchmarks.fixtures.Fixtures;
+import com.blyznytsia.bring.benchmarks.fixtures.Leaf;
+import com.blyznytsia.bring.benchmarks.fixtures.SetterInjected;
+import com.blyznytsia.bring.context.BeanDefinition;
+import com.blyznytsia.bring.context.services.BeanConfigurator;
+import com.blyznytsia.bring.context.services.BeanCreator;
+import com.blyznytsia.bring.context.services.impl.AutowiredConstructorBeanCreator;
+import com.blyznytsia.bring.context.services.impl.AutowiredFieldBeanConfigurator;
+import com.blyznytsia.bring.context.services.impl.AutowiredSetterBeanConfigurator;
+import com.blyznytsia.bring.context.services.impl.EmptyConstructorBeanCreator;
+
+/**
+ * {@link CreatorConfiguratorBenchmark} measures a single call of each {@link BeanCreator}
+ * and {@link BeanConfigurator} implementation with its plan already cached.
+ * Created objects are removed from the objects' storage after each call, the removal is part of the score.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CreatorConfiguratorBenchmark {
+
+    private final BeanCreator emptyConstructorBeanCreator = new EmptyConstructorBeanCreator();
+    private final BeanCreator autowiredConstructorBeanCreator = new AutowiredConstructorBeanCreator();
+    private final BeanConfigurator autowiredFieldBeanConfigurator = new AutowiredFieldBeanConfigurator();
+    private final BeanConfigurator autowiredSetterBeanConfigurator = new AutowiredSetterBeanConfigurator();
+
+    private BeanDefinition leafDefinition;
+    private BeanDefinition constructorInjectedDefinition;
+    private BeanDefinition fieldInjectedDefinition;
+    private BeanDefinition setterInjectedDefinition;
+    private Map<String, Object> beanMap;
+    private Map<String, Object> createdBeans;
+    private FieldInjected fieldInjected;
+    private SetterInjected setterInjected;
+
+    @Setup
+    public void setUp() {
+        var registry = Fixtures.registry();
+        leafDefinition = registry.getBeanDefinition(Leaf.class.getName());
+        constructorInjectedDefinition = registry.getBeanDefinition(ConstructorInjected.class.getName());
+        fieldInjectedDefinition = registry.getBeanDefinition(FieldInjected.class.getName());
+        setterInjectedDefinition = registry.getBeanDefinition(SetterInjected.class.getName());
+
+        fieldInjected = new FieldInjected();
+        setterInjected = new SetterInjected();
+        createdBeans = new HashMap<>();
+        beanMap = new HashMap<>();
+        beanMap.put(Leaf.class.getName(), new Leaf());
+        beanMap.put(FieldInjected.class.getName(), fieldInjected);
+    }
+
+    @Benchmark
+    public Object emptyConstructorBeanCreator() {
+        var bean = emptyConstructorBeanCreator.create(leafDefinition, createdBeans);
+        createdBeans.clear();
+        return bean;
+    }
+
+    @Benchmark
+    public Object autowiredConstructorBeanCreator() {
+        var bean = autowiredConstructorBeanCreator.create(constructorInjectedDefinition, beanMap);
+        beanMap.remove(ConstructorInjected.class.getName());
+        return bean;
+    }
+
+    @Benchmark
+    public Object autowiredFieldBeanConfigurator() {
+        autowiredFieldBeanConfigurator.configure(fieldInjected, fieldInjectedDefinition, beanMap);
+        return fieldInjected;
+    }
+
+    @Benchmark
+    public Object autowiredSetterBeanConfigurator() {
+        autowiredSetterBeanConfigurator.configure(setterInjected, setterInjectedDefinition, beanMap);
+        return setterInjected;
+    }
+}
@@ -0,0 +1,76 @@
+package com.blyznytsia.bring.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.blyznytsia.bring.context.ApplicationContext;
+
+/**
+ * {@link GetBeanBenchmark} compares {@link ApplicationContext#getBean(Class)} backed by the type index
+ * with a linear scan over the objects' storage (the way lookups were done before the index).
+ * The indexed lookup is also measured from as many threads as there are cores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GetBeanBenchmark {
+
+    @Param({"10000"})
+    private int beans;
+
+    private Map<String, Object> beanMap;
+    private ApplicationContext context;
+
+    @Setup
+    public void setUp() {
+        beanMap = new HashMap<>();
+        for (int i = 0; i < beans - 1; i++) {
+            beanMap.put("bean" + i, new ArrayList<>());
+        }
+        beanMap.put(Target.class.getName(), new Target());
+
+        context = new ApplicationContext();
+        context.setBeanMap(beanMap);
+    }
+
+    @Benchmark
+    public Target indexedLookup() {
+        return context.getBean(Target.class);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Target indexedLookupFromAllCores() {
+        return context.getBean(Target.class);
+    }
+
+    @Benchmark
+    public Target linearScan() {
+        return beanMap.values().stream()
+                .filter(Target.class::isInstance)
+                .findAny()
+                .map(Target.class::cast)
+                .orElseThrow();
+    }
+
+    public static class Target {
+    }
+}
@@ -0,0 +1,96 @@
+package com.blyznytsia.bring.benchmarks;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.blyznytsia.bring.context.ApplicationContext;
+import com.blyznytsia.bring.context.BeanDefinitionRegistry;
+import com.blyznytsia.bring.context.Scanner;
+import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.annotation.Component;
+import com.blyznytsia.bring.context.constants.BeanScope;
+import com.blyznytsia.bring.context.util.BeanDefinitionGenerator;
+import com.blyznytsia.bring.context.util.CompiledBeanFactory;
+
+/**
+ * {@link PrototypeBenchmark} compares the throughput of creating a prototype with a singleton and
+ * a prototype dependency by hand, by its {@link CompiledBeanFactory} and by {@link ApplicationContext#getBean(Class)}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrototypeBenchmark {
+
+    private Service service;
+    private CompiledBeanFactory prototypeFactory;
+    private ApplicationContext context;
+
+    @Setup
+    public void setUp() {
+        var registry = new BeanDefinitionRegistry();
+        context = new ApplicationContext();
+        context.setBeanDefinitionRegistry(registry);
+        context.setScanner(new Scanner() {
+            @Override
+            public void scanAndFillBeanDefinitionRegistry(BeanDefinitionRegistry beanDefinitionRegistry) {
+                Stream.of(Request.class, Service.class, Payload.class)
+                        .map(targetClass -> BeanDefinitionGenerator.generate(targetClass, Collections.emptySet()))
+                        .forEach(beanDefinition -> beanDefinitionRegistry.registerBeanDefinition(
+                                beanDefinition.getClassName(), beanDefinition));
+            }
+        });
+        context.init();
+
+        service = context.getBean(Service.class);
+        prototypeFactory = registry.getBeanDefinition(Request.class.getName()).getPrototypeFactory();
+    }
+
+    @Benchmark
+    public Request handWritten() {
+        var request = new Request();
+        request.service = service;
+        request.payload = new Payload();
+        return request;
+    }
+
+    @Benchmark
+    public Object compiledFactory() {
+        return prototypeFactory.newInstance();
+    }
+
+    @Benchmark
+    public Request getBean() {
+        return context.getBean(Request.class);
+    }
+
+    @Component(scope = BeanScope.PROTOTYPE)
+    public static class Request {
+        @Autowired
+        private Service service;
+        @Autowired
+        private Payload payload;
+    }
+
+    @Component
+    public static class Service {
+    }
+
+    @Component(scope = BeanScope.PROTOTYPE)
+    public static class Payload {
+    }
+}
@@ -0,0 +1,51 @@
+package com.blyznytsia.bring.benchmarks;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.blyznytsia.bring.benchmarks.fixtures.FixturesConfig;
+import com.blyznytsia.bring.context.BeanDefinitionRegistry;
+import com.blyznytsia.bring.context.Scanner;
+
+/**
+ * {@link ScannerBenchmark} measures a full classpath scan of {@link Scanner#scanAndFillBeanDefinitionRegistry}
+ * finding {@link FixturesConfig} and the fixture classes, in sequential and in parallel mode
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScannerBenchmark {
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    /**
+     * {@link Scanner} looks for configurations in the packages already loaded
+     */
+    @Setup
+    public void setUp() {
+        Objects.requireNonNull(FixturesConfig.class);
+    }
+
+    @Benchmark
+    public BeanDefinitionRegistry scanAndFillBeanDefinitionRegistry() {
+        var registry = new BeanDefinitionRegistry();
+        new Scanner(parallel).scanAndFillBeanDefinitionRegistry(registry);
+        return registry;
+    }
+}
@@ -0,0 +1,17 @@
+package com.blyznytsia.bring.benchmarks.fixtures;
+
+import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.annotation.Component;
+
+@Component
+public class ConstructorInjected {
+
+    private Leaf leaf;
+    private FieldInjected fieldInjected;
+
+    @Autowired
+    public ConstructorInjected(Leaf leaf, FieldInjected fieldInjected) {
+        this.leaf = leaf;
+        this.fieldInjected = fieldInjected;
+    }
+}
@@ -0,0 +1,11 @@
+package com.blyznytsia.bring.benchmarks.fixtures;
+
+import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.annotation.Component;
+
+@Component
+public class FieldInjected {
+
+    @Autowired
+    private Leaf leaf;
+}
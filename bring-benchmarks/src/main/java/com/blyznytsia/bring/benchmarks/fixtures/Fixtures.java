@@ -0,0 +1,36 @@
+package com.blyznytsia.bring.benchmarks.fixtures;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.blyznytsia.bring.context.BeanDefinitionRegistry;
+import com.blyznytsia.bring.context.constants.BeanStatus;
+import com.blyznytsia.bring.context.util.BeanDefinitionGenerator;
+
+/**
+ * {@link Fixtures} builds {@link BeanDefinitionRegistry} of the fixture classes for the benchmarks
+ */
+public class Fixtures {
+
+    public static final List<Class<?>> CLASSES = List.of(
+            Leaf.class, FieldInjected.class, SetterInjected.class, ConstructorInjected.class);
+
+    public static BeanDefinitionRegistry registry() {
+        var registry = new BeanDefinitionRegistry();
+        CLASSES.stream()
+                .map(targetClass -> BeanDefinitionGenerator.generate(targetClass, Collections.emptySet()))
+                .forEach(beanDefinition -> registry.registerBeanDefinition(beanDefinition.getClassName(), beanDefinition));
+        return registry;
+    }
+
+    /**
+     * Method makes all the {@link com.blyznytsia.bring.context.BeanDefinition} of the registry
+     * eligible for creation again
+     *
+     * @param registry  registry whose objects have been created
+     */
+    public static void reset(BeanDefinitionRegistry registry) {
+        registry.getBeanDefinitionMap().values()
+                .forEach(beanDefinition -> beanDefinition.setStatus(BeanStatus.INITIALIZING));
+    }
+}
@@ -0,0 +1,9 @@
+package com.blyznytsia.bring.benchmarks.fixtures;
+
+import com.blyznytsia.bring.context.annotation.ComponentScan;
+import com.blyznytsia.bring.context.annotation.Configuration;
+
+@Configuration
+@ComponentScan("com.blyznytsia.bring.benchmarks.fixtures")
+public class FixturesConfig {
+}
@@ -0,0 +1,7 @@
+package com.blyznytsia.bring.benchmarks.fixtures;
+
+import com.blyznytsia.bring.context.annotation.Component;
+
+@Component
+public class Leaf {
+}
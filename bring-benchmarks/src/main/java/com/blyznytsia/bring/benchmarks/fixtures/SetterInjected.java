@@ -0,0 +1,15 @@
+package com.blyznytsia.bring.benchmarks.fixtures;
+
+import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.annotation.Component;
+
+@Component
+public class SetterInjected {
+
+    private Leaf leaf;
+
+    @Autowired
+    public void setLeaf(Leaf leaf) {
+        this.leaf = leaf;
+    }
+}
@@ -0,0 +1,200 @@
+package com.blyznytsia.bring.index;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+
+/**
+ * {@link ComponentIndexProcessor} collects at compile time the data Bring otherwise gets by scanning the classpath:
+ * {@code @Configuration} classes, {@code @Component} classes, {@code @ComponentScan} packages
+ * and {@code @Bean} methods return types.
+ * The data is written to {@value #INDEX_LOCATION}, one {@code kind=value} entry per line.
+ * <p>
+ * An incremental compilation sees only the changed classes, so the index already in the class output is merged:
+ * the entries of the classes listed there and not compiled now are collected again from their class files,
+ * classes that no longer exist or are no longer annotated are dropped.
+ * The processor supports all the annotations, so that it also runs for a compilation
+ * without any Bring annotation left, but it claims none of them.
+ */
+@SupportedAnnotationTypes("*")
+public class ComponentIndexProcessor extends AbstractProcessor {
+
+    public static final String INDEX_LOCATION = "META-INF/bring.components";
+
+    static final String CONFIGURATION = "com.blyznytsia.bring.context.annotation.Configuration";
+    static final String COMPONENT = "com.blyznytsia.bring.context.annotation.Component";
+    static final String COMPONENT_SCAN = "com.blyznytsia.bring.context.annotation.ComponentScan";
+    static final String BEAN = "com.blyznytsia.bring.context.annotation.Bean";
+
+    private final Set<String> entries = new TreeSet<>();
+    private final Set<String> compiledTypes = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        ElementFilter.typesIn(roundEnv.getRootElements()).forEach(this::collectCompiledType);
+        annotations.forEach(annotation -> roundEnv.getElementsAnnotatedWith(annotation)
+                .forEach(element -> collect(annotation.getQualifiedName().toString(), element)));
+
+        if (roundEnv.processingOver()) {
+            var previousTypes = readPreviousTypes();
+            previousTypes.forEach(this::collectPreviousType);
+            if (!entries.isEmpty() || !previousTypes.isEmpty()) {
+                writeIndex();
+            }
+        }
+        return false;
+    }
+
+    private void collectCompiledType(TypeElement type) {
+        compiledTypes.add(binaryName(type));
+        ElementFilter.typesIn(type.getEnclosedElements()).forEach(this::collectCompiledType);
+    }
+
+    /**
+     * @return  configuration and component classes listed in the index of the previous compilation,
+     *          empty if there is none
+     */
+    private Set<String> readPreviousTypes() {
+        var types = new TreeSet<String>();
+        try {
+            var resource = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (var reader = new BufferedReader(
+                    new InputStreamReader(resource.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith("configuration=") || line.startsWith("component=")) {
+                        types.add(line.substring(line.indexOf('=') + 1).trim());
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // no previous index, the current compilation is the whole application
+        }
+        return types;
+    }
+
+    /**
+     * Method collects again the entries of a class listed in the previous index and not compiled now.
+     * Its {@code @ComponentScan} packages and {@code @Bean} return types are collected with it.
+     *
+     * @param binaryName    binary name of the class
+     */
+    private void collectPreviousType(String binaryName) {
+        if (compiledTypes.contains(binaryName)) {
+            return;
+        }
+        var elements = processingEnv.getElementUtils();
+        var type = elements.getTypeElement(binaryName);
+        if (type == null) {
+            type = elements.getTypeElement(binaryName.replace('$', '.'));
+        }
+        if (type == null) {
+            return;
+        }
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            for (String annotationName : List.of(CONFIGURATION, COMPONENT, COMPONENT_SCAN)) {
+                if (isOfType(mirror, annotationName)) {
+                    collect(annotationName, type);
+                }
+            }
+        }
+        ElementFilter.methodsIn(type.getEnclosedElements()).stream()
+                .filter(method -> method.getAnnotationMirrors().stream().anyMatch(mirror -> isOfType(mirror, BEAN)))
+                .forEach(method -> collect(BEAN, method));
+    }
+
+    private void collect(String annotationName, Element element) {
+        switch (annotationName) {
+            case CONFIGURATION:
+                entries.add("configuration=" + binaryName(element));
+                break;
+            case COMPONENT:
+                entries.add("component=" + binaryName(element));
+                break;
+            case COMPONENT_SCAN:
+                collectComponentScanPackages(element);
+                break;
+            case BEAN:
+                collectBeanReturnType((ExecutableElement) element);
+                break;
+            default:
+        }
+    }
+
+    private void collectComponentScanPackages(Element element) {
+        element.getAnnotationMirrors().stream()
+                .filter(mirror -> isOfType(mirror, COMPONENT_SCAN))
+                .flatMap(mirror -> mirror.getElementValues().values().stream())
+                .forEach(value -> collectPackages(value.getValue()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void collectPackages(Object value) {
+        if (value instanceof Iterable) {
+            ((Iterable<? extends AnnotationValue>) value).forEach(item -> collectPackages(item.getValue()));
+        } else {
+            entries.add("componentScan=" + value);
+        }
+    }
+
+    private void collectBeanReturnType(ExecutableElement method) {
+        var returnType = method.getReturnType();
+        if (returnType.getKind() != TypeKind.DECLARED) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "@Bean method must return a class type", method);
+            return;
+        }
+        entries.add("bean=" + binaryName(((DeclaredType) returnType).asElement()));
+    }
+
+    private boolean isOfType(AnnotationMirror mirror, String annotationName) {
+        var annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+        return annotationType.getQualifiedName().contentEquals(annotationName);
+    }
+
+    private String binaryName(Element element) {
+        return processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString();
+    }
+
+    private void writeIndex() {
+        try {
+            var resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (Writer writer = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (String entry : entries) {
+                    writer.write(entry);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write " + INDEX_LOCATION + ": " + e.getMessage());
+        }
+    }
+}
@@ -1,18 +1,94 @@
 package com.blyznytsia.bring;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
 import com.blyznytsia.bring.context.ApplicationContext;
+import com.blyznytsia.bring.context.aot.AotContextFactory;
+import com.blyznytsia.bring.context.reload.HotReloader;
 
 
 /**
  * {@link Bring} class instantiates ApplicationContext, calls its init() method for
- * further configuration and returns the configured instance
+ * further configuration and returns the configured instance.
+ * The context is initialized by the first call only, all the calls return the same instance.
+ * If the context factory has been generated at build time ({@link AotContextFactory}), the context uses it
+ * and does not scan the classpath.
+ * If {@value HotReloader#DIRECTORIES_PROPERTY} lists class directories when the class is loaded, the context
+ * is hot reloaded from them (development mode); otherwise {@link #bringContext()} takes no lock.
+ * <p>
+ * {@link #close()} closes the context and lets its objects go, the next {@link #bringContext()} call
+ * initializes a new one.
  */
 public class Bring {
 
-    private static ApplicationContext applicationContext = new ApplicationContext();
+    private static final String HOT_RELOAD_DIRECTORIES = System.getProperty(HotReloader.DIRECTORIES_PROPERTY, "");
+    private static final boolean HOT_RELOAD_ENABLED = !HOT_RELOAD_DIRECTORIES.isBlank();
+
+    private static volatile ApplicationContext applicationContext = createApplicationContext();
+    private static HotReloader hotReloader;
 
     public static ApplicationContext bringContext() {
-        applicationContext.init();
-        return applicationContext;
+        var context = applicationContext;
+        context.init();
+        if (HOT_RELOAD_ENABLED) {
+            startHotReload(context);
+        }
+        return context;
+    }
+
+    /**
+     * Method stops hot reload, closes the context ({@link ApplicationContext#close()}) and replaces it with
+     * a new one, not initialized until {@link #bringContext()} is called. Applications call it on shutdown,
+     * e.g. from a shutdown hook, tests call it to start the next one with a fresh context
+     */
+    public static synchronized void close() {
+        var context = applicationContext;
+        applicationContext = createApplicationContext();
+        var reloader = hotReloader;
+        hotReloader = null;
+        try {
+            if (reloader != null) {
+                reloader.close();
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    private static ApplicationContext createApplicationContext() {
+        var context = new ApplicationContext();
+        AotContextFactory.load(applicationClassLoader()).ifPresent(context::setAotContextFactory);
+        return context;
+    }
+
+    /**
+     * Method starts reloading the initialized context unless it is reloaded already
+     * or has been closed by a concurrent {@link #close()} meanwhile
+     */
+    private static synchronized void startHotReload(ApplicationContext context) {
+        if (hotReloader != null || context != applicationContext) {
+            return;
+        }
+        var classDirectories = Arrays.stream(HOT_RELOAD_DIRECTORIES.split(File.pathSeparator))
+                .filter(directory -> !directory.isBlank())
+                .map(Path::of)
+                .collect(Collectors.toList());
+        var reloader = new HotReloader(context, classDirectories, applicationClassLoader());
+        try {
+            reloader.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to watch " + HOT_RELOAD_DIRECTORIES, e);
+        }
+        hotReloader = reloader;
+    }
+
+    private static ClassLoader applicationClassLoader() {
+        var contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return contextClassLoader != null ? contextClassLoader : Bring.class.getClassLoader();
     }
 }
@@ -1,39 +1,572 @@
 package com.blyznytsia.bring.context;
 
-import java.util.HashMap;
+import static java.util.stream.Collectors.toList;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
+import com.blyznytsia.bring.context.aot.AotContextFactory;
+import com.blyznytsia.bring.context.constants.BeanStatus;
+import com.blyznytsia.bring.context.constants.StartupPhase;
 import com.blyznytsia.bring.context.exceptions.NoSuchBeanException;
-
-import lombok.Setter;
+import com.blyznytsia.bring.context.metrics.StartupMetrics;
+import com.blyznytsia.bring.context.util.BeanDefinitionGenerator;
+import com.blyznytsia.bring.context.util.BeanPool;
+import com.blyznytsia.bring.context.util.InterfaceResolutionIndex;
 
 /**
  * {@link ApplicationContext} is a class that triggers population of objects' storage {@link Map}, holds it
  *  and has functionality to retrieve objects from it.
+ * <p>
+ * Lazy objects are created by the first {@link #getBean(Class)} call of their type, a new prototype object
+ * is created by every call. Objects created at context creation take precedence over both of them.
+ * <p>
+ * Pooled objects are borrowed with {@link #borrowBean(Class)} and given back with {@link #returnBean(Object)},
+ * {@link #getBeanPool(Class)} tells how well the pool serves the borrows. {@link #getBean(Class)} of a pooled type
+ * creates a new object the way it does for a prototype.
+ * <p>
+ * {@link #getBean(Class)} of a thread-scoped type returns the object of the calling thread, creating it on the first
+ * call of the thread; {@link #clearThreadScope()} drops the objects of the calling thread.
+ * <p>
+ * The context is initialized once: {@link #init()} publishes an immutable {@link BeanStore} through a volatile
+ * reference, so {@link #getBean(Class)} takes no locks and never sees a partially populated storage.
+ * The context can not be reconfigured after that, but its objects can be changed by
+ * {@link #refresh(Collection, Collection)}, which publishes a new {@link BeanStore} the same way.
+ * <p>
+ * A context with {@link AotContextFactory} set takes {@link BeanDefinition} from it instead of {@link Scanner}.
+ * <p>
+ * Objects initialized asynchronously are handed out at once, {@link #getBeanWhenReady(Class)} waits for
+ * the initialization of the requested object only and {@link #whenReady()} for all of them.
+ * <p>
+ * {@link #close()} calls the {@link com.blyznytsia.bring.context.annotation.PreDestroy} methods in reverse dependency
+ * order and drops the objects, so a closed context keeps nothing reachable.
+ * <p>
+ * {@link #getStartupMetrics()} tells where the initialization has spent its time
+ * and how many times every type has been requested.
+ * <p>
+ * A child context ({@link #ApplicationContext(ApplicationContext)}, {@link #createChild(Class[])}) holds only
+ * the objects it defines itself and takes the rest from its parent: it does not scan unless a {@link Scanner}
+ * is set explicitly, objects its own objects depend on are taken from the parent by name, and types it has
+ * no objects of are requested from the parent. Its creation time and memory grow with the number of its own objects,
+ * the parent's objects are shared by all its children. Objects of the parent keep the parent's dependencies,
+ * even the ones the child overrides.
  */
-@Setter
 public class ApplicationContext {
 
-    private Scanner scanner = new Scanner();
+    private final ApplicationContext parent;
+    private Scanner scanner;
     private BeanFactory factory = new BeanFactory();
     private BeanDefinitionRegistry beanDefinitionRegistry = new BeanDefinitionRegistry();
-    private Map<String, Object> beanMap = new HashMap<>();
+    private Map<String, Object> beanMap = new ConcurrentHashMap<>();
+    private AotContextFactory aotContextFactory;
+    private volatile BeanStore beanStore = BeanStore.empty();
+    private volatile boolean initialized;
+    private volatile boolean closed;
+    private InterfaceResolutionIndex interfaceResolutionIndex;
+    private final StartupMetrics startupMetrics = new StartupMetrics();
 
+    public ApplicationContext() {
+        this.parent = null;
+        this.scanner = new Scanner();
+    }
+
+    /**
+     * @param parent    context objects not defined by this one are taken from
+     */
+    public ApplicationContext(ApplicationContext parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Method populates the objects' storage and publishes it. Only the first call does it,
+     * concurrent calls wait for it and the following ones return at once
+     */
     public void init() {
-        scanner.scanAndFillBeanDefinitionRegistry(beanDefinitionRegistry);
-        factory.traverseBeanDefinitionRegistryAndFillBeanMap(beanDefinitionRegistry, beanMap);
+        if (initialized) {
+            return;
+        }
+        synchronized (this) {
+            if (initialized) {
+                return;
+            }
+            if (parent != null) {
+                parent.init();
+            }
+            factory.setStartupMetrics(startupMetrics);
+            if (aotContextFactory != null) {
+                var definitionGeneration = startupMetrics.start(StartupPhase.DEFINITION_GENERATION);
+                aotContextFactory.fillBeanDefinitionRegistry(beanDefinitionRegistry);
+                definitionGeneration.stop();
+            } else if (scanner != null) {
+                scanner.setStartupMetrics(startupMetrics);
+                scanner.scanAndFillBeanDefinitionRegistry(beanDefinitionRegistry);
+            }
+            var inheritedBeanNames = inheritParentBeans(beanDefinitionRegistry, beanMap, Set.of());
+            factory.traverseBeanDefinitionRegistryAndFillBeanMap(beanDefinitionRegistry, beanMap);
+            beanStore = BeanStore.of(beanDefinitionRegistry, beanMap, inheritedBeanNames);
+            initialized = true;
+        }
+    }
+
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    /**
+     * Method replaces some of the {@link BeanDefinition} and recreates only the objects affected by the change:
+     * the objects of the added and changed {@link BeanDefinition} and all the objects depending on them or
+     * on the removed ones, directly or transitively. Other objects are kept as they are.
+     * <p>
+     * The new generation is created aside and published at once when all its objects are created,
+     * so concurrent {@link #getBean(Class)} calls get either the previous generation or the new one, never a mix.
+     * If creation fails, the previous generation stays published. Objects already handed out are not changed,
+     * children keep the objects they have taken from this context. The provided {@link BeanDefinition} are copied,
+     * so they can be reused; interface fields are not resolved again, so definitions of objects whose interface
+     * implementations change have to be provided as changed ones.
+     * <p>
+     * Once the new generation is published, the replaced objects of the previous one are destroyed
+     * ({@link com.blyznytsia.bring.context.annotation.PreDestroy}) in reverse dependency order.
+     *
+     * @param changedBeanDefinitions    added {@link BeanDefinition} and new versions of registered ones
+     * @param removedBeanNames          names of the {@link BeanDefinition} to be removed
+     * @throws com.blyznytsia.bring.context.exceptions.BeanDefinitionNotFoundException if a remaining object
+     *                                  depends on a removed one
+     * @throws com.blyznytsia.bring.context.exceptions.CircularDependencyException if the change makes objects
+     *                                  depend on each other
+     * @throws com.blyznytsia.bring.context.exceptions.BeanDestructionException if some of the replaced objects
+     *                                  fail to be destroyed, the new generation is published all the same
+     * @throws IllegalStateException    if the context is closed
+     */
+    public synchronized void refresh(Collection<BeanDefinition> changedBeanDefinitions,
+                                     Collection<String> removedBeanNames) {
+        checkNotClosed();
+        init();
+        var store = beanStore;
+        var currentDefinitions = store.getBeanDefinitionRegistry().getBeanDefinitionMap();
+        var changed = new LinkedHashMap<String, BeanDefinition>();
+        changedBeanDefinitions.forEach(beanDefinition -> changed.put(beanDefinition.getClassName(), beanDefinition));
+        var removed = Set.copyOf(removedBeanNames);
+
+        var nextDefinitions = new LinkedHashMap<>(currentDefinitions);
+        nextDefinitions.keySet().removeAll(removed);
+        nextDefinitions.putAll(changed);
+        var affected = new HashSet<>(changed.keySet());
+        affected.addAll(DependencyGraph.findDependents(nextDefinitions,
+                Stream.concat(changed.keySet().stream(), removed.stream()).collect(toList())));
+
+        var nextRegistry = new BeanDefinitionRegistry();
+        nextDefinitions.forEach((beanName, beanDefinition) -> nextRegistry.registerBeanDefinition(beanName,
+                affected.contains(beanName) || beanDefinition.getStatus() != BeanStatus.CREATED ?
+                        beanDefinition.copy() :
+                        beanDefinition));
+        var nextBeanMap = new ConcurrentHashMap<>(store.getBeanMap());
+        nextBeanMap.keySet().removeAll(affected);
+        nextBeanMap.keySet().removeAll(removed);
+        var inheritedBeanNames = inheritParentBeans(nextRegistry, nextBeanMap, store.getInheritedBeanNames());
+
+        factory.traverseBeanDefinitionRegistryAndFillBeanMap(nextRegistry, nextBeanMap);
+        if (interfaceResolutionIndex != null) {
+            interfaceResolutionIndex = interfaceResolutionIndex.update(
+                    Stream.concat(changed.keySet().stream(), removed.stream())
+                            .map(currentDefinitions::get)
+                            .filter(Objects::nonNull)
+                            .map(BeanDefinition::getBeanClass)
+                            .collect(toList()),
+                    changed.values().stream().map(BeanDefinition::getBeanClass).collect(toList()));
+        }
+        beanDefinitionRegistry = nextRegistry;
+        beanMap = nextBeanMap;
+        beanStore = BeanStore.of(nextRegistry, nextBeanMap, inheritedBeanNames);
+
+        var replaced = new HashSet<>(affected);
+        replaced.addAll(removed);
+        var kept = new HashSet<>(currentDefinitions.keySet());
+        kept.addAll(store.getBeanMap().keySet());
+        kept.removeAll(replaced);
+        kept.addAll(store.getInheritedBeanNames());
+        factory.destroyBeans(store.getBeanDefinitionRegistry(), store.getBeanMap(), kept);
+    }
+
+    /**
+     * Method destroys the objects created by this context and releases its objects' storage. Objects are destroyed
+     * in reverse dependency order and independent ones concurrently,
+     * see {@link BeanFactory#destroyBeans(BeanDefinitionRegistry, Map, Set)}; objects taken from the parent
+     * are left to it. Only the first call does it, the following ones return at once.
+     * <p>
+     * A closed context has no objects: {@link #getBean(Class)} takes objects from the parent only and
+     * {@link #refresh(Collection, Collection)} fails. Children are not closed, they keep the objects they have taken.
+     * Closing is not to overlap with object requests.
+     *
+     * @throws com.blyznytsia.bring.context.exceptions.BeanDestructionException if some of the objects fail
+     *                                  to be destroyed, once the storage is released
+     */
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        var store = beanStore;
+        try {
+            if (initialized) {
+                factory.destroyBeans(store.getBeanDefinitionRegistry(), store.getBeanMap(),
+                        store.getInheritedBeanNames());
+            }
+        } finally {
+            initialized = true;
+            beanStore = BeanStore.empty();
+            beanDefinitionRegistry = new BeanDefinitionRegistry();
+            beanMap = new ConcurrentHashMap<>();
+            interfaceResolutionIndex = null;
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * @return  parent context, null for a root context
+     */
+    public ApplicationContext getParent() {
+        return parent;
+    }
+
+    /**
+     * Method creates and initializes a child context defining objects of the provided classes only.
+     * Interface fields of the classes are resolved to the classes first and to the objects
+     * of this context and its ancestors then
+     *
+     * @param overrideClasses   classes of the objects the child defines itself
+     * @return                  initialized child context
+     */
+    public ApplicationContext createChild(Class<?>... overrideClasses) {
+        init();
+        var child = new ApplicationContext(this);
+        var definitionGeneration = child.startupMetrics.start(StartupPhase.DEFINITION_GENERATION);
+        var resolutionIndex = InterfaceResolutionIndex.of(Arrays.asList(overrideClasses))
+                .withParent(getInterfaceResolutionIndex());
+        for (Class<?> overrideClass : overrideClasses) {
+            var beanDefinition = BeanDefinitionGenerator.generate(overrideClass, resolutionIndex);
+            child.beanDefinitionRegistry.registerBeanDefinition(beanDefinition.getClassName(), beanDefinition);
+        }
+        definitionGeneration.stop();
+        child.init();
+        return child;
+    }
+
+    /**
+     * @return  phase timings, object timings and {@link #getBean(Class)} calls of the context
+     */
+    public StartupMetrics getStartupMetrics() {
+        return startupMetrics;
+    }
+
+    public synchronized void setScanner(Scanner scanner) {
+        checkNotInitialized();
+        this.scanner = scanner;
+    }
+
+    public synchronized void setFactory(BeanFactory factory) {
+        checkNotInitialized();
+        this.factory = factory;
+    }
+
+    /**
+     * @param aotContextFactory     factory generated at build time, used instead of {@link Scanner}
+     */
+    public synchronized void setAotContextFactory(AotContextFactory aotContextFactory) {
+        checkNotInitialized();
+        this.aotContextFactory = aotContextFactory;
+    }
+
+    public synchronized void setBeanDefinitionRegistry(BeanDefinitionRegistry beanDefinitionRegistry) {
+        checkNotInitialized();
+        this.beanDefinitionRegistry = beanDefinitionRegistry;
+    }
+
+    /**
+     * Method sets the objects' storage to be populated by {@link #init()};
+     * objects already in it can be retrieved at once
+     *
+     * @param beanMap   objects' storage
+     */
+    public synchronized void setBeanMap(Map<String, Object> beanMap) {
+        checkNotInitialized();
+        this.beanMap = beanMap;
+        this.beanStore = BeanStore.of(beanMap);
     }
 
     public <T> T getBean(Class<T> type) {
-        return beanMap
-                .values()
-                .stream()
-                .filter(type::isInstance)
-                .findAny()
-                .map(type::cast)
-                .orElseThrow(() ->
-                        new NoSuchBeanException(String.format(
-                                "No Bean of type %s created", type.getName())));
+        startupMetrics.countGetBean(type);
+        var store = beanStore;
+        var bean = store.getBeanTypeIndex().get(type);
+        if (bean == null) {
+            bean = getLazyBean(store, type);
+        }
+        if (bean == null) {
+            bean = getPrototypeBean(store, type);
+        }
+        if (bean == null && parent != null) {
+            return parent.getBean(type);
+        }
+        if (bean == null) {
+            throw new NoSuchBeanException(String.format("No Bean of type %s created", type.getName()));
+        }
+        return type.cast(bean);
     }
-}
 
+    /**
+     * Method tells when the asynchronous initialization ({@link com.blyznytsia.bring.context.annotation.AsyncInit})
+     * of the objects created so far by this context and its ancestors is over
+     *
+     * @return  future completed when all the initializations are over, exceptionally if some of them have failed
+     */
+    public CompletableFuture<Void> whenReady() {
+        init();
+        var initializations = beanStore.getBeanDefinitionRegistry().getBeanDefinitionMap().values().stream()
+                .map(BeanDefinition::getInitialization)
+                .filter(Objects::nonNull)
+                .toArray(CompletableFuture[]::new);
+        var ready = CompletableFuture.allOf(initializations);
+        return parent != null ? CompletableFuture.allOf(parent.whenReady(), ready) : ready;
+    }
+
+    /**
+     * @return  true if the asynchronous initialization of all the objects created so far is over and has not failed
+     */
+    public boolean isReady() {
+        var ready = whenReady();
+        return ready.isDone() && !ready.isCompletedExceptionally();
+    }
+
+    /**
+     * Method gets an object the way {@link #getBean(Class)} does, waiting only for the asynchronous initialization
+     * of the object and of the objects it depends on
+     *
+     * @param type  requested type
+     * @return      future completed with the object when its initialization is over
+     * @throws NoSuchBeanException if there is no object of the type
+     */
+    public <T> CompletableFuture<T> getBeanWhenReady(Class<T> type) {
+        init();
+        var bean = getBean(type);
+        var initialization = findInitialization(bean.getClass().getName());
+        return initialization == null ?
+                CompletableFuture.completedFuture(bean) :
+                initialization.thenApply(ignored -> bean);
+    }
+
+    /**
+     * Method takes an idle object of a pooled type or creates a new one if there is none.
+     * The object is used by the caller only, until it is given back by {@link #returnBean(Object)}
+     *
+     * @param type  pooled type
+     * @return      object of the type
+     * @throws NoSuchBeanException if neither this context nor its ancestors have a pool of the type
+     */
+    public <T> T borrowBean(Class<T> type) {
+        return type.cast(getBeanPool(type).borrow());
+    }
+
+    /**
+     * Method gives a borrowed object back to the pool of its class in the published generation,
+     * the pool drops it if it is full. The object must not be used by the caller afterwards
+     *
+     * @param bean  object taken by {@link #borrowBean(Class)}
+     * @throws NoSuchBeanException if neither this context nor its ancestors have a pool of the object's class
+     */
+    public void returnBean(Object bean) {
+        Objects.requireNonNull(bean, "Unable to return null to the pool");
+        getBeanPool(bean.getClass()).release(bean);
+    }
+
+    /**
+     * @param type  pooled type
+     * @return      pool of the type in this context or its ancestors, created if the pooled object is lazy
+     * @throws NoSuchBeanException if neither this context nor its ancestors have a pool of the type
+     */
+    public BeanPool getBeanPool(Class<?> type) {
+        init();
+        var store = beanStore;
+        var beanDefinition = (BeanDefinition) store.getPrototypeBeanDefinitionIndex().get(type);
+        if (beanDefinition != null && beanDefinition.isPooled()) {
+            if (beanDefinition.getBeanPool() == null) {
+                factory.createLazyBean(store.getBeanDefinitionRegistry(), beanDefinition, store.getBeanMap());
+            }
+            return beanDefinition.getBeanPool();
+        }
+        if (parent != null) {
+            return parent.getBeanPool(type);
+        }
+        throw new NoSuchBeanException(String.format("No pooled Bean of type %s", type.getName()));
+    }
+
+    /**
+     * Method drops the thread-scoped objects of the calling thread in this context and its ancestors,
+     * the next requests of the thread create new ones. Threads reused for unrelated work, e.g. requests
+     * served by a thread pool, call it when a piece of work is over; short-lived threads need not
+     */
+    public void clearThreadScope() {
+        for (BeanDefinition beanDefinition : beanStore.getThreadScopedBeanDefinitions()) {
+            var threadScope = beanDefinition.getThreadScope();
+            if (threadScope != null) {
+                threadScope.remove();
+            }
+        }
+        if (parent != null) {
+            parent.clearThreadScope();
+        }
+    }
+
+    /**
+     * Method finds an object by its name in this context or its ancestors, creating lazy and prototype objects.
+     * A thread-scoped object is found as its proxy, since the objects it is looked up for are shared by threads
+     *
+     * @param beanName  class name of the object
+     * @return          object, null if neither this context nor its ancestors define it
+     */
+    Object findBean(String beanName) {
+        init();
+        var store = beanStore;
+        var beanDefinition = store.getBeanDefinitionRegistry().getBeanDefinitionMap().get(beanName);
+        if (beanDefinition != null && beanDefinition.isThreadScoped()) {
+            getPrototypeBean(store, beanDefinition);
+            return beanDefinition.getThreadScope().getProxy();
+        }
+        if (beanDefinition != null) {
+            return beanDefinition.isPrototype() ?
+                    getPrototypeBean(store, beanDefinition) :
+                    getLazyBean(store, beanDefinition);
+        }
+        var bean = store.getInheritedBeanNames().contains(beanName) ? null : store.getBeanMap().get(beanName);
+        if (bean == null && parent != null) {
+            return parent.findBean(beanName);
+        }
+        return bean;
+    }
+
+    /**
+     * @return  {@link BeanDefinition} of the published generation by name, not to be modified
+     */
+    public Map<String, BeanDefinition> getBeanDefinitions() {
+        return Collections.unmodifiableMap(beanStore.getBeanDefinitionRegistry().getBeanDefinitionMap());
+    }
+
+    /**
+     * Method builds the index on the first call and keeps it up to date on refresh
+     *
+     * @return  implementations of the interfaces of the objects of this context and its ancestors
+     */
+    public synchronized InterfaceResolutionIndex getInterfaceResolutionIndex() {
+        if (interfaceResolutionIndex == null) {
+            init();
+            var store = beanStore;
+            var beanClasses = new LinkedHashSet<Class<?>>();
+            store.getBeanDefinitionRegistry().getBeanDefinitionMap().values().stream()
+                    .map(BeanDefinition::getBeanClass)
+                    .filter(beanClass -> beanClass != null)
+                    .forEach(beanClasses::add);
+            store.getBeanMap().forEach((beanName, bean) -> {
+                if (!store.getInheritedBeanNames().contains(beanName)) {
+                    beanClasses.add(bean.getClass());
+                }
+            });
+            interfaceResolutionIndex = InterfaceResolutionIndex.of(beanClasses)
+                    .withParent(parent != null ? parent.getInterfaceResolutionIndex() : null);
+        }
+        return interfaceResolutionIndex;
+    }
+
+    private CompletableFuture<Void> findInitialization(String beanName) {
+        var beanDefinition = beanStore.getBeanDefinitionRegistry().getBeanDefinitionMap().get(beanName);
+        if (beanDefinition != null) {
+            return beanDefinition.getInitialization();
+        }
+        return parent != null ? parent.findInitialization(beanName) : null;
+    }
+
+    /**
+     * Method puts the objects the own objects depend on, but this context does not define,
+     * into the objects' storage, taking them from the parent. Lazy objects of the parent are created,
+     * a prototype of the parent is created once for all the own objects
+     *
+     * @param registry              {@link BeanDefinition} storage
+     * @param beanMap               objects' storage
+     * @param inheritedBeanNames    names of the objects of the storage taken from the parent before
+     * @return                      names of the objects of the storage taken from the parent
+     */
+    private Set<String> inheritParentBeans(BeanDefinitionRegistry registry,
+                                           Map<String, Object> beanMap,
+                                           Set<String> inheritedBeanNames) {
+        if (parent == null) {
+            return Set.of();
+        }
+        var inherited = new HashSet<>(inheritedBeanNames);
+        registry.getBeanDefinitionMap().values().stream()
+                .flatMap(beanDefinition -> Stream.concat(beanDefinition.getDependsOnFields().stream(),
+                        beanDefinition.getProvidedBeanNames().stream()))
+                .filter(dependency -> !registry.containsBeanDefinition(dependency) && !beanMap.containsKey(dependency))
+                .distinct()
+                .forEach(dependency -> {
+                    var bean = parent.findBean(dependency);
+                    if (bean != null) {
+                        beanMap.put(dependency, bean);
+                        inherited.add(dependency);
+                    }
+                });
+        inherited.removeIf(registry::containsBeanDefinition);
+        return inherited;
+    }
+
+    private Object getLazyBean(BeanStore store, Class<?> type) {
+        var beanDefinition = (BeanDefinition) store.getLazyBeanDefinitionIndex().get(type);
+        return beanDefinition == null ? null : getLazyBean(store, beanDefinition);
+    }
+
+    private Object getLazyBean(BeanStore store, BeanDefinition beanDefinition) {
+        var bean = store.getBeanMap().get(beanDefinition.getClassName());
+        return bean != null ?
+                bean :
+                factory.createLazyBean(store.getBeanDefinitionRegistry(), beanDefinition, store.getBeanMap());
+    }
+
+    private Object getPrototypeBean(BeanStore store, Class<?> type) {
+        var beanDefinition = (BeanDefinition) store.getPrototypeBeanDefinitionIndex().get(type);
+        return beanDefinition == null ? null : getPrototypeBean(store, beanDefinition);
+    }
+
+    /**
+     * @return  new object or, for a thread-scoped object, the object of the calling thread
+     */
+    private Object getPrototypeBean(BeanStore store, BeanDefinition beanDefinition) {
+        var prototypeFactory = beanDefinition.getPrototypeFactory();
+        if (prototypeFactory == null) {
+            factory.createLazyBean(store.getBeanDefinitionRegistry(), beanDefinition, store.getBeanMap());
+            prototypeFactory = beanDefinition.getPrototypeFactory();
+        }
+        var threadScope = beanDefinition.getThreadScope();
+        return threadScope != null ? threadScope.get() : prototypeFactory.newInstance();
+    }
+
+    private void checkNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("Application context is closed");
+        }
+    }
+
+    private void checkNotInitialized() {
+        if (initialized) {
+            throw new IllegalStateException("Application context is already initialized");
+        }
+    }
+}
@@ -1,21 +1,203 @@
 package com.blyznytsia.bring.context;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
+import com.blyznytsia.bring.context.constants.BeanScope;
 import com.blyznytsia.bring.context.constants.BeanStatus;
+import com.blyznytsia.bring.context.exceptions.BeanCreationException;
 import com.blyznytsia.bring.context.services.BeanConfigurator;
 import com.blyznytsia.bring.context.services.BeanCreator;
+import com.blyznytsia.bring.context.services.impl.AutowiredFieldBeanConfigurator;
+import com.blyznytsia.bring.context.util.BeanDefinitionGenerator;
+import com.blyznytsia.bring.context.util.BeanPool;
+import com.blyznytsia.bring.context.util.CompiledBeanFactory;
+import com.blyznytsia.bring.context.util.LifecycleMethods;
+import com.blyznytsia.bring.context.util.ProviderInjection;
+import com.blyznytsia.bring.context.util.ThreadScope;
 
 import lombok.Data;
 
 /**
  * {@link BeanDefinition} holds a class metadata.
+ * <p>
+ * Besides class names, a {@link BeanDefinition} made by the generator holds the resolved class, the constructor
+ * to create objects with, the classes to be injected into {@code Autowired} fields and the handles of the lifecycle
+ * methods, so that creation, configuration and destruction resolve neither classes by name nor methods.
+ * A {@link BeanDefinition} built by hand gets the classes and the field types resolved on first use.
  */
 @Data
 public class BeanDefinition {
+
+    private static final AtomicReferenceFieldUpdater<BeanDefinition, BeanStatus> STATUS_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(BeanDefinition.class, BeanStatus.class, "status");
+
     private String className;
     private BeanCreator beanCreator;
     private List<BeanConfigurator> beanConfigurators;
     private List<String> dependsOnFields;
-    private BeanStatus status = BeanStatus.INITIALIZING;
+    private volatile BeanStatus status = BeanStatus.INITIALIZING;
+    private boolean lazy;
+    private BeanScope scope = BeanScope.SINGLETON;
+    private volatile CompiledBeanFactory prototypeFactory;
+    private volatile BeanPool beanPool;
+    private volatile ThreadScope threadScope;
+    private volatile CompletableFuture<Void> initialization;
+
+    private Class<?> beanClass;
+    private Constructor<?> constructor;
+    private volatile Map<Field, Class<?>> autowiredFieldTypes;
+    private LifecycleMethods lifecycleMethods;
+
+    /**
+     * @return the class of {@link #getClassName()}, resolved on the first call if not set
+     */
+    public Class<?> getBeanClass() {
+        if (beanClass == null && className != null) {
+            try {
+                beanClass = Class.forName(className);
+            } catch (ClassNotFoundException e) {
+                throw new BeanCreationException(String.format("Class %s not found", className), e);
+            }
+        }
+        return beanClass;
+    }
+
+    /**
+     * @return  classes to be injected into {@code Autowired} fields of {@link #getBeanClass()}; if they are not set
+     *          and the fields are injected by {@link AutowiredFieldBeanConfigurator}, they are resolved
+     *          on the first call, with the {@link #getDependsOnFields()} classes as the implementations
+     *          of interface fields
+     */
+    public Map<Field, Class<?>> getAutowiredFieldTypes() {
+        var fieldTypes = autowiredFieldTypes;
+        if (fieldTypes == null) {
+            fieldTypes = className != null && hasFieldConfigurator() ?
+                    BeanDefinitionGenerator.resolveAutowiredFieldTypes(getBeanClass(), getImplementationsRange()) :
+                    Collections.emptyMap();
+            autowiredFieldTypes = fieldTypes;
+        }
+        return fieldTypes;
+    }
+
+    /**
+     * @param autowiredFieldTypes   classes to be injected into {@code Autowired} fields,
+     *                              null or empty for resolving them on first use
+     */
+    public void setAutowiredFieldTypes(Map<Field, Class<?>> autowiredFieldTypes) {
+        this.autowiredFieldTypes = autowiredFieldTypes == null || autowiredFieldTypes.isEmpty() ?
+                null :
+                autowiredFieldTypes;
+    }
+
+    private boolean hasFieldConfigurator() {
+        return beanConfigurators != null && beanConfigurators.stream()
+                .anyMatch(AutowiredFieldBeanConfigurator.class::isInstance);
+    }
+
+    private Set<Class<?>> getImplementationsRange() {
+        var implementationsRange = new HashSet<Class<?>>();
+        if (dependsOnFields != null) {
+            var classLoader = getBeanClass().getClassLoader();
+            for (String dependsOn : dependsOnFields) {
+                try {
+                    implementationsRange.add(Class.forName(dependsOn, false, classLoader));
+                } catch (ClassNotFoundException e) {
+                    // e.g. a primitive setter parameter, it implements no interface
+                }
+            }
+        }
+        return implementationsRange;
+    }
+
+    /**
+     * @return  lifecycle methods of {@link #getBeanClass()}, looked up on the first call if not set
+     */
+    public LifecycleMethods getLifecycleMethods() {
+        if (lifecycleMethods == null) {
+            lifecycleMethods = LifecycleMethods.of(getBeanClass());
+        }
+        return lifecycleMethods;
+    }
+
+    /**
+     * @return  true if the object is a new one on every request; pooled and thread-scoped objects are prototypes
+     *          reused through {@link #getBeanPool()} and {@link #getThreadScope()}
+     */
+    public boolean isPrototype() {
+        return scope != BeanScope.SINGLETON;
+    }
+
+    public boolean isPooled() {
+        return scope == BeanScope.POOLED;
+    }
+
+    public boolean isThreadScoped() {
+        return scope == BeanScope.THREAD;
+    }
+
+    /**
+     * @return  names of the objects injected through providers ({@link ProviderInjection}) into {@code Autowired}
+     *          fields and constructor parameters, they are not created before this object
+     */
+    public List<String> getProvidedBeanNames() {
+        var providedBeanNames = new ArrayList<String>();
+        getAutowiredFieldTypes().forEach((field, injectedType) -> {
+            if (ProviderInjection.isProvider(field.getType())) {
+                providedBeanNames.add(injectedType.getName());
+            }
+        });
+        if (constructor != null) {
+            for (Parameter parameter : constructor.getParameters()) {
+                if (ProviderInjection.isProvider(parameter.getType())) {
+                    providedBeanNames.add(ProviderInjection.providedType(
+                            parameter.getParameterizedType(), "Parameter " + parameter).getName());
+                }
+            }
+        }
+        return providedBeanNames;
+    }
+
+    /**
+     * Atomically changes the status if it is the expected one, so that concurrent creators
+     * can agree which of them creates the object
+     *
+     * @param expected      expected current status
+     * @param newStatus     status to be set
+     * @return              true if the status has been changed
+     */
+    public boolean compareAndSetStatus(BeanStatus expected, BeanStatus newStatus) {
+        return STATUS_UPDATER.compareAndSet(this, expected, newStatus);
+    }
+
+    /**
+     * Method copies the metadata with the initial status and without a compiled prototype factory, a pool,
+     * a thread scope and an initialization, so that the object can be created once more without affecting
+     * the objects created with this one
+     *
+     * @return  copy of the metadata
+     */
+    public BeanDefinition copy() {
+        var copy = new BeanDefinition();
+        copy.setClassName(className);
+        copy.setBeanCreator(beanCreator);
+        copy.setBeanConfigurators(beanConfigurators);
+        copy.setDependsOnFields(dependsOnFields);
+        copy.setLazy(lazy);
+        copy.setScope(scope);
+        copy.setBeanClass(beanClass);
+        copy.setConstructor(constructor);
+        copy.setAutowiredFieldTypes(autowiredFieldTypes);
+        copy.setLifecycleMethods(lifecycleMethods);
+        return copy;
+    }
 }
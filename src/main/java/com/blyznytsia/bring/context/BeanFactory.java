@@ -1,161 +1,539 @@
 package com.blyznytsia.bring.context;
 
-import java.util.List;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
+import com.blyznytsia.bring.context.annotation.AsyncInit;
+import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.annotation.Pooled;
+import com.blyznytsia.bring.context.annotation.PostConstruct;
+import com.blyznytsia.bring.context.annotation.PreDestroy;
+import com.blyznytsia.bring.context.constants.BeanScope;
 import com.blyznytsia.bring.context.constants.BeanStatus;
+import com.blyznytsia.bring.context.exceptions.BeanCreationException;
+import com.blyznytsia.bring.context.exceptions.BeanDefinitionNotFoundException;
+import com.blyznytsia.bring.context.exceptions.BeanDestructionException;
 import com.blyznytsia.bring.context.exceptions.CircularDependencyException;
+import com.blyznytsia.bring.context.metrics.StartupMetrics;
+import com.blyznytsia.bring.context.util.BeanPool;
+import com.blyznytsia.bring.context.util.BeanProvider;
+import com.blyznytsia.bring.context.util.CompiledBeanFactory;
+import com.blyznytsia.bring.context.util.LifecycleMethods;
+import com.blyznytsia.bring.context.util.ProviderInjection;
+import com.blyznytsia.bring.context.util.ThreadScope;
 
 /**
  * {@link BeanFactory} class traverses through {@link BeanDefinitionRegistry},
  * creates objects and populates the object's storage
+ * <p>
+ * Prototypes ({@link BeanDefinition#isPrototype()}) are not placed in the objects' storage: their creation is
+ * compiled into {@link BeanDefinition#getPrototypeFactory()} after all the objects they depend on are created.
+ * Pooled objects ({@link BeanDefinition#isPooled()}) get a {@link BeanPool} of objects created by that factory,
+ * sized and prefilled as their {@link Pooled} says; objects depending on them get new objects, not pooled ones.
+ * Thread-scoped objects ({@link BeanDefinition#isThreadScoped()}) get a {@link ThreadScope} instead: prototypes
+ * and thread-scoped objects depending on them get the object of the thread creating them, objects shared
+ * by threads get a proxy calling the object of the calling thread.
+ * <p>
+ * Objects with provider injection points ({@link ProviderInjection}) are created by a compiled factory as well,
+ * with {@link BeanProvider} looking the provided objects up in the objects' storage on their first call.
+ * <p>
+ * Lazy objects ({@link BeanDefinition#isLazy()}) are skipped unless other objects depend on them;
+ * they are created on request by {@link #createLazyBean(BeanDefinitionRegistry, BeanDefinition, Map)}.
+ * <p>
+ * A {@link BeanFactory} created with an {@link Executor} creates independent objects concurrently:
+ * every object is submitted to the executor as soon as the last object it depends on is created.
+ * <p>
+ * Objects with an {@link AsyncInit} method are not waited for: the method is scheduled on the initialization executor
+ * ({@link #setInitExecutor(Executor)}) as soon as the object is created and the asynchronous initialization
+ * of the objects it depends on, directly or transitively, is over. Objects depending on it are created at once,
+ * only their own asynchronous initialization waits for it.
+ * <p>
+ * {@link PostConstruct} methods are called as soon as an object is configured, in the creating thread.
+ * {@link #destroyBeans(BeanDefinitionRegistry, Map, Set)} calls {@link PreDestroy} methods in reverse dependency
+ * order, on the initialization executor as well.
+ * <p>
+ * Creation and configuration of every object are measured by {@link StartupMetrics}.
  */
 public class BeanFactory {
 
+    private final Executor executor;
+    private final ConcurrentMap<String, CompletableFuture<Void>> lazyCreations = new ConcurrentHashMap<>();
+    private volatile StartupMetrics startupMetrics = StartupMetrics.disabled();
+    private volatile Executor initExecutor;
+
+    public BeanFactory() {
+        this(null);
+    }
+
+    /**
+     * @param executor  executor to create objects on, null for creating them one by one in the calling thread
+     */
+    public BeanFactory(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * @param initExecutor  executor to run {@link AsyncInit} and {@link PreDestroy} methods on, e.g. one starting
+     *                      a virtual thread per task; null for a shared pool of daemon threads created on demand
+     */
+    public void setInitExecutor(Executor initExecutor) {
+        this.initExecutor = initExecutor;
+    }
+
+    /**
+     * @param startupMetrics    metrics creation of objects is recorded to
+     */
+    public void setStartupMetrics(StartupMetrics startupMetrics) {
+        this.startupMetrics = startupMetrics;
+    }
+
     /**
-     * Method populates the objects' storage {@link Map}
+     * Method populates the objects' storage {@link Map}.
+     * Objects are created in topological order of {@link DependencyGraph}, so every object is created
+     * and configured after all the objects it depends on. Lazy objects are created only if
+     * some of the other objects depend on them.
      *
      * @param beanDefinitionRegistry    {@link BeanDefinition} storage
      * @param beanMap                   objects' storage
+     * @throws CircularDependencyException if there are circular dependencies, before any object is created
      */
     public void traverseBeanDefinitionRegistryAndFillBeanMap(BeanDefinitionRegistry beanDefinitionRegistry,
                                                              Map<String, Object> beanMap) {
+        var graph = DependencyGraph.of(beanDefinitionRegistry, beanMap, beanDefinition ->
+                beanDefinition.getStatus() == BeanStatus.INITIALIZING && !beanDefinition.isLazy());
+        if (executor == null) {
+            graph.getCreationOrder().forEach(beanDefinition ->
+                    createBean(beanDefinition, beanDefinitionRegistry, beanMap));
+        } else {
+            createBeansInParallel(graph, beanDefinitionRegistry, beanMap);
+        }
+    }
 
-        createBeansWithoutDependsOnFields(beanDefinitionRegistry, beanMap);
-        createBeansWithDependsOnFields(beanDefinitionRegistry, beanMap);
-        notifyAboutCircularDependency(beanDefinitionRegistry, beanMap);
+    /**
+     * Method creates a lazy object together with all the not yet created objects it depends on, in the calling thread.
+     * Concurrent calls create every object exactly once: the first caller creates it and the others wait for it
+     * without locking the objects' storage.
+     *
+     * @param beanDefinitionRegistry    {@link BeanDefinition} storage
+     * @param beanDefinition            metadata of the object to be created
+     * @param beanMap                   objects' storage, has to be thread-safe for concurrent calls
+     * @return                          created object, null for a prototype whose factory has been compiled instead
+     * @throws CircularDependencyException if there are circular dependencies, before any object is created
+     */
+    public Object createLazyBean(BeanDefinitionRegistry beanDefinitionRegistry,
+                                 BeanDefinition beanDefinition,
+                                 Map<String, Object> beanMap) {
+        var beanName = beanDefinition.getClassName();
+        DependencyGraph.of(beanDefinitionRegistry, beanMap, candidate -> candidate.getClassName().equals(beanName))
+                .getCreationOrder()
+                .forEach(node -> createBeanOnce(node, beanDefinitionRegistry, beanMap));
+        return beanMap.get(beanName);
     }
 
     /**
-     * Method creates objects for classes with no dependencies
-     * and places them into the objects' storage
+     * Method calls the {@link PreDestroy} methods of the created objects in reverse dependency order: an object
+     * is destroyed once all the objects depending on it are, objects independent of each other are destroyed
+     * concurrently on the initialization executor. Idle objects of pools are destroyed as well; other prototypes and
+     * thread-scoped objects are not tracked, and objects reached through providers are not ordered.
+     * Objects still being initialized asynchronously are not waited for.
+     * <p>
+     * Every object is destroyed even if some of them fail; the objects of the storage without {@link BeanDefinition}
+     * are destroyed last, one by one.
      *
      * @param beanDefinitionRegistry    {@link BeanDefinition} storage
      * @param beanMap                   objects' storage
+     * @param excludedBeanNames         names of the objects of the storage not to be destroyed, e.g. the ones
+     *                                  taken from a parent context; objects they depend on are not destroyed either
+     * @throws BeanDestructionException if some of the {@link PreDestroy} methods fail, once all the objects
+     *                                  are destroyed; the first failure is its cause, the others are suppressed
+     */
+    public void destroyBeans(BeanDefinitionRegistry beanDefinitionRegistry,
+                             Map<String, Object> beanMap,
+                             Set<String> excludedBeanNames) {
+        var unregisteredBeans = new LinkedHashMap<String, Object>();
+        beanMap.forEach((beanName, bean) -> {
+            if (!beanDefinitionRegistry.containsBeanDefinition(beanName)) {
+                unregisteredBeans.put(beanName, bean);
+            }
+        });
+        // created objects have been created in dependency order, so the graph of them has no cycles
+        var graph = DependencyGraph.of(beanDefinitionRegistry,
+                beanDefinition -> !excludedBeanNames.contains(beanDefinition.getClassName()) &&
+                        isCreated(beanDefinition, beanMap),
+                beanName -> unregisteredBeans.containsKey(beanName) || excludedBeanNames.contains(beanName));
+        var failures = new ArrayList<>(new ParallelDestructionScheduler(graph, getInitExecutor(),
+                beanDefinition -> destruction(beanDefinition, beanMap)).run());
+        unregisteredBeans.forEach((beanName, bean) -> {
+            var lifecycleMethods = LifecycleMethods.of(bean.getClass());
+            if (!excludedBeanNames.contains(beanName) && lifecycleMethods.hasPreDestroy()) {
+                try {
+                    destroy(beanName, lifecycleMethods, bean);
+                } catch (BeanDestructionException e) {
+                    failures.add(e);
+                }
+            }
+        });
+        if (!failures.isEmpty()) {
+            var failure = new BeanDestructionException(String.format(
+                    "Context close error: %d bean destructions failed", failures.size()), failures.get(0));
+            failures.stream().skip(1).forEach(failure::addSuppressed);
+            throw failure;
+        }
+    }
+
+    /**
+     * @return  task calling the {@link PreDestroy} method of the object or of the idle objects of the pool,
+     *          null if there is nothing to destroy
+     */
+    private Runnable destruction(BeanDefinition beanDefinition, Map<String, Object> beanMap) {
+        var beanName = beanDefinition.getClassName();
+        var lifecycleMethods = beanDefinition.getLifecycleMethods();
+        if (!lifecycleMethods.hasPreDestroy()) {
+            return null;
+        }
+        var pool = beanDefinition.getBeanPool();
+        if (pool != null) {
+            return () -> {
+                BeanDestructionException failure = null;
+                for (Object bean : pool.drain()) {
+                    try {
+                        destroy(beanName, lifecycleMethods, bean);
+                    } catch (BeanDestructionException e) {
+                        if (failure == null) {
+                            failure = e;
+                        } else {
+                            failure.addSuppressed(e);
+                        }
+                    }
+                }
+                if (failure != null) {
+                    throw failure;
+                }
+            };
+        }
+        var bean = beanDefinition.isPrototype() ? null : beanMap.get(beanName);
+        return bean == null ? null : () -> destroy(beanName, lifecycleMethods, bean);
+    }
+
+    private void destroy(String beanName, LifecycleMethods lifecycleMethods, Object bean) {
+        try {
+            lifecycleMethods.invokePreDestroy(bean);
+        } catch (Throwable e) {
+            throw new BeanDestructionException(String.format("Unable to destroy bean %s", beanName), e);
+        }
+    }
+
+    /**
+     * Method creates an object unless it is already in the objects' storage or is being created by another thread,
+     * in which case it waits for the other thread. The other thread may be creating the object of the same name
+     * into another objects' storage (another generation of a refreshed context), so the storage is checked again
+     * after waiting
+     *
+     * @param beanDefinition    class' metadata
+     * @param beanMap           objects' storage
      */
-    private void createBeansWithoutDependsOnFields(BeanDefinitionRegistry beanDefinitionRegistry,
-                                                   Map<String, Object> beanMap) {
-        List<BeanDefinition> beanDefinitionsForCreatingBeans = beanDefinitionRegistry.getBeanDefinitionMap().values()
-                .stream()
-                .filter(this::isBeanWithoutDependsOnFields)
-                .collect(Collectors.toList());
+    private void createBeanOnce(BeanDefinition beanDefinition,
+                                BeanDefinitionRegistry beanDefinitionRegistry,
+                                Map<String, Object> beanMap) {
+        var beanName = beanDefinition.getClassName();
+        while (!isCreated(beanDefinition, beanMap)) {
+            var creation = new CompletableFuture<Void>();
+            var concurrentCreation = lazyCreations.putIfAbsent(beanName, creation);
+            if (concurrentCreation != null) {
+                awaitCreation(concurrentCreation, beanName);
+                continue;
+            }
+            try {
+                // the object might have been created after the check above by a creation that is already over
+                if (!isCreated(beanDefinition, beanMap)) {
+                    createBean(beanDefinition, beanDefinitionRegistry, beanMap);
+                }
+                creation.complete(null);
+            } catch (Throwable e) {
+                creation.completeExceptionally(e);
+                throw e;
+            } finally {
+                lazyCreations.remove(beanName, creation);
+            }
+        }
+    }
 
-        beanDefinitionsForCreatingBeans
-                .forEach(beanDefinition -> {
-                    beanDefinition.getBeanCreator().create(beanDefinition.getClassName(), beanMap);
-                    beanDefinition.setStatus(BeanStatus.CREATED);
-                });
+    private void awaitCreation(CompletableFuture<Void> creation, String beanName) {
+        try {
+            creation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new BeanCreationException(String.format(
+                    "Context creation error: bean %s creation failed", beanName), e.getCause());
+        }
     }
 
     /**
-     * Method creates objects for classes that have dependencies
-     * and places them into the objects' storage
+     * Method creates objects on the executor. Objects are put into a concurrent storage
+     * which is copied to the provided one if the latter is not thread-safe
      *
+     * @param graph                     dependency graph of objects to be created
      * @param beanDefinitionRegistry    {@link BeanDefinition} storage
      * @param beanMap                   objects' storage
      */
-    private void createBeansWithDependsOnFields(BeanDefinitionRegistry beanDefinitionRegistry,
-                                                Map<String, Object> beanMap) {
-        while (beanMapNotReady(beanDefinitionRegistry) &&
-                atLeastOneBeanCreationIsPossible(beanDefinitionRegistry, beanMap)) {
+    private void createBeansInParallel(DependencyGraph graph,
+                                       BeanDefinitionRegistry beanDefinitionRegistry,
+                                       Map<String, Object> beanMap) {
+        graph.checkForCircularDependencies();
 
-            List<BeanDefinition> beanDefinitionsForCreatingBeans =
-                    beanDefinitionRegistry.getBeanDefinitionMap().values().stream()
-                    .filter(beanDefinition -> isBeanCreationRequiredAndPossible(beanDefinition, beanMap))
-                            .collect(Collectors.toList());
+        var concurrentBeanMap = beanMap instanceof ConcurrentMap ? beanMap : new ConcurrentHashMap<>(beanMap);
+        try {
+            new ParallelCreationScheduler(graph, executor, beanDefinition ->
+                    createBean(beanDefinition, beanDefinitionRegistry, concurrentBeanMap)).run();
+        } finally {
+            if (concurrentBeanMap != beanMap) {
+                beanMap.putAll(concurrentBeanMap);
+            }
+        }
+    }
 
-            beanDefinitionsForCreatingBeans
-                    .forEach(beanDefinition -> {
-                        Object initialBean = beanDefinition.getBeanCreator().create(beanDefinition.getClassName(), beanMap);
-                        beanDefinition.getBeanConfigurators().forEach(
-                                configurator -> configurator.configure(initialBean, beanDefinition, beanMap));
-                        beanDefinition.setStatus(BeanStatus.CREATED);
-                    });
+    /**
+     * Method creates an object, configures it and places it into the objects' storage once it is configured,
+     * so a failed creation leaves nothing behind.
+     * For a prototype the creation and configuration are compiled into {@link CompiledBeanFactory} instead;
+     * an object depending on prototypes is created by such a factory, bound without generated code,
+     * with new prototype objects injected. Compilation is measured apart from creation and configuration.
+     *
+     * @param beanDefinition            class' metadata
+     * @param beanDefinitionRegistry    {@link BeanDefinition} storage
+     * @param beanMap                   objects' storage
+     */
+    private void createBean(BeanDefinition beanDefinition,
+                            BeanDefinitionRegistry beanDefinitionRegistry,
+                            Map<String, Object> beanMap) {
+        if (!beanDefinition.compareAndSetStatus(BeanStatus.INITIALIZING, BeanStatus.CREATING)) {
+            throw new BeanCreationException(String.format(
+                    "Context creation error: bean %s is already %s",
+                    beanDefinition.getClassName(), beanDefinition.getStatus()));
+        }
+        var measurement = startupMetrics.startBean(beanDefinition.getClassName());
+        try {
+            if (beanDefinition.isPrototype()) {
+                var prototypeFactory = compile(beanDefinition, beanDefinitionRegistry, beanMap);
+                measurement.compiled();
+                if (beanDefinition.isPooled()) {
+                    beanDefinition.setBeanPool(createPool(beanDefinition, prototypeFactory));
+                } else if (beanDefinition.isThreadScoped()) {
+                    beanDefinition.setThreadScope(
+                            new ThreadScope(beanDefinition.getBeanClass(), prototypeFactory.asSupplier()));
+                }
+                beanDefinition.setPrototypeFactory(prototypeFactory);
+            } else if (dependsOnPrototype(beanDefinition, beanDefinitionRegistry) ||
+                    !beanDefinition.getProvidedBeanNames().isEmpty()) {
+                var singletonFactory = CompiledBeanFactory.bind(beanDefinition, dependency ->
+                        dependencySupplier(beanDefinition, dependency, beanDefinitionRegistry, beanMap));
+                measurement.compiled();
+                var bean = singletonFactory.instantiate();
+                measurement.created();
+                singletonFactory.configure(bean);
+                beanMap.put(beanDefinition.getClassName(), bean);
+            } else {
+                Object initialBean = beanDefinition.getBeanCreator().instantiate(beanDefinition, beanMap);
+                measurement.created();
+                beanDefinition.getBeanConfigurators().forEach(
+                        configurator -> configurator.configure(initialBean, beanDefinition, beanMap));
+                var lifecycleMethods = beanDefinition.getLifecycleMethods();
+                if (lifecycleMethods.hasPostConstruct()) {
+                    lifecycleMethods.invokePostConstruct(initialBean);
+                }
+                // published only when configured, so concurrent lookups never get a partially configured object
+                beanMap.put(beanDefinition.getClassName(), initialBean);
+            }
+            if (!beanDefinition.isPrototype()) {
+                startInitialization(beanDefinition, beanDefinitionRegistry,
+                        beanMap.get(beanDefinition.getClassName()));
+            }
+            beanDefinition.setStatus(BeanStatus.CREATED);
+            measurement.stop();
+        } catch (Throwable e) {
+            beanDefinition.setStatus(BeanStatus.INITIALIZING);
+            throw e;
         }
     }
 
-    private boolean isBeanWithoutDependsOnFields(BeanDefinition beanDefinition) {
-        return beanDefinition.getDependsOnFields().isEmpty();
+    /**
+     * Method sets {@link BeanDefinition#getInitialization()}: it is completed when the asynchronous initialization
+     * of the objects the object depends on is over and, if the object has an {@link AsyncInit} method,
+     * the method run on the initialization executor after that is over as well. It is null if there is nothing
+     * to wait for, so objects without asynchronous initialization cost nothing
+     */
+    private void startInitialization(BeanDefinition beanDefinition,
+                                     BeanDefinitionRegistry beanDefinitionRegistry,
+                                     Object bean) {
+        var dependencyInitializations = beanDefinition.getDependsOnFields().stream()
+                .map(beanDefinitionRegistry.getBeanDefinitionMap()::get)
+                .filter(Objects::nonNull)
+                .map(BeanDefinition::getInitialization)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toArray(CompletableFuture[]::new);
+        var dependenciesInitialized = dependencyInitializations.length == 0 ?
+                null :
+                CompletableFuture.allOf(dependencyInitializations);
+        var lifecycleMethods = beanDefinition.getLifecycleMethods();
+        if (!lifecycleMethods.hasAsyncInit()) {
+            beanDefinition.setInitialization(dependenciesInitialized);
+            return;
+        }
+        var start = dependenciesInitialized != null ?
+                dependenciesInitialized :
+                CompletableFuture.<Void>completedFuture(null);
+        beanDefinition.setInitialization(start.thenComposeAsync(
+                ignored -> lifecycleMethods.invokeAsyncInit(bean), getInitExecutor()));
     }
 
-    private boolean beanMapNotReady(BeanDefinitionRegistry beanDefinitionRegistry) {
-        return beanDefinitionRegistry.getBeanDefinitionMap().values().stream()
-                .anyMatch(beanDefinition -> beanDefinition.getStatus().equals(BeanStatus.INITIALIZING));
+    private Executor getInitExecutor() {
+        var currentInitExecutor = initExecutor;
+        return currentInitExecutor != null ? currentInitExecutor : DefaultInitExecutor.INSTANCE;
     }
 
-    private boolean atLeastOneBeanCreationIsPossible(BeanDefinitionRegistry beanDefinitionRegistry,
-                                                     Map<String, Object> beanMap) {
-        return beanDefinitionRegistry.getBeanDefinitionMap().values().stream()
-                .anyMatch(beanDefinition -> isBeanCreationRequiredAndPossible(beanDefinition, beanMap));
+    private CompiledBeanFactory compile(BeanDefinition beanDefinition,
+                                        BeanDefinitionRegistry beanDefinitionRegistry,
+                                        Map<String, Object> beanMap) {
+        return CompiledBeanFactory.compile(beanDefinition, dependency ->
+                dependencySupplier(beanDefinition, dependency, beanDefinitionRegistry, beanMap));
     }
 
-    private boolean isBeanCreationRequiredAndPossible(BeanDefinition beanDefinition,
-                                                      Map<String, Object> beanMap) {
-        return beanDefinition.getStatus().equals(BeanStatus.INITIALIZING) &&
-                beansForDependsOnFieldsCreated(beanDefinition, beanMap);
+    /**
+     * @return  pool of the objects of the factory, prefilled on the executor or,
+     *          if there is none, on the common pool
+     */
+    private BeanPool createPool(BeanDefinition beanDefinition, CompiledBeanFactory prototypeFactory) {
+        var pooled = beanDefinition.getBeanClass().getAnnotation(Pooled.class);
+        var pool = new BeanPool(prototypeFactory.asSupplier(),
+                pooled != null ? pooled.maxSize() : Pooled.DEFAULT_MAX_SIZE);
+        if (pooled != null && pooled.prefill() > 0) {
+            pool.prefillAsync(pooled.prefill(), executor != null ? executor : ForkJoinPool.commonPool());
+        }
+        return pool;
     }
 
-    private boolean beansForDependsOnFieldsCreated(BeanDefinition beanDefinition,
-                                                   Map<String, Object> beanMap) {
-        return beanDefinition.getDependsOnFields().stream()
-                .allMatch(beanMap::containsKey);
+    /**
+     * @return  supplier of the created object or, for a prototype, of new objects
+     *          or, for a thread-scoped object, of the object of a thread or, for a provider slot, of a provider
+     */
+    private Supplier<Object> dependencySupplier(BeanDefinition beanDefinition,
+                                                String dependency,
+                                                BeanDefinitionRegistry beanDefinitionRegistry,
+                                                Map<String, Object> beanMap) {
+        if (ProviderInjection.isSlotName(dependency)) {
+            var provider = provider(ProviderInjection.providedBeanName(dependency), beanDefinitionRegistry, beanMap);
+            return () -> provider;
+        }
+        var bean = beanMap.get(dependency);
+        if (bean != null) {
+            return () -> bean;
+        }
+        var dependencyDefinition = beanDefinitionRegistry.getBeanDefinition(dependency);
+        var threadScope = dependencyDefinition.getThreadScope();
+        if (threadScope != null) {
+            if (beanDefinition.getScope() == BeanScope.PROTOTYPE || beanDefinition.isThreadScoped()) {
+                return threadScope::get;
+            }
+            checkInjectedThroughInterfaces(beanDefinition, dependency);
+            var proxy = threadScope.getProxy();
+            return () -> proxy;
+        }
+        var prototypeFactory = dependencyDefinition.getPrototypeFactory();
+        if (prototypeFactory == null) {
+            throw new BeanCreationException(String.format(
+                    "Context creation error: bean %s is not available", dependency));
+        }
+        return prototypeFactory.asSupplier();
     }
 
     /**
-     * Method iterates over {@link BeanDefinition} that do not have objects of their related classes created
-     * and finds those whose dependencies contain the {@link BeanDefinition} the method is currently iterating over.
-     * {@link CircularDependencyException} is thrown in case of such finding.
+     * Method binds a provider to the objects' storage: the object is looked up there and, if it is not created yet,
+     * created the way a lazy object is, on the first call of the provider
      *
-     * @param beanDefinitionRegistry    {@link BeanDefinition} storage
-     * @param beanMap                   objects' storage
+     * @throws BeanDefinitionNotFoundException if the object is neither created nor registered
+     */
+    private BeanProvider<Object> provider(String beanName,
+                                          BeanDefinitionRegistry beanDefinitionRegistry,
+                                          Map<String, Object> beanMap) {
+        var beanDefinition = beanDefinitionRegistry.getBeanDefinitionMap().get(beanName);
+        if (beanDefinition == null && !beanMap.containsKey(beanName)) {
+            throw new BeanDefinitionNotFoundException(String.format("BeanDefinition for %s not found", beanName));
+        }
+        if (beanDefinition == null || !beanDefinition.isPrototype()) {
+            return new BeanProvider<>(() -> {
+                var bean = beanMap.get(beanName);
+                return bean != null ? bean : createLazyBean(beanDefinitionRegistry, beanDefinition, beanMap);
+            }, true);
+        }
+        return new BeanProvider<>(() -> {
+            if (beanDefinition.getPrototypeFactory() == null) {
+                createLazyBean(beanDefinitionRegistry, beanDefinition, beanMap);
+            }
+            var threadScope = beanDefinition.getThreadScope();
+            return threadScope != null ? threadScope.get() : beanDefinition.getPrototypeFactory().newInstance();
+        }, false);
+    }
+
+    /**
+     * Objects shared by threads get a proxy of a thread-scoped object implementing its interfaces only,
+     * so the object can not be injected into constructor and setter parameters or fields of its class
+     */
+    private void checkInjectedThroughInterfaces(BeanDefinition beanDefinition, String dependency) {
+        var constructor = beanDefinition.getConstructor();
+        var injectedAsClass = constructor != null && Arrays.stream(constructor.getParameterTypes())
+                .anyMatch(parameterType -> parameterType.getName().equals(dependency));
+        injectedAsClass |= Arrays.stream(beanDefinition.getBeanClass().getDeclaredMethods())
+                .filter(method -> method.isAnnotationPresent(Autowired.class))
+                .flatMap(method -> Arrays.stream(method.getParameterTypes()))
+                .anyMatch(parameterType -> parameterType.getName().equals(dependency));
+        injectedAsClass |= beanDefinition.getAutowiredFieldTypes().entrySet().stream()
+                .anyMatch(autowiredField -> autowiredField.getValue().getName().equals(dependency) &&
+                        !autowiredField.getKey().getType().isInterface());
+        if (injectedAsClass) {
+            throw new BeanCreationException(String.format(
+                    "Context creation error: bean %s is shared by threads, so thread scoped bean %s " +
+                            "can be injected into its interface fields only",
+                    beanDefinition.getClassName(), dependency));
+        }
+    }
+
+    private boolean dependsOnPrototype(BeanDefinition beanDefinition, BeanDefinitionRegistry beanDefinitionRegistry) {
+        return beanDefinition.getDependsOnFields().stream()
+                .map(beanDefinitionRegistry.getBeanDefinitionMap()::get)
+                .anyMatch(dependency -> dependency != null && dependency.isPrototype());
+    }
+
+    private boolean isCreated(BeanDefinition beanDefinition, Map<String, Object> beanMap) {
+        return beanDefinition.isPrototype() ?
+                beanDefinition.getPrototypeFactory() != null :
+                beanMap.containsKey(beanDefinition.getClassName());
+    }
+
+    /**
+     * Initialization does I/O, so it is not run on the common pool; idle threads of the pool end after a minute
      */
-    private void notifyAboutCircularDependency(BeanDefinitionRegistry beanDefinitionRegistry,
-                                               Map<String, Object> beanMap) {
-        if (beanMapNotReady(beanDefinitionRegistry)) {
-
-            beanDefinitionRegistry.getBeanDefinitionMap().values().stream()
-                    .filter(beanDefinition ->
-                            isBeanDefinitionCircularDependent(beanDefinition, beanDefinitionRegistry, beanMap))
-                    .findFirst()
-                    .ifPresent(beanDefinition -> {
-                        beanDefinition.getDependsOnFields().stream()
-                                .filter(dependsOnField -> !beanMap.containsKey(dependsOnField) &&
-                                        isBeanDefinitionFieldOfDependsOn(
-                                                dependsOnField, beanDefinition, beanDefinitionRegistry))
-                                .findFirst()
-                                .ifPresent(dependOnField -> {
-                                    throw new CircularDependencyException(String.format(
-                                            "Context creation error: circular dependency when creating bean %s on bean %s",
-                                            beanDefinition.getClassName(), dependOnField));
-                                });
-                    });
-        }
-    }
-
-    private boolean isBeanDefinitionCircularDependent(BeanDefinition beanDefinition,
-                                                      BeanDefinitionRegistry beanDefinitionRegistry,
-                                                      Map<String, Object> beanMap) {
-        boolean notCreated = beanDefinition.getStatus().equals(BeanStatus.INITIALIZING);
-        boolean circularDependent = beanDefinition.getDependsOnFields().stream()
-                .anyMatch(dependsOnField ->
-                        !beanMap.containsKey(dependsOnField) &&
-                        isBeanDefinitionFieldOfDependsOn(dependsOnField, beanDefinition, beanDefinitionRegistry));
-        return notCreated && circularDependent;
-    }
-
-    private boolean isBeanDefinitionFieldOfDependsOn(String dependsOnField,
-                                                     BeanDefinition beanDefinition,
-                                                     BeanDefinitionRegistry beanDefinitionRegistry) {
-        return beanDefinitionRegistry.getBeanDefinition(dependsOnField).getDependsOnFields()
-                .contains(beanDefinition.getClassName());
-    }
-
-    // TODO: implement extended circular dependency notifier
-    // case when A -> B, B -> C ... X -> A
-    private void notifyAboutCircularDependencyExtended(BeanDefinition start,
-                                                       BeanDefinition current) {
-
-        //traverseDependsOnsAndGetTracePath
+    private static final class DefaultInitExecutor {
+        private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+        private static final Executor INSTANCE = Executors.newCachedThreadPool(task -> {
+            var thread = new Thread(task, "bring-async-init-" + THREAD_NUMBER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 }
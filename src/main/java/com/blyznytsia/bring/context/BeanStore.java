@@ -0,0 +1,145 @@
+package com.blyznytsia.bring.context;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toUnmodifiableList;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link BeanStore} is what {@link ApplicationContext} publishes at the end of its initialization and of every refresh:
+ * a generation of the context made of {@link BeanDefinitionRegistry}, type indexes of created objects,
+ * of lazy objects and of prototypes, and the thread-scoped {@link BeanDefinition}. The indexes are never modified,
+ * so once the store is read through a volatile reference, lookups need neither locks nor copies,
+ * and a refresh replaces all of it at once.
+ * <p>
+ * Lazy objects are created into a concurrent objects' storage held by the store, the only part of it that changes.
+ */
+final class BeanStore {
+
+    private static final BeanStore EMPTY = new BeanStore(new BeanDefinitionRegistry(),
+            BeanTypeIndex.empty(), BeanTypeIndex.empty(), BeanTypeIndex.empty(), List.of(), new ConcurrentHashMap<>(),
+            Set.of());
+
+    private final BeanDefinitionRegistry beanDefinitionRegistry;
+    private final BeanTypeIndex beanTypeIndex;
+    private final BeanTypeIndex lazyBeanDefinitionIndex;
+    private final BeanTypeIndex prototypeBeanDefinitionIndex;
+    private final List<BeanDefinition> threadScopedBeanDefinitions;
+    private final Map<String, Object> beanMap;
+    private final Set<String> inheritedBeanNames;
+
+    private BeanStore(BeanDefinitionRegistry beanDefinitionRegistry,
+                      BeanTypeIndex beanTypeIndex,
+                      BeanTypeIndex lazyBeanDefinitionIndex,
+                      BeanTypeIndex prototypeBeanDefinitionIndex,
+                      List<BeanDefinition> threadScopedBeanDefinitions,
+                      Map<String, Object> beanMap,
+                      Set<String> inheritedBeanNames) {
+        this.beanDefinitionRegistry = beanDefinitionRegistry;
+        this.beanTypeIndex = beanTypeIndex;
+        this.lazyBeanDefinitionIndex = lazyBeanDefinitionIndex;
+        this.prototypeBeanDefinitionIndex = prototypeBeanDefinitionIndex;
+        this.threadScopedBeanDefinitions = threadScopedBeanDefinitions;
+        this.beanMap = beanMap;
+        this.inheritedBeanNames = inheritedBeanNames;
+    }
+
+    static BeanStore empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param beanMap   objects' storage with all the objects created
+     * @return          store of the objects
+     */
+    static BeanStore of(Map<String, Object> beanMap) {
+        return new BeanStore(new BeanDefinitionRegistry(), BeanTypeIndex.of(beanMap), BeanTypeIndex.empty(),
+                BeanTypeIndex.empty(), List.of(), concurrentCopyIfNeeded(beanMap), Set.of());
+    }
+
+    /**
+     * @param beanDefinitionRegistry    {@link BeanDefinition} storage
+     * @param beanMap                   objects' storage filled by {@link BeanFactory}
+     * @return                          store of the created objects, lazy objects and prototypes
+     */
+    static BeanStore of(BeanDefinitionRegistry beanDefinitionRegistry, Map<String, Object> beanMap) {
+        return of(beanDefinitionRegistry, beanMap, Set.of());
+    }
+
+    /**
+     * @param beanDefinitionRegistry    {@link BeanDefinition} storage
+     * @param beanMap                   objects' storage filled by {@link BeanFactory}
+     * @param inheritedBeanNames        names of the objects taken from a parent context to be injected,
+     *                                  they stay in the storage but are not indexed by type
+     * @return                          store of the created objects, lazy objects and prototypes
+     */
+    static BeanStore of(BeanDefinitionRegistry beanDefinitionRegistry,
+                        Map<String, Object> beanMap,
+                        Set<String> inheritedBeanNames) {
+        var beanDefinitions = beanDefinitionRegistry.getBeanDefinitionMap().values();
+        var lazyBeanDefinitionIndex = BeanTypeIndex.ofBeanDefinitions(beanDefinitions.stream()
+                .filter(beanDefinition -> beanDefinition.isLazy() && !beanDefinition.isPrototype())
+                .filter(beanDefinition -> !beanMap.containsKey(beanDefinition.getClassName()))
+                .collect(toList()));
+        var prototypeBeanDefinitionIndex = BeanTypeIndex.ofBeanDefinitions(beanDefinitions.stream()
+                .filter(BeanDefinition::isPrototype)
+                .collect(toList()));
+        var threadScopedBeanDefinitions = beanDefinitions.stream()
+                .filter(BeanDefinition::isThreadScoped)
+                .collect(toUnmodifiableList());
+        var ownBeanMap = beanMap;
+        if (!inheritedBeanNames.isEmpty()) {
+            ownBeanMap = new HashMap<>(beanMap);
+            ownBeanMap.keySet().removeAll(inheritedBeanNames);
+        }
+        return new BeanStore(beanDefinitionRegistry, BeanTypeIndex.of(ownBeanMap), lazyBeanDefinitionIndex,
+                prototypeBeanDefinitionIndex, threadScopedBeanDefinitions, concurrentCopyIfNeeded(beanMap),
+                Set.copyOf(inheritedBeanNames));
+    }
+
+    /**
+     * @return  {@link BeanDefinition} storage of the generation, not to be modified
+     */
+    BeanDefinitionRegistry getBeanDefinitionRegistry() {
+        return beanDefinitionRegistry;
+    }
+
+    BeanTypeIndex getBeanTypeIndex() {
+        return beanTypeIndex;
+    }
+
+    BeanTypeIndex getLazyBeanDefinitionIndex() {
+        return lazyBeanDefinitionIndex;
+    }
+
+    BeanTypeIndex getPrototypeBeanDefinitionIndex() {
+        return prototypeBeanDefinitionIndex;
+    }
+
+    List<BeanDefinition> getThreadScopedBeanDefinitions() {
+        return threadScopedBeanDefinitions;
+    }
+
+    /**
+     * @return  objects' storage lazy objects are created into
+     */
+    Map<String, Object> getBeanMap() {
+        return beanMap;
+    }
+
+    /**
+     * @return  names of the objects of the storage taken from a parent context
+     */
+    Set<String> getInheritedBeanNames() {
+        return inheritedBeanNames;
+    }
+
+    private static Map<String, Object> concurrentCopyIfNeeded(Map<String, Object> beanMap) {
+        return beanMap instanceof ConcurrentMap ? beanMap : new ConcurrentHashMap<>(beanMap);
+    }
+}
@@ -0,0 +1,105 @@
+package com.blyznytsia.bring.context;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * {@link BeanTypeIndex} maps every type a bean can be assigned to (its class, all superclasses and
+ * all interfaces) to the bean itself, so that a lookup by type is a single hash map read.
+ * <p>
+ * If several beans are assignable to the same type, the bean whose class is exactly the requested type wins,
+ * otherwise the bean with the lowest name (in natural order) is taken - the result does not depend on
+ * the iteration order of the objects' storage.
+ * <p>
+ * Assignable types are collected once per class, so rebuilding the index for a new generation of a refreshed
+ * context does not walk the type hierarchies again.
+ */
+public class BeanTypeIndex {
+
+    private static final ClassValue<Set<Class<?>>> ASSIGNABLE_TYPES = new ClassValue<>() {
+        @Override
+        protected Set<Class<?>> computeValue(Class<?> type) {
+            return collectAssignableTypes(type);
+        }
+    };
+
+    private final Map<Class<?>, ?> beansByType;
+
+    private BeanTypeIndex(Map<Class<?>, ?> beansByType) {
+        this.beansByType = beansByType;
+    }
+
+    /**
+     * Builds the index over the objects' storage
+     *
+     * @param beanMap   objects' storage
+     * @return          index of all the types of all the objects
+     */
+    public static BeanTypeIndex of(Map<String, Object> beanMap) {
+        return of(beanMap, Object::getClass);
+    }
+
+    /**
+     * Builds the index over {@link BeanDefinition} of objects not created yet, by the classes of the objects
+     *
+     * @param beanDefinitions   {@link BeanDefinition} to be indexed
+     * @return                  index of all the types of all the objects to be created
+     */
+    public static BeanTypeIndex ofBeanDefinitions(Collection<BeanDefinition> beanDefinitions) {
+        var beanDefinitionMap = new HashMap<String, BeanDefinition>();
+        beanDefinitions.forEach(beanDefinition ->
+                beanDefinitionMap.put(beanDefinition.getClassName(), beanDefinition));
+        return of(beanDefinitionMap, BeanDefinition::getBeanClass);
+    }
+
+    private static <T> BeanTypeIndex of(Map<String, T> values, Function<T, Class<?>> classOf) {
+        var valuesByType = new HashMap<Class<?>, T>();
+        new TreeMap<>(values).values().forEach(value ->
+                ASSIGNABLE_TYPES.get(classOf.apply(value)).forEach(type ->
+                        valuesByType.merge(type, value, (indexed, candidate) ->
+                                classOf.apply(candidate) == type && classOf.apply(indexed) != type ?
+                                        candidate :
+                                        indexed)));
+        return new BeanTypeIndex(valuesByType);
+    }
+
+    public static BeanTypeIndex empty() {
+        return new BeanTypeIndex(Collections.emptyMap());
+    }
+
+    /**
+     * @param type  requested type
+     * @return      object (or {@link BeanDefinition} for an index built over them) assignable to the type,
+     *              null if there is no such object
+     */
+    public Object get(Class<?> type) {
+        return beansByType.get(type);
+    }
+
+    public int size() {
+        return beansByType.size();
+    }
+
+    private static Set<Class<?>> collectAssignableTypes(Class<?> beanClass) {
+        var types = new HashSet<Class<?>>();
+        var toVisit = new ArrayDeque<Class<?>>();
+        toVisit.add(beanClass);
+        while (!toVisit.isEmpty()) {
+            var type = toVisit.poll();
+            if (types.add(type)) {
+                if (type.getSuperclass() != null) {
+                    toVisit.add(type.getSuperclass());
+                }
+                Collections.addAll(toVisit, type.getInterfaces());
+            }
+        }
+        return Set.copyOf(types);
+    }
+}
@@ -0,0 +1,128 @@
+package com.blyznytsia.bring.context;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * {@link ComponentIndex} holds the data written at compile time by bring-index-processor:
+ * names of configuration classes, component classes, {@code @Bean} methods return types
+ * and packages declared in {@code @ComponentScan}.
+ * Entries of all the index files found on the classpath are merged.
+ * <p>
+ * The index can only be trusted for the classpath locations it has been written for:
+ * see {@link #covers(ClassLoader)}.
+ */
+@Getter
+public class ComponentIndex {
+
+    public static final String INDEX_LOCATION = "META-INF/bring.components";
+
+    private final Set<String> configurations = new LinkedHashSet<>();
+    private final Set<String> components = new LinkedHashSet<>();
+    private final Set<String> componentScanPackages = new LinkedHashSet<>();
+    private final Set<String> beans = new LinkedHashSet<>();
+    @Getter(AccessLevel.NONE)
+    private final Set<String> indexedRoots = new HashSet<>();
+
+    /**
+     * Method reads all the index files visible to the class loader
+     *
+     * @param classLoader   class loader to look up index files with
+     * @return              merged index or empty {@link Optional} if no index file is present
+     */
+    public static Optional<ComponentIndex> load(ClassLoader classLoader) {
+        try {
+            var resources = Collections.list(classLoader.getResources(INDEX_LOCATION));
+            if (resources.isEmpty()) {
+                return Optional.empty();
+            }
+            var index = new ComponentIndex();
+            for (URL resource : resources) {
+                index.read(resource);
+            }
+            return Optional.of(index);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read " + INDEX_LOCATION, e);
+        }
+    }
+
+    /**
+     * Method checks that every classpath location holding a package declared in {@code ComponentScan}
+     * has an index file of its own. A location without one (e.g. classes compiled without the processor)
+     * may hold components the index does not know about.
+     *
+     * @param classLoader   class loader the index has been loaded with
+     * @return              true if all the locations of the scanned packages are indexed
+     */
+    public boolean covers(ClassLoader classLoader) {
+        try {
+            for (String aPackage : componentScanPackages) {
+                var packagePath = ComponentScanPlan.normalize(aPackage).replace('.', '/');
+                if (packagePath.isEmpty()) {
+                    continue;
+                }
+                for (URL location : Collections.list(classLoader.getResources(packagePath))) {
+                    if (!indexedRoots.contains(rootOf(location, packagePath))) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to look up packages of " + INDEX_LOCATION, e);
+        }
+    }
+
+    private static String rootOf(URL location, String path) {
+        var url = location.toString();
+        if (url.endsWith("/")) {
+            url = url.substring(0, url.length() - 1);
+        }
+        return url.endsWith(path) ? url.substring(0, url.length() - path.length()) : url;
+    }
+
+    private void read(URL resource) throws IOException {
+        indexedRoots.add(rootOf(resource, INDEX_LOCATION));
+        try (var reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                addEntry(line.trim());
+            }
+        }
+    }
+
+    private void addEntry(String entry) {
+        int separator = entry.indexOf('=');
+        if (entry.isEmpty() || entry.startsWith("#") || separator < 0) {
+            return;
+        }
+        var value = entry.substring(separator + 1);
+        switch (entry.substring(0, separator)) {
+            case "configuration":
+                configurations.add(value);
+                break;
+            case "component":
+                components.add(value);
+                break;
+            case "componentScan":
+                componentScanPackages.add(value);
+                break;
+            case "bean":
+                beans.add(value);
+                break;
+            default:
+        }
+    }
+}
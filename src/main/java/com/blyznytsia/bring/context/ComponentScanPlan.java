@@ -0,0 +1,140 @@
+package com.blyznytsia.bring.context;
+
+import static java.util.stream.Collectors.toCollection;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.reflections.Reflections;
+import org.reflections.util.ConfigurationBuilder;
+
+/**
+ * {@link ComponentScanPlan} merges package prefixes collected from any number of sources
+ * into a single classpath scan.
+ * <p>
+ * Prefixes are normalized (surrounding whitespace and dots removed) and deduplicated: a subpackage of another
+ * prefix (e.g. {@code demo.classes.web} of {@code demo.classes}) is dropped, as a scan of the package already
+ * includes it; a sibling sharing the characters of a prefix (e.g. {@code demo.classes_x}) is kept. Classpath roots
+ * are looked up for all the prefixes, so a subpackage living in another jar or directory is still found.
+ * Every class file of the remaining packages is read once and the number of such files is available
+ * through {@link #getScannedClassFiles()}.
+ */
+public class ComponentScanPlan {
+
+    private final List<String> packages;
+    private final List<String> rootPackages;
+    private final boolean parallel;
+    private final LongAdder scannedClassFiles = new LongAdder();
+
+    private ComponentScanPlan(List<String> packages, List<String> rootPackages, boolean parallel) {
+        this.packages = packages;
+        this.rootPackages = rootPackages;
+        this.parallel = parallel;
+    }
+
+    /**
+     * @param packagePrefixes   package prefixes to be scanned through, possibly overlapping
+     * @return                  plan scanning each class file covered by the prefixes once
+     */
+    public static ComponentScanPlan of(Collection<String> packagePrefixes) {
+        return of(packagePrefixes, false);
+    }
+
+    /**
+     * @param packagePrefixes   package prefixes to be scanned through, possibly overlapping
+     * @param parallel          whether classpath locations (directories and jars) are to be scanned concurrently
+     * @return                  plan scanning each class file covered by the prefixes once
+     */
+    public static ComponentScanPlan of(Collection<String> packagePrefixes, boolean parallel) {
+        var normalized = packagePrefixes.stream()
+                .map(ComponentScanPlan::normalize)
+                .filter(prefix -> !prefix.isEmpty())
+                .collect(toCollection(TreeSet::new));
+
+        var packages = new ArrayList<String>();
+        normalized.forEach(prefix -> {
+            // sorted order places a package before its subpackages, a sibling such as a_x can come between
+            // a and a.b, so every kept package is checked
+            if (packages.stream().noneMatch(kept -> isSubpackage(prefix, kept))) {
+                packages.add(prefix);
+            }
+        });
+        return new ComponentScanPlan(Collections.unmodifiableList(packages), List.copyOf(normalized), parallel);
+    }
+
+    public List<String> getPackages() {
+        return packages;
+    }
+
+    /**
+     * Method runs a single scan over all the planned packages
+     *
+     * @param annotation    annotation to look for
+     * @return              classes annotated with the annotation
+     */
+    public Set<Class<?>> getTypesAnnotatedWith(Class<? extends Annotation> annotation) {
+        if (packages.isEmpty()) {
+            return Collections.emptySet();
+        }
+        var configuration = new ConfigurationBuilder()
+                .forPackages(rootPackages.toArray(String[]::new))
+                .filterInputsBy(this::isClassFileInPlannedPackages);
+        configuration.setParallel(parallel);
+        return new Reflections(configuration).getTypesAnnotatedWith(annotation);
+    }
+
+    /**
+     * @return number of class files read by the scans of this plan
+     */
+    public long getScannedClassFiles() {
+        return scannedClassFiles.sum();
+    }
+
+    private boolean isClassFileInPlannedPackages(String path) {
+        var dottedPath = path.replace('/', '.');
+        var accepted = dottedPath.endsWith(".class") &&
+                packages.stream().anyMatch(plannedPackage -> dottedPath.startsWith(plannedPackage + "."));
+        if (accepted) {
+            scannedClassFiles.increment();
+        }
+        return accepted;
+    }
+
+    /**
+     * @param className     binary name of a class
+     * @param packagePrefix package as declared in {@code ComponentScan}, normalized the way the plan does it
+     * @return              true if the class is in the package or in one of its subpackages
+     */
+    static boolean isInPackage(String className, String packagePrefix) {
+        var aPackage = normalize(packagePrefix);
+        return !aPackage.isEmpty() && className.startsWith(aPackage + ".");
+    }
+
+    private static boolean isSubpackage(String candidate, String aPackage) {
+        return candidate.equals(aPackage) || candidate.startsWith(aPackage + ".");
+    }
+
+    static String normalize(String packagePrefix) {
+        var prefix = packagePrefix.trim();
+        int start = 0;
+        int end = prefix.length();
+        while (start < end && prefix.charAt(start) == '.') {
+            start++;
+        }
+        while (end > start && prefix.charAt(end - 1) == '.') {
+            end--;
+        }
+        return prefix.substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return packages + ", class files scanned: " + getScannedClassFiles();
+    }
+}
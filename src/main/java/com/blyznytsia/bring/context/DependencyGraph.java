@@ -0,0 +1,358 @@
+package com.blyznytsia.bring.context;
+
+import static java.util.stream.Collectors.joining;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import com.blyznytsia.bring.context.constants.BeanStatus;
+import com.blyznytsia.bring.context.exceptions.CircularDependencyException;
+
+/**
+ * {@link DependencyGraph} holds {@link BeanDefinition} of objects to be created as nodes
+ * and their dependencies ({@link BeanDefinition#getDependsOnFields()}) as edges.
+ * Adjacency lists are built once, so both the creation order (Kahn's algorithm)
+ * and the search of circular dependencies (Tarjan's strongly connected components) take O(V+E).
+ * <p>
+ * Dependencies already present in the objects' storage are considered satisfied and are not part of the graph.
+ */
+public class DependencyGraph {
+
+    private static final int[] NO_EDGES = new int[0];
+
+    private final List<BeanDefinition> nodes;
+    private final int[][] dependencies;
+    private final int[][] dependents;
+
+    private DependencyGraph(List<BeanDefinition> nodes, int[][] dependencies, int[][] dependents) {
+        this.nodes = nodes;
+        this.dependencies = dependencies;
+        this.dependents = dependents;
+    }
+
+    /**
+     * Method builds the graph of {@link BeanDefinition} whose objects are still to be created
+     *
+     * @param beanDefinitionRegistry    {@link BeanDefinition} storage
+     * @param beanMap                   objects' storage
+     * @return                          dependency graph
+     */
+    public static DependencyGraph of(BeanDefinitionRegistry beanDefinitionRegistry, Map<String, Object> beanMap) {
+        return of(beanDefinitionRegistry, beanMap,
+                beanDefinition -> beanDefinition.getStatus() == BeanStatus.INITIALIZING);
+    }
+
+    /**
+     * Method builds the graph of {@link BeanDefinition} accepted by the filter together with
+     * all the {@link BeanDefinition} they depend on, directly or transitively, whose objects are not in the storage.
+     * Nodes keep the order of {@link BeanDefinitionRegistry}.
+     *
+     * @param beanDefinitionRegistry    {@link BeanDefinition} storage
+     * @param beanMap                   objects' storage
+     * @param roots                     filter of {@link BeanDefinition} to be created
+     * @return                          dependency graph
+     */
+    public static DependencyGraph of(BeanDefinitionRegistry beanDefinitionRegistry,
+                                     Map<String, Object> beanMap,
+                                     Predicate<BeanDefinition> roots) {
+        return of(beanDefinitionRegistry, roots, beanMap::containsKey);
+    }
+
+    /**
+     * Method builds the graph of {@link BeanDefinition} accepted by the filter together with
+     * all the {@link BeanDefinition} they depend on, directly or transitively, that are not satisfied.
+     * Nodes keep the order of {@link BeanDefinitionRegistry}.
+     *
+     * @param beanDefinitionRegistry    {@link BeanDefinition} storage
+     * @param roots                     filter of {@link BeanDefinition} to be included
+     * @param satisfied                 tells the names of the dependencies left out of the graph
+     * @return                          dependency graph
+     */
+    public static DependencyGraph of(BeanDefinitionRegistry beanDefinitionRegistry,
+                                     Predicate<BeanDefinition> roots,
+                                     Predicate<String> satisfied) {
+        var included = new HashSet<String>();
+        var toVisit = new ArrayDeque<BeanDefinition>();
+        beanDefinitionRegistry.getBeanDefinitionMap().values().stream()
+                .filter(roots)
+                .forEach(beanDefinition -> {
+                    included.add(beanDefinition.getClassName());
+                    toVisit.add(beanDefinition);
+                });
+        while (!toVisit.isEmpty()) {
+            toVisit.poll().getDependsOnFields().stream()
+                    .filter(dependsOnField -> !satisfied.test(dependsOnField) && included.add(dependsOnField))
+                    // throws BeanDefinitionNotFoundException if the dependency is not registered at all
+                    .map(beanDefinitionRegistry::getBeanDefinition)
+                    .forEach(toVisit::add);
+        }
+
+        var nodes = new ArrayList<BeanDefinition>();
+        var nodeIndexes = new HashMap<String, Integer>();
+        beanDefinitionRegistry.getBeanDefinitionMap().values().stream()
+                .filter(beanDefinition -> included.contains(beanDefinition.getClassName()))
+                .forEach(beanDefinition -> {
+                    nodeIndexes.put(beanDefinition.getClassName(), nodes.size());
+                    nodes.add(beanDefinition);
+                });
+
+        var dependencies = new int[nodes.size()][];
+        var dependentsCount = new int[nodes.size()];
+        for (int node = 0; node < nodes.size(); node++) {
+            var beanDefinition = nodes.get(node);
+            dependencies[node] = beanDefinition.getDependsOnFields().stream()
+                    .filter(dependsOnField -> !satisfied.test(dependsOnField))
+                    .mapToInt(nodeIndexes::get)
+                    .toArray();
+            for (int dependency : dependencies[node]) {
+                dependentsCount[dependency]++;
+            }
+        }
+
+        var dependents = new int[nodes.size()][];
+        for (int node = 0; node < nodes.size(); node++) {
+            dependents[node] = dependentsCount[node] == 0 ? NO_EDGES : new int[dependentsCount[node]];
+        }
+        var filled = new int[nodes.size()];
+        for (int node = 0; node < nodes.size(); node++) {
+            for (int dependency : dependencies[node]) {
+                dependents[dependency][filled[dependency]++] = node;
+            }
+        }
+        return new DependencyGraph(Collections.unmodifiableList(nodes), dependencies, dependents);
+    }
+
+    /**
+     * Method finds the {@link BeanDefinition} depending on the provided names, directly or transitively.
+     * Objects injected through providers count as dependencies here, the providers are bound to them
+     *
+     * @param beanDefinitions   {@link BeanDefinition} by name
+     * @param beanNames         names of the objects whose dependents are looked for
+     * @return                  names of the dependents; a provided name is among them only if it depends on
+     *                          some of the provided names itself
+     */
+    public static Set<String> findDependents(Map<String, BeanDefinition> beanDefinitions,
+                                             Collection<String> beanNames) {
+        var dependents = new HashMap<String, List<String>>();
+        beanDefinitions.forEach((beanName, beanDefinition) -> {
+            beanDefinition.getDependsOnFields().forEach(dependency ->
+                    dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(beanName));
+            beanDefinition.getProvidedBeanNames().forEach(providedBeanName ->
+                    dependents.computeIfAbsent(providedBeanName, key -> new ArrayList<>()).add(beanName));
+        });
+
+        var found = new HashSet<String>();
+        var toVisit = new ArrayDeque<String>(beanNames);
+        while (!toVisit.isEmpty()) {
+            dependents.getOrDefault(toVisit.poll(), List.of()).stream()
+                    .filter(found::add)
+                    .forEach(toVisit::add);
+        }
+        return found;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    public BeanDefinition getBeanDefinition(int node) {
+        return nodes.get(node);
+    }
+
+    /**
+     * @param node  node index
+     * @return      number of dependencies of the node that are still to be created
+     */
+    public int getDependenciesCount(int node) {
+        return dependencies[node].length;
+    }
+
+    /**
+     * @param node  node index
+     * @return      indexes of the nodes the node depends on; the array is not to be modified
+     */
+    public int[] getDependencies(int node) {
+        return dependencies[node];
+    }
+
+    /**
+     * @param node  node index
+     * @return      indexes of the nodes depending on the node; the array is not to be modified
+     */
+    public int[] getDependents(int node) {
+        return dependents[node];
+    }
+
+    /**
+     * Method orders {@link BeanDefinition} so that each one comes after all its dependencies
+     *
+     * @return  {@link BeanDefinition} in creation order
+     * @throws CircularDependencyException if some of the {@link BeanDefinition} depend on each other
+     */
+    public List<BeanDefinition> getCreationOrder() {
+        var remainingDependencies = new int[nodes.size()];
+        var ready = new ArrayDeque<Integer>();
+        for (int node = 0; node < nodes.size(); node++) {
+            remainingDependencies[node] = dependencies[node].length;
+            if (remainingDependencies[node] == 0) {
+                ready.add(node);
+            }
+        }
+
+        var order = new ArrayList<BeanDefinition>(nodes.size());
+        while (!ready.isEmpty()) {
+            int node = ready.poll();
+            order.add(nodes.get(node));
+            for (int dependent : dependents[node]) {
+                if (--remainingDependencies[dependent] == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        if (order.size() < nodes.size()) {
+            throw circularDependencyException(findCycles());
+        }
+        return order;
+    }
+
+    /**
+     * @throws CircularDependencyException if some of the {@link BeanDefinition} depend on each other
+     */
+    public void checkForCircularDependencies() {
+        var cycles = findCycles();
+        if (!cycles.isEmpty()) {
+            throw circularDependencyException(cycles);
+        }
+    }
+
+    /**
+     * Method finds all groups of {@link BeanDefinition} depending on each other.
+     * Each group is reported as a path of class names that starts and ends with the same class,
+     * e.g. {@code [A, B, C, A]} for A depending on B, B on C and C on A.
+     *
+     * @return  circular dependency paths, empty if there are none
+     */
+    public List<List<String>> findCycles() {
+        var cycles = new ArrayList<List<String>>();
+        for (int[] component : findStronglyConnectedComponents()) {
+            if (component.length > 1 || dependsOnItself(component[0])) {
+                cycles.add(cyclePath(component));
+            }
+        }
+        return cycles;
+    }
+
+    /**
+     * Iterative Tarjan's algorithm, so that long dependency chains do not exhaust the call stack
+     */
+    private List<int[]> findStronglyConnectedComponents() {
+        var components = new ArrayList<int[]>();
+        var index = new int[nodes.size()];
+        var lowLink = new int[nodes.size()];
+        var onStack = new boolean[nodes.size()];
+        var nextEdge = new int[nodes.size()];
+        Arrays.fill(index, -1);
+        var stack = new ArrayDeque<Integer>();
+        var callStack = new ArrayDeque<Integer>();
+        int counter = 0;
+
+        for (int root = 0; root < nodes.size(); root++) {
+            if (index[root] != -1) {
+                continue;
+            }
+            callStack.push(root);
+            while (!callStack.isEmpty()) {
+                int node = callStack.peek();
+                if (index[node] == -1) {
+                    index[node] = lowLink[node] = counter++;
+                    stack.push(node);
+                    onStack[node] = true;
+                }
+                if (nextEdge[node] < dependencies[node].length) {
+                    int dependency = dependencies[node][nextEdge[node]++];
+                    if (index[dependency] == -1) {
+                        callStack.push(dependency);
+                    } else if (onStack[dependency]) {
+                        lowLink[node] = Math.min(lowLink[node], index[dependency]);
+                    }
+                    continue;
+                }
+                callStack.pop();
+                if (!callStack.isEmpty()) {
+                    int caller = callStack.peek();
+                    lowLink[caller] = Math.min(lowLink[caller], lowLink[node]);
+                }
+                if (lowLink[node] == index[node]) {
+                    var component = new ArrayList<Integer>();
+                    int member;
+                    do {
+                        member = stack.pop();
+                        onStack[member] = false;
+                        component.add(member);
+                    } while (member != node);
+                    components.add(component.stream().mapToInt(Integer::intValue).toArray());
+                }
+            }
+        }
+        return components;
+    }
+
+    private boolean dependsOnItself(int node) {
+        return Arrays.stream(dependencies[node]).anyMatch(dependency -> dependency == node);
+    }
+
+    /**
+     * Breadth-first search inside the component for the shortest way from its first node back to itself
+     */
+    private List<String> cyclePath(int[] component) {
+        var inComponent = new boolean[nodes.size()];
+        for (int node : component) {
+            inComponent[node] = true;
+        }
+        int start = Arrays.stream(component).min().orElseThrow();
+        var previous = new int[nodes.size()];
+        Arrays.fill(previous, -1);
+        var queue = new ArrayDeque<Integer>();
+        queue.add(start);
+        int last = -1;
+        while (!queue.isEmpty() && last == -1) {
+            int node = queue.poll();
+            for (int dependency : dependencies[node]) {
+                if (dependency == start) {
+                    last = node;
+                    break;
+                }
+                if (inComponent[dependency] && previous[dependency] == -1) {
+                    previous[dependency] = node;
+                    queue.add(dependency);
+                }
+            }
+        }
+
+        var path = new ArrayList<String>();
+        path.add(nodes.get(start).getClassName());
+        for (int node = last; node != start; node = previous[node]) {
+            path.add(1, nodes.get(node).getClassName());
+        }
+        path.add(nodes.get(start).getClassName());
+        return path;
+    }
+
+    private static CircularDependencyException circularDependencyException(List<List<String>> cycles) {
+        var description = cycles.stream()
+                .map(cycle -> String.join(" -> ", cycle))
+                .collect(joining("; "));
+        return new CircularDependencyException(String.format(
+                "Context creation error: circular dependency found: %s", description), cycles);
+    }
+}
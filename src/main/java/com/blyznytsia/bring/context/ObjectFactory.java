@@ -0,0 +1,15 @@
+package com.blyznytsia.bring.context;
+
+/**
+ * {@link ObjectFactory} is injected the same way as {@link Provider}, for code written against this name
+ *
+ * @param <T>   type of the provided object
+ */
+@FunctionalInterface
+public interface ObjectFactory<T> {
+
+    /**
+     * @return  the object, see {@link Provider#get()}
+     */
+    T getObject();
+}
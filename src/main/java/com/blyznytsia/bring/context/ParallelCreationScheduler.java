@@ -0,0 +1,115 @@
+package com.blyznytsia.bring.context;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import com.blyznytsia.bring.context.exceptions.BeanCreationException;
+
+/**
+ * {@link ParallelCreationScheduler} runs creation of the {@link DependencyGraph} nodes on an {@link Executor}.
+ * Nodes without dependencies are submitted right away; every other node is submitted by the task
+ * that completes its last dependency.
+ * <p>
+ * The first failure stops scheduling: tasks not yet started are skipped, the ones already running
+ * are waited for and the failure is rethrown to the caller. No task ever waits for another one,
+ * so a failure can not leave the caller blocked.
+ */
+class ParallelCreationScheduler {
+
+    private final DependencyGraph graph;
+    private final Executor executor;
+    private final Consumer<BeanDefinition> creation;
+
+    private final AtomicIntegerArray remainingDependencies;
+    private final AtomicInteger notCreated;
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    ParallelCreationScheduler(DependencyGraph graph, Executor executor, Consumer<BeanDefinition> creation) {
+        this.graph = graph;
+        this.executor = executor;
+        this.creation = creation;
+        this.remainingDependencies = new AtomicIntegerArray(graph.size());
+        this.notCreated = new AtomicInteger(graph.size());
+        for (int node = 0; node < graph.size(); node++) {
+            remainingDependencies.set(node, graph.getDependenciesCount(node));
+        }
+    }
+
+    /**
+     * Method creates all the nodes and returns when they are created or when creation has failed
+     */
+    void run() {
+        if (graph.size() == 0) {
+            return;
+        }
+        for (int node = 0; node < graph.size() && failure.get() == null; node++) {
+            if (graph.getDependenciesCount(node) == 0) {
+                schedule(node);
+            }
+        }
+        try {
+            completion.join();
+        } catch (CompletionException e) {
+            throw rethrowable(e.getCause());
+        }
+    }
+
+    private void schedule(int node) {
+        running.incrementAndGet();
+        try {
+            executor.execute(() -> create(node));
+        } catch (RejectedExecutionException e) {
+            running.decrementAndGet();
+            fail(e);
+        }
+    }
+
+    private void create(int node) {
+        try {
+            if (failure.get() != null) {
+                return;
+            }
+            creation.accept(graph.getBeanDefinition(node));
+            if (notCreated.decrementAndGet() == 0) {
+                completion.complete(null);
+                return;
+            }
+            for (int dependent : graph.getDependents(node)) {
+                if (remainingDependencies.decrementAndGet(dependent) == 0) {
+                    schedule(dependent);
+                }
+            }
+        } catch (Throwable e) {
+            fail(e);
+        } finally {
+            if (running.decrementAndGet() == 0 && failure.get() != null) {
+                completion.completeExceptionally(failure.get());
+            }
+        }
+    }
+
+    private void fail(Throwable e) {
+        failure.compareAndSet(null, e);
+        if (running.get() == 0) {
+            completion.completeExceptionally(failure.get());
+        }
+    }
+
+    private RuntimeException rethrowable(Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new BeanCreationException("Context creation error: " + e.getMessage(), e);
+    }
+}
@@ -0,0 +1,120 @@
+package com.blyznytsia.bring.context;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Function;
+
+/**
+ * {@link ParallelDestructionScheduler} runs destruction of the {@link DependencyGraph} nodes on an {@link Executor}
+ * in reverse dependency order: nodes no other node depends on are destroyed right away, every other node
+ * is destroyed by the task that completes its last dependent. Nodes with nothing to destroy are completed
+ * by the thread that makes them ready, so only the nodes with actual work cost a task.
+ * <p>
+ * A failure does not stop destruction: the nodes a failed node depends on are destroyed all the same
+ * and the failures are returned once every node is done. A task rejected by the executor
+ * is run by the thread that has made its node ready.
+ */
+class ParallelDestructionScheduler {
+
+    private final DependencyGraph graph;
+    private final Executor executor;
+    private final Function<BeanDefinition, Runnable> destruction;
+
+    private final AtomicIntegerArray remainingDependents;
+    private final AtomicInteger notDestroyed;
+    private final Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    /**
+     * @param graph         dependency graph of the objects to be destroyed
+     * @param executor      executor to run the destruction tasks on
+     * @param destruction   maps a node to its destruction task, null if there is nothing to destroy
+     */
+    ParallelDestructionScheduler(DependencyGraph graph,
+                                 Executor executor,
+                                 Function<BeanDefinition, Runnable> destruction) {
+        this.graph = graph;
+        this.executor = executor;
+        this.destruction = destruction;
+        this.remainingDependents = new AtomicIntegerArray(graph.size());
+        this.notDestroyed = new AtomicInteger(graph.size());
+        for (int node = 0; node < graph.size(); node++) {
+            remainingDependents.set(node, graph.getDependents(node).length);
+        }
+    }
+
+    /**
+     * Method destroys all the nodes and returns when they are destroyed
+     *
+     * @return  failures of the destruction tasks, empty if there are none
+     */
+    List<Throwable> run() {
+        if (graph.size() == 0) {
+            return List.of();
+        }
+        var ready = new ArrayDeque<Integer>();
+        for (int node = 0; node < graph.size(); node++) {
+            if (graph.getDependents(node).length == 0) {
+                ready.add(node);
+            }
+        }
+        drain(ready);
+        completion.join();
+        return List.copyOf(failures);
+    }
+
+    private void drain(Deque<Integer> ready) {
+        while (!ready.isEmpty()) {
+            int node = ready.poll();
+            Runnable task = null;
+            try {
+                task = destruction.apply(graph.getBeanDefinition(node));
+            } catch (Throwable e) {
+                failures.add(e);
+            }
+            if (task == null) {
+                complete(node, ready);
+            } else {
+                submit(node, task);
+            }
+        }
+    }
+
+    private void submit(int node, Runnable task) {
+        try {
+            executor.execute(() -> destroy(node, task));
+        } catch (RejectedExecutionException e) {
+            destroy(node, task);
+        }
+    }
+
+    private void destroy(int node, Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable e) {
+            failures.add(e);
+        }
+        var ready = new ArrayDeque<Integer>();
+        complete(node, ready);
+        drain(ready);
+    }
+
+    private void complete(int node, Deque<Integer> ready) {
+        for (int dependency : graph.getDependencies(node)) {
+            if (remainingDependents.decrementAndGet(dependency) == 0) {
+                ready.add(dependency);
+            }
+        }
+        if (notDestroyed.decrementAndGet() == 0) {
+            completion.complete(null);
+        }
+    }
+}
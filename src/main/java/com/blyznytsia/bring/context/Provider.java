@@ -0,0 +1,18 @@
+package com.blyznytsia.bring.context;
+
+/**
+ * {@link Provider} is injected into an {@code Autowired} field or constructor parameter of type
+ * {@code Provider<T>} instead of an object of {@code T}: the object is looked up, and created if it is lazy,
+ * on the first {@link #get()} call rather than before the object it is injected into
+ *
+ * @param <T>   type of the provided object
+ */
+@FunctionalInterface
+public interface Provider<T> {
+
+    /**
+     * @return  the object, a new one on every call for a prototype
+     *          and the object of the calling thread for a thread-scoped object
+     */
+    T get();
+}
@@ -0,0 +1,369 @@
+package com.blyznytsia.bring.context;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.net.URISyntaxException;
+import java.net.URLClassLoader;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.constants.BeanScope;
+import com.blyznytsia.bring.context.services.BeanConfigurator;
+import com.blyznytsia.bring.context.services.impl.AutowiredConstructorBeanCreator;
+import com.blyznytsia.bring.context.services.impl.AutowiredFieldBeanConfigurator;
+import com.blyznytsia.bring.context.services.impl.AutowiredSetterBeanConfigurator;
+import com.blyznytsia.bring.context.services.impl.EmptyConstructorBeanCreator;
+import com.blyznytsia.bring.context.util.LifecycleMethods;
+
+/**
+ * {@link RegistrySnapshot} writes the contents of {@link BeanDefinitionRegistry} to a compact binary file
+ * and reads them back, so that a start with an unchanged classpath needs neither a classpath scan
+ * nor {@link BeanDefinition} generation.
+ * <p>
+ * The file holds a table of all the names (classes and fields) followed by one record per {@link BeanDefinition}:
+ * class name, creator kind, configurators, lazy flag, scope, dependency edges and {@code Autowired} field types,
+ * names being indexes in the table. The file starts with a fingerprint of the classpath it has been written for
+ * ({@link #fingerprint(ClassLoader)}) and is read through a memory mapping.
+ * <p>
+ * A snapshot that is missing, unreadable, corrupted, written for another classpath or naming a class or a field
+ * that can not be found is rejected as a whole, so the caller falls back to a scan.
+ */
+public class RegistrySnapshot {
+
+    private static final int MAGIC = 0x42524e47;
+    private static final int FORMAT_VERSION = 1;
+    private static final int FINGERPRINT_LENGTH = 32;
+
+    private static final byte EMPTY_CONSTRUCTOR_CREATOR = 0;
+    private static final byte AUTOWIRED_CONSTRUCTOR_CREATOR = 1;
+
+    private static final int LAZY = 1;
+    private static final int FIELD_CONFIGURATOR = 1 << 1;
+    private static final int SETTER_CONFIGURATOR = 1 << 2;
+
+    private RegistrySnapshot() {
+    }
+
+    /**
+     * Method writes all the {@link BeanDefinition} of the registry. The file is replaced atomically,
+     * so concurrent readers see either the previous snapshot or the new one
+     *
+     * @param registry      {@link BeanDefinition} storage
+     * @param snapshotPath  file to be written
+     * @param fingerprint   fingerprint of the classpath the registry has been filled from
+     * @throws IllegalArgumentException if a creator or a configurator is not one of the bundled ones
+     * @throws UncheckedIOException if the file can not be written
+     */
+    public static void write(BeanDefinitionRegistry registry, Path snapshotPath, byte[] fingerprint) {
+        var beanDefinitions = new ArrayList<>(registry.getBeanDefinitionMap().values());
+        var names = new LinkedHashMap<String, Integer>();
+        beanDefinitions.forEach(beanDefinition -> {
+            nameIndex(names, beanDefinition.getClassName());
+            beanDefinition.getDependsOnFields().forEach(dependency -> nameIndex(names, dependency));
+            beanDefinition.getAutowiredFieldTypes().forEach((field, type) -> {
+                nameIndex(names, field.getName());
+                nameIndex(names, type.getName());
+            });
+        });
+
+        try {
+            var directory = snapshotPath.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            var temporaryFile = Files.createTempFile(directory, snapshotPath.getFileName().toString(), ".tmp");
+            try {
+                try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(FORMAT_VERSION);
+                    out.write(fingerprint);
+                    out.writeInt(names.size());
+                    for (String name : names.keySet()) {
+                        var bytes = name.getBytes(StandardCharsets.UTF_8);
+                        out.writeInt(bytes.length);
+                        out.write(bytes);
+                    }
+                    out.writeInt(beanDefinitions.size());
+                    for (BeanDefinition beanDefinition : beanDefinitions) {
+                        writeBeanDefinition(out, beanDefinition, names);
+                    }
+                }
+                Files.move(temporaryFile, snapshotPath,
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write registry snapshot " + snapshotPath, e);
+        }
+    }
+
+    /**
+     * Method reads {@link BeanDefinition} from the snapshot if it has been written for the same classpath
+     *
+     * @param snapshotPath  file to be read
+     * @param fingerprint   fingerprint of the current classpath
+     * @param classLoader   class loader to load classes of {@link BeanDefinition} with
+     * @return              {@link BeanDefinition} in the order they have been written,
+     *                      empty {@link Optional} if the snapshot is not valid
+     */
+    public static Optional<List<BeanDefinition>> read(Path snapshotPath, byte[] fingerprint, ClassLoader classLoader) {
+        ByteBuffer buffer;
+        try (var channel = FileChannel.open(snapshotPath)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            // missing or unreadable, either way the caller has to scan
+            return Optional.empty();
+        }
+
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                return Optional.empty();
+            }
+            var snapshotFingerprint = new byte[FINGERPRINT_LENGTH];
+            buffer.get(snapshotFingerprint);
+            if (!Arrays.equals(snapshotFingerprint, fingerprint)) {
+                return Optional.empty();
+            }
+            var names = new String[readCount(buffer)];
+            for (int i = 0; i < names.length; i++) {
+                var bytes = new byte[readCount(buffer)];
+                buffer.get(bytes);
+                names[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            int count = readCount(buffer);
+            var beanDefinitions = new ArrayList<BeanDefinition>(count);
+            var classes = new HashMap<String, Class<?>>();
+            for (int i = 0; i < count; i++) {
+                beanDefinitions.add(readBeanDefinition(buffer, names, classes, classLoader));
+            }
+            return Optional.of(beanDefinitions);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException
+                | ClassNotFoundException | NoSuchFieldException | NoSuchMethodException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Method computes a fingerprint of the classpath: paths of its entries together with sizes
+     * and modification times of the jars and of the files in the directories. Any added, removed,
+     * recompiled or replaced class changes the fingerprint
+     *
+     * @param classLoader   class loader whose URLs are part of the classpath, together with {@code java.class.path}
+     * @return              SHA-256 of the classpath
+     */
+    public static byte[] fingerprint(ClassLoader classLoader) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        update(digest, "bring-registry-snapshot-" + FORMAT_VERSION);
+        for (Path entry : classPathEntries(classLoader)) {
+            update(digest, entry.toString());
+            try {
+                if (Files.isDirectory(entry)) {
+                    try (Stream<Path> files = Files.walk(entry)) {
+                        var regularFiles = files.filter(Files::isRegularFile).sorted().toArray(Path[]::new);
+                        for (Path file : regularFiles) {
+                            update(digest, entry.relativize(file).toString());
+                            updateWithAttributes(digest, file);
+                        }
+                    }
+                } else if (Files.isRegularFile(entry)) {
+                    updateWithAttributes(digest, entry);
+                } else {
+                    update(digest, "missing");
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to fingerprint classpath entry " + entry, e);
+            }
+        }
+        return digest.digest();
+    }
+
+    private static void writeBeanDefinition(DataOutputStream out,
+                                            BeanDefinition beanDefinition,
+                                            Map<String, Integer> names) throws IOException {
+        out.writeInt(names.get(beanDefinition.getClassName()));
+        out.writeByte(creatorKind(beanDefinition));
+
+        int flags = beanDefinition.isLazy() ? LAZY : 0;
+        for (BeanConfigurator configurator : beanDefinition.getBeanConfigurators()) {
+            if (configurator.getClass() == AutowiredFieldBeanConfigurator.class) {
+                flags |= FIELD_CONFIGURATOR;
+            } else if (configurator.getClass() == AutowiredSetterBeanConfigurator.class) {
+                flags |= SETTER_CONFIGURATOR;
+            } else {
+                throw new IllegalArgumentException(String.format("Configurator %s of %s can not be written",
+                        configurator.getClass().getName(), beanDefinition.getClassName()));
+            }
+        }
+        out.writeByte(flags);
+        out.writeByte(beanDefinition.getScope().ordinal());
+
+        out.writeInt(beanDefinition.getDependsOnFields().size());
+        for (String dependency : beanDefinition.getDependsOnFields()) {
+            out.writeInt(names.get(dependency));
+        }
+        out.writeInt(beanDefinition.getAutowiredFieldTypes().size());
+        for (var autowiredField : beanDefinition.getAutowiredFieldTypes().entrySet()) {
+            out.writeInt(names.get(autowiredField.getKey().getName()));
+            out.writeInt(names.get(autowiredField.getValue().getName()));
+        }
+    }
+
+    private static byte creatorKind(BeanDefinition beanDefinition) {
+        var creatorClass = beanDefinition.getBeanCreator().getClass();
+        if (creatorClass == EmptyConstructorBeanCreator.class) {
+            return EMPTY_CONSTRUCTOR_CREATOR;
+        }
+        if (creatorClass == AutowiredConstructorBeanCreator.class) {
+            return AUTOWIRED_CONSTRUCTOR_CREATOR;
+        }
+        throw new IllegalArgumentException(String.format("Creator %s of %s can not be written",
+                creatorClass.getName(), beanDefinition.getClassName()));
+    }
+
+    private static BeanDefinition readBeanDefinition(ByteBuffer buffer,
+                                                     String[] names,
+                                                     Map<String, Class<?>> classes,
+                                                     ClassLoader classLoader)
+            throws ClassNotFoundException, NoSuchFieldException, NoSuchMethodException {
+        var className = names[buffer.getInt()];
+        var beanClass = loadClass(className, classes, classLoader);
+        byte creatorKind = buffer.get();
+        int flags = buffer.get();
+        var scope = BeanScope.values()[buffer.get()];
+
+        int dependsOnFieldsCount = readCount(buffer);
+        var dependsOnFields = new ArrayList<String>(dependsOnFieldsCount);
+        for (int i = 0; i < dependsOnFieldsCount; i++) {
+            dependsOnFields.add(names[buffer.getInt()]);
+        }
+        int autowiredFieldsCount = readCount(buffer);
+        var autowiredFieldTypes = new LinkedHashMap<Field, Class<?>>();
+        for (int i = 0; i < autowiredFieldsCount; i++) {
+            var field = beanClass.getDeclaredField(names[buffer.getInt()]);
+            autowiredFieldTypes.put(field, loadClass(names[buffer.getInt()], classes, classLoader));
+        }
+
+        var beanConfigurators = new ArrayList<BeanConfigurator>();
+        if ((flags & FIELD_CONFIGURATOR) != 0) {
+            beanConfigurators.add(new AutowiredFieldBeanConfigurator());
+        }
+        if ((flags & SETTER_CONFIGURATOR) != 0) {
+            beanConfigurators.add(new AutowiredSetterBeanConfigurator());
+        }
+
+        var beanDefinition = new BeanDefinition();
+        beanDefinition.setClassName(className);
+        beanDefinition.setBeanClass(beanClass);
+        beanDefinition.setAutowiredFieldTypes(autowiredFieldTypes);
+        beanDefinition.setDependsOnFields(dependsOnFields);
+        beanDefinition.setBeanConfigurators(beanConfigurators);
+        beanDefinition.setLazy((flags & LAZY) != 0);
+        beanDefinition.setScope(scope);
+        beanDefinition.setLifecycleMethods(LifecycleMethods.of(beanClass));
+        switch (creatorKind) {
+            case EMPTY_CONSTRUCTOR_CREATOR:
+                beanDefinition.setConstructor(beanClass.getConstructor());
+                beanDefinition.setBeanCreator(new EmptyConstructorBeanCreator());
+                break;
+            case AUTOWIRED_CONSTRUCTOR_CREATOR:
+                beanDefinition.setConstructor(findAutowiredConstructor(beanClass));
+                beanDefinition.setBeanCreator(new AutowiredConstructorBeanCreator());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown creator kind " + creatorKind);
+        }
+        return beanDefinition;
+    }
+
+    /**
+     * @return  number of the following entries, each of them taking at least a byte
+     * @throws IllegalArgumentException if the number is not possible in the rest of the file
+     */
+    private static int readCount(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining()) {
+            throw new IllegalArgumentException("Corrupted registry snapshot");
+        }
+        return count;
+    }
+
+    private static Constructor<?> findAutowiredConstructor(Class<?> beanClass) throws NoSuchMethodException {
+        return Arrays.stream(beanClass.getConstructors())
+                .filter(constructor -> constructor.isAnnotationPresent(Autowired.class))
+                .findFirst()
+                .orElseThrow(() -> new NoSuchMethodException("No Autowired constructor in " + beanClass.getName()));
+    }
+
+    private static Class<?> loadClass(String className, Map<String, Class<?>> classes, ClassLoader classLoader)
+            throws ClassNotFoundException {
+        var loadedClass = classes.get(className);
+        if (loadedClass == null) {
+            loadedClass = Class.forName(className, false, classLoader);
+            classes.put(className, loadedClass);
+        }
+        return loadedClass;
+    }
+
+    private static int nameIndex(Map<String, Integer> names, String name) {
+        return names.computeIfAbsent(name, key -> names.size());
+    }
+
+    private static Set<Path> classPathEntries(ClassLoader classLoader) {
+        var entries = new LinkedHashSet<Path>();
+        for (var loader = classLoader; loader != null; loader = loader.getParent()) {
+            if (loader instanceof URLClassLoader) {
+                for (var url : ((URLClassLoader) loader).getURLs()) {
+                    if ("file".equals(url.getProtocol())) {
+                        try {
+                            entries.add(Path.of(url.toURI()).toAbsolutePath().normalize());
+                        } catch (URISyntaxException e) {
+                            entries.add(Path.of(url.getPath()).toAbsolutePath().normalize());
+                        }
+                    }
+                }
+            }
+        }
+        for (String entry : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+            if (!entry.isEmpty()) {
+                entries.add(Path.of(entry).toAbsolutePath().normalize());
+            }
+        }
+        return entries;
+    }
+
+    private static void updateWithAttributes(MessageDigest digest, Path file) throws IOException {
+        update(digest, Files.size(file) + ":" + Files.getLastModifiedTime(file).toMillis());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+}
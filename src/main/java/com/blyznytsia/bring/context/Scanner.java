@@ -3,53 +3,244 @@ package com.blyznytsia.bring.context;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 
+import java.io.UncheckedIOException;
 import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
-import org.reflections.Reflections;
-
 import com.blyznytsia.bring.context.annotation.Bean;
 import com.blyznytsia.bring.context.annotation.Component;
 import com.blyznytsia.bring.context.annotation.ComponentScan;
 import com.blyznytsia.bring.context.annotation.Configuration;
+import com.blyznytsia.bring.context.annotation.Lazy;
+import com.blyznytsia.bring.context.constants.BeanScope;
+import com.blyznytsia.bring.context.constants.StartupPhase;
+import com.blyznytsia.bring.context.exceptions.BeanCreationException;
 import com.blyznytsia.bring.context.exceptions.ConfigurationInsufficientException;
 import com.blyznytsia.bring.context.exceptions.ConfigurationNotFoundException;
 import com.blyznytsia.bring.context.exceptions.InterfaceAnnotationException;
+import com.blyznytsia.bring.context.metrics.StartupMetrics;
 import com.blyznytsia.bring.context.util.BeanDefinitionGenerator;
+import com.blyznytsia.bring.context.util.InterfaceResolutionIndex;
 
 /**
  * {@link Scanner} class purpose is to populate {@link BeanDefinitionRegistry} with {@link BeanDefinition}
+ * <p>
+ * In parallel mode (see {@link #PARALLEL_PROPERTY}) classpath locations are scanned concurrently
+ * and {@link BeanDefinition} are generated on the common fork-join pool; they are still registered
+ * one by one in class name order, so the registry contents do not depend on the mode.
+ * <p>
+ * With a snapshot file set (see {@link #SNAPSHOT_PROPERTY}) the registry is filled from {@link RegistrySnapshot}
+ * when the snapshot has been written for the same classpath, skipping discovery entirely;
+ * otherwise the classpath is scanned and the snapshot is written for the next start.
+ * <p>
+ * The compile time {@link ComponentIndex} replaces the classpath scan only when it covers every classpath location
+ * of the packages declared in {@code ComponentScan} (see {@link ComponentIndex#covers(ClassLoader)});
+ * an index brought by a dependency jar alone does not switch off the scan of the application classes.
+ * The index can be ignored altogether with {@link #INDEX_PROPERTY} set to false.
+ * <p>
+ * Snapshot loading, config discovery, package scanning and definition generation are measured
+ * by {@link StartupMetrics}.
  */
 public class Scanner {
 
+    /**
+     * System property that switches on parallel mode for scanners created with the default constructor
+     */
+    public static final String PARALLEL_PROPERTY = "bring.scanner.parallel";
+
+    /**
+     * System property with the path of the registry snapshot file for scanners created with the default constructor
+     */
+    public static final String SNAPSHOT_PROPERTY = "bring.scanner.snapshot";
+
+    /**
+     * System property that switches off reading the compile time index for scanners created with
+     * the default constructor when set to false
+     */
+    public static final String INDEX_PROPERTY = "bring.scanner.index";
+
+    private final boolean parallel;
+    private ComponentScanPlan configScanPlan;
+    private ComponentScanPlan componentScanPlan;
+    private StartupMetrics startupMetrics = StartupMetrics.disabled();
+    private Path snapshotPath;
+    private boolean indexEnabled = true;
+
+    public Scanner() {
+        this(Boolean.getBoolean(PARALLEL_PROPERTY));
+        this.indexEnabled = Boolean.parseBoolean(System.getProperty(INDEX_PROPERTY, "true"));
+        var snapshotProperty = System.getProperty(SNAPSHOT_PROPERTY);
+        if (snapshotProperty != null && !snapshotProperty.isBlank()) {
+            this.snapshotPath = Path.of(snapshotProperty);
+        }
+    }
+
+    public Scanner(boolean parallel) {
+        this.parallel = parallel;
+    }
+
     /**
      * Method populates {@link BeanDefinitionRegistry} with {@link BeanDefinition}
      *
      * @param registry      storage of {@link BeanDefinition}
      */
     public void scanAndFillBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+        if (snapshotPath == null) {
+            scan(registry);
+            return;
+        }
+        var snapshotLoading = startupMetrics.start(StartupPhase.SNAPSHOT_LOADING);
+        var fingerprint = RegistrySnapshot.fingerprint(getClassLoader());
+        var snapshotUsed = fillBeanDefinitionRegistryFromSnapshot(registry, fingerprint);
+        snapshotLoading.stop();
+        if (snapshotUsed) {
+            return;
+        }
+        scan(registry);
+        try {
+            RegistrySnapshot.write(registry, snapshotPath, fingerprint);
+        } catch (UncheckedIOException e) {
+            // the snapshot only speeds up the next start, which scans the classpath again without it
+        }
+    }
+
+    /**
+     * @param startupMetrics    metrics the scan phases are recorded to
+     */
+    public void setStartupMetrics(StartupMetrics startupMetrics) {
+        this.startupMetrics = startupMetrics;
+    }
+
+    /**
+     * @param snapshotPath  registry snapshot file to be read instead of scanning and written after a scan,
+     *                      null for scanning every time
+     */
+    public void setSnapshotPath(Path snapshotPath) {
+        this.snapshotPath = snapshotPath;
+    }
+
+    /**
+     * @param indexEnabled  true for reading the compile time index when it covers the scanned packages,
+     *                      false for always scanning the classpath
+     */
+    public void setIndexEnabled(boolean indexEnabled) {
+        this.indexEnabled = indexEnabled;
+    }
+
+    /**
+     * Method registers {@link BeanDefinition} of the snapshot unless they are already registered
+     *
+     * @param registry      storage of {@link BeanDefinition}
+     * @param fingerprint   fingerprint of the current classpath
+     * @return              true if the snapshot is valid and has been used
+     */
+    private boolean fillBeanDefinitionRegistryFromSnapshot(BeanDefinitionRegistry registry, byte[] fingerprint) {
+        var beanDefinitions = RegistrySnapshot.read(snapshotPath, fingerprint, getClassLoader());
+        beanDefinitions.ifPresent(snapshot -> snapshot.stream()
+                .filter(beanDefinition -> !registry.containsBeanDefinition(beanDefinition.getClassName()))
+                .forEach(beanDefinition ->
+                        registry.registerBeanDefinition(beanDefinition.getClassName(), beanDefinition)));
+        return beanDefinitions.isPresent();
+    }
+
+    /**
+     * Method populates {@link BeanDefinitionRegistry} from the compile time {@link ComponentIndex} if it is enabled,
+     * present and covers the scanned packages, and from the classpath scan otherwise
+     *
+     * @param registry      storage of {@link BeanDefinition}
+     */
+    private void scan(BeanDefinitionRegistry registry) {
+        var configDiscovery = startupMetrics.start(StartupPhase.CONFIG_DISCOVERY);
+        var classLoader = getClassLoader();
+        var componentIndex = indexEnabled ? ComponentIndex.load(classLoader) : Optional.<ComponentIndex>empty();
+        if (componentIndex.isPresent() && componentIndex.get().covers(classLoader)) {
+            fillBeanDefinitionRegistryFromIndex(componentIndex.get(), registry, configDiscovery);
+            return;
+        }
         var configs = getConfigs();
         validateConfigs(configs);
+        configDiscovery.stop();
+
+        var packageScanning = startupMetrics.start(StartupPhase.PACKAGE_SCANNING);
         var allComponentsClasses = getAllClassesAnnotatedWithComponent(configs);
         var allClasses = collectAllClassesForBeanDefinitionCreation(configs, allComponentsClasses);
+        packageScanning.stop();
 
-        allClasses.forEach(targetClass -> registerBeanDefinition(targetClass, registry, allComponentsClasses));
+        var definitionGeneration = startupMetrics.start(StartupPhase.DEFINITION_GENERATION);
+        registerBeanDefinitions(allClasses, registry, allComponentsClasses);
+        applyBeanMethodAnnotations(configs, registry);
+        definitionGeneration.stop();
+    }
+
+    /**
+     * @return plan of the last {@link Configuration} classes scan, null if the scan has not been run
+     */
+    public ComponentScanPlan getConfigScanPlan() {
+        return configScanPlan;
+    }
+
+    /**
+     * @return plan of the last {@link Component} classes scan, null if the scan has not been run
+     */
+    public ComponentScanPlan getComponentScanPlan() {
+        return componentScanPlan;
     }
 
     /**
-     * Method scans all the packages
+     * Method populates {@link BeanDefinitionRegistry} using the compile time {@link ComponentIndex}
+     * instead of scanning the classpath
+     *
+     * @param componentIndex    index of configurations, components and beans
+     * @param registry          storage of {@link BeanDefinition}
+     * @param configDiscovery   measurement of the config discovery started before loading the index
+     */
+    private void fillBeanDefinitionRegistryFromIndex(ComponentIndex componentIndex,
+                                                     BeanDefinitionRegistry registry,
+                                                     StartupMetrics.Measurement configDiscovery) {
+        var configs = componentIndex.getConfigurations().stream()
+                .map(this::loadClass)
+                .collect(toList());
+        validateConfigs(configs);
+        configDiscovery.stop();
+
+        var packageScanning = startupMetrics.start(StartupPhase.PACKAGE_SCANNING);
+
+        var allComponentsClasses = componentIndex.getComponents().stream()
+                .filter(className -> isInAnyPackage(className, componentIndex.getComponentScanPackages()))
+                .map(this::loadClass)
+                .peek(this::rejectInterfaceAnnotatedWithComponent)
+                .collect(toSet());
+        var allClasses = new HashSet<>(allComponentsClasses);
+        componentIndex.getBeans().stream()
+                .map(this::loadClass)
+                .peek(this::rejectIfBeanClassIsInterface)
+                .forEach(allClasses::add);
+        packageScanning.stop();
+
+        var definitionGeneration = startupMetrics.start(StartupPhase.DEFINITION_GENERATION);
+        registerBeanDefinitions(allClasses, registry, allComponentsClasses);
+        applyBeanMethodAnnotations(configs, registry);
+        definitionGeneration.stop();
+    }
+
+    /**
+     * Method scans all the packages in a single pass
      *
      * @return a list of all {@link Configuration} annotated classes of the packages
      */
     private List<Class<?>> getConfigs() {
-        return Arrays.stream(Package.getPackages())
-                .flatMap(p -> {
-                    var reflections = new Reflections(p.getName());
-                    return reflections.getTypesAnnotatedWith(Configuration.class).stream();
-                }).collect(toList());
+        var packages = Arrays.stream(Package.getPackages())
+                .map(Package::getName)
+                .collect(toList());
+        configScanPlan = ComponentScanPlan.of(packages, parallel);
+        return new ArrayList<>(configScanPlan.getTypesAnnotatedWith(Configuration.class));
     }
 
     /**
@@ -81,18 +272,14 @@ public class Scanner {
      * @return          set of all {@link Component} annotated classes eligible for {@link BeanDefinition} creation
      */
     private HashSet<Class<?>> getAllClassesAnnotatedWithComponent(List<Class<?>> configs) {
-        var componentsFromAllConfigs = new HashSet<Class<?>>();
-        configs.forEach(config -> {
-            var packagesFromComponentScan = config.getAnnotation(ComponentScan.class).value();
-
-            Arrays.stream(packagesFromComponentScan)
-                    .forEach(pckg -> {
-                        var reflection = new Reflections(pckg);
-                        var packageComponents = reflection.getTypesAnnotatedWith(Component.class);
-                        packageComponents.forEach(this::rejectInterfaceAnnotatedWithComponent);
-                        componentsFromAllConfigs.addAll(packageComponents);
-                    });
-        });
+        var packagesFromAllConfigs = configs.stream()
+                .filter(config -> config.isAnnotationPresent(ComponentScan.class))
+                .flatMap(config -> Arrays.stream(config.getAnnotation(ComponentScan.class).value()))
+                .collect(toList());
+        componentScanPlan = ComponentScanPlan.of(packagesFromAllConfigs, parallel);
+
+        var componentsFromAllConfigs = new HashSet<>(componentScanPlan.getTypesAnnotatedWith(Component.class));
+        componentsFromAllConfigs.forEach(this::rejectInterfaceAnnotatedWithComponent);
         return componentsFromAllConfigs;
     }
 
@@ -136,18 +323,75 @@ public class Scanner {
 
     /**
      * Method populates the provided {@link BeanDefinitionRegistry} with {@link BeanDefinition}
-     * received from call to {@link BeanDefinitionGenerator}
+     * received from calls to {@link BeanDefinitionGenerator}; interfaces of the components are indexed once
+     * for all the calls
      *
-     * @param targetClass         a class that is source for {@link BeanDefinition}
+     * @param targetClasses       classes that are source for {@link BeanDefinition}
      * @param registry            {@link BeanDefinition} container
      * @param componentsClasses   all {@link Component} annotated classes eligible for {@link BeanDefinition} creation
      */
-    private void registerBeanDefinition(Class<?> targetClass,
-                                        BeanDefinitionRegistry registry,
-                                        Set<Class<?>> componentsClasses) {
-        if (!registry.containsBeanDefinition(targetClass.getName())) {
-            var beanDefinition = BeanDefinitionGenerator.generate(targetClass, componentsClasses);
-            registry.registerBeanDefinition(targetClass.getName(), beanDefinition);
+    private void registerBeanDefinitions(Set<Class<?>> targetClasses,
+                                         BeanDefinitionRegistry registry,
+                                         Set<Class<?>> componentsClasses) {
+        var classesToRegister = targetClasses.stream()
+                .filter(targetClass -> !registry.containsBeanDefinition(targetClass.getName()))
+                .sorted(Comparator.comparing(Class::getName))
+                .collect(toList());
+
+        var resolutionIndex = InterfaceResolutionIndex.of(componentsClasses);
+        var classesStream = parallel ? classesToRegister.parallelStream() : classesToRegister.stream();
+        var beanDefinitions = classesStream
+                .map(targetClass -> BeanDefinitionGenerator.generate(targetClass, resolutionIndex))
+                .collect(toList());
+
+        beanDefinitions.forEach(beanDefinition ->
+                registry.registerBeanDefinition(beanDefinition.getClassName(), beanDefinition));
+    }
+
+    /**
+     * Method sets {@link Lazy} and {@link Bean#scope()} of {@link Bean} methods to {@link BeanDefinition}
+     * of the classes they return, {@link Component} classes are handled by {@link BeanDefinitionGenerator}
+     *
+     * @param configs   config classes
+     * @param registry  {@link BeanDefinition} container
+     */
+    private void applyBeanMethodAnnotations(List<Class<?>> configs, BeanDefinitionRegistry registry) {
+        configs.stream()
+                .flatMap(config -> Arrays.stream(config.getMethods()))
+                .filter(method -> method.isAnnotationPresent(Bean.class))
+                .forEach(method -> {
+                    var beanDefinition = registry.getBeanDefinition(method.getReturnType().getName());
+                    if (method.isAnnotationPresent(Lazy.class)) {
+                        beanDefinition.setLazy(true);
+                    }
+                    if (method.getAnnotation(Bean.class).scope() != BeanScope.SINGLETON) {
+                        beanDefinition.setScope(method.getAnnotation(Bean.class).scope());
+                    }
+                });
+    }
+
+    private boolean isInAnyPackage(String className, Set<String> packages) {
+        return packages.stream().anyMatch(aPackage -> ComponentScanPlan.isInPackage(className, aPackage));
+    }
+
+    private Class<?> loadClass(String className) {
+        try {
+            return Class.forName(className, false, getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new BeanCreationException(String.format(
+                    "Class %s listed in %s not found", className, ComponentIndex.INDEX_LOCATION));
+        }
+    }
+
+    private ClassLoader getClassLoader() {
+        var contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return contextClassLoader != null ? contextClassLoader : Scanner.class.getClassLoader();
+    }
+
+    private void rejectIfBeanClassIsInterface(Class<?> beanClass) {
+        if (beanClass.isInterface()) {
+            throw new InterfaceAnnotationException(String.format(
+                    "@Bean method return type %s is an interface", beanClass.getName()));
         }
     }
 
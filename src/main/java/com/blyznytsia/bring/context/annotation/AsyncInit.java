@@ -0,0 +1,19 @@
+package com.blyznytsia.bring.context.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method without parameters of a {@link Component} class that initializes the object asynchronously,
+ * e.g. loads reference data. The method is called on the initialization executor once the object is created
+ * and the asynchronous initialization of all the objects it depends on is over; it returns {@code void}
+ * or a {@link java.util.concurrent.CompletionStage} completed when the initialization is over.
+ * <p>
+ * Only singletons are initialized, a class has at most one such method.
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AsyncInit {
+}
@@ -4,6 +4,8 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+import com.blyznytsia.bring.context.constants.BeanScope;
+
 /**
  * Marks a method indicating that an object of this method's return type to be created by Bring
  */
@@ -11,4 +13,12 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Bean {
     String value() default "";
+
+    /**
+     * @return  {@link BeanScope#SINGLETON} for a single shared object,
+     *          {@link BeanScope#PROTOTYPE} for a new object on every request,
+     *          {@link BeanScope#POOLED} for objects borrowed from and returned to a pool,
+     *          {@link BeanScope#THREAD} for an object per thread
+     */
+    BeanScope scope() default BeanScope.SINGLETON;
 }
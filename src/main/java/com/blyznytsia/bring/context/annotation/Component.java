@@ -3,10 +3,20 @@ package com.blyznytsia.bring.context.annotation;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 
+import com.blyznytsia.bring.context.constants.BeanScope;
+
 /**
  * Marks a class indicating that an object of its type to be created by Bring
  */
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Component {
     String value() default "";
+
+    /**
+     * @return  {@link BeanScope#SINGLETON} for a single shared object,
+     *          {@link BeanScope#PROTOTYPE} for a new object on every request,
+     *          {@link BeanScope#POOLED} for objects borrowed from and returned to a pool,
+     *          {@link BeanScope#THREAD} for an object per thread
+     */
+    BeanScope scope() default BeanScope.SINGLETON;
 }
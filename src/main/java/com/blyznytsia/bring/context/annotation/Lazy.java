@@ -0,0 +1,15 @@
+package com.blyznytsia.bring.context.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@link Component} class or a {@link Bean} method indicating that the object is to be created
+ * on the first request instead of at context creation
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Lazy {
+}
@@ -0,0 +1,29 @@
+package com.blyznytsia.bring.context.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.blyznytsia.bring.context.constants.BeanScope;
+
+/**
+ * Sets the pool of a class of {@link BeanScope#POOLED} scope; a pooled class without it
+ * gets a pool of {@link #DEFAULT_MAX_SIZE} objects filled on demand
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Pooled {
+
+    int DEFAULT_MAX_SIZE = 16;
+
+    /**
+     * @return  maximum number of idle objects kept in the pool, objects returned to a full pool are dropped
+     */
+    int maxSize() default DEFAULT_MAX_SIZE;
+
+    /**
+     * @return  number of objects created in the background as soon as the pool is created, 0 for none
+     */
+    int prefill() default 0;
+}
@@ -0,0 +1,17 @@
+package com.blyznytsia.bring.context.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method without parameters of a {@link Component} class called once the object is created and configured,
+ * before it is handed out. Objects it depends on have been through theirs already.
+ * <p>
+ * Every object gets the call, prototypes included; a class has at most one such method.
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PostConstruct {
+}
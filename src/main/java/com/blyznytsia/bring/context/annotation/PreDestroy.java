@@ -0,0 +1,19 @@
+package com.blyznytsia.bring.context.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method without parameters of a {@link Component} class that releases the resources of the object,
+ * called by {@link com.blyznytsia.bring.context.ApplicationContext#close()} before the objects it depends on
+ * are destroyed.
+ * <p>
+ * Singletons and idle pooled objects are destroyed, other prototypes and thread-scoped objects are not tracked
+ * by the context; a class has at most one such method.
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PreDestroy {
+}
@@ -0,0 +1,42 @@
+package com.blyznytsia.bring.context.aot;
+
+import java.util.Optional;
+
+import com.blyznytsia.bring.context.BeanDefinitionRegistry;
+import com.blyznytsia.bring.context.exceptions.BeanCreationException;
+
+/**
+ * {@link AotContextFactory} is implemented by the class generated at build time by {@link ContextFactoryGenerator}.
+ * It fills {@link BeanDefinitionRegistry} with {@link com.blyznytsia.bring.context.BeanDefinition} whose creators are plain Java code,
+ * so the context is created without a classpath scan and without reflective creation or injection.
+ */
+public interface AotContextFactory {
+
+    String GENERATED_CLASS_NAME = "com.blyznytsia.bring.generated.GeneratedContextFactory";
+
+    /**
+     * Method registers {@link com.blyznytsia.bring.context.BeanDefinition} of all the objects
+     * in topological order of their dependencies
+     *
+     * @param registry  storage of {@link com.blyznytsia.bring.context.BeanDefinition}
+     */
+    void fillBeanDefinitionRegistry(BeanDefinitionRegistry registry);
+
+    /**
+     * @param classLoader   class loader to look the generated class up with
+     * @return              generated factory or empty {@link Optional} if it has not been generated
+     */
+    static Optional<AotContextFactory> load(ClassLoader classLoader) {
+        Class<?> generatedClass;
+        try {
+            generatedClass = Class.forName(GENERATED_CLASS_NAME, true, classLoader);
+        } catch (ClassNotFoundException e) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of((AotContextFactory) generatedClass.getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new BeanCreationException(String.format("Unable to create %s", GENERATED_CLASS_NAME), e);
+        }
+    }
+}
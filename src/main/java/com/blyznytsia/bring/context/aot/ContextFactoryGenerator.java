@@ -0,0 +1,346 @@
+package com.blyznytsia.bring.context.aot;
+
+import static java.util.stream.Collectors.joining;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.blyznytsia.bring.context.BeanDefinition;
+import com.blyznytsia.bring.context.BeanDefinitionRegistry;
+import com.blyznytsia.bring.context.DependencyGraph;
+import com.blyznytsia.bring.context.Scanner;
+import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.constants.BeanScope;
+import com.blyznytsia.bring.context.exceptions.AotGenerationException;
+import com.blyznytsia.bring.context.services.BeanConfigurator;
+import com.blyznytsia.bring.context.services.impl.AutowiredConstructorBeanCreator;
+import com.blyznytsia.bring.context.services.impl.AutowiredFieldBeanConfigurator;
+import com.blyznytsia.bring.context.services.impl.AutowiredSetterBeanConfigurator;
+import com.blyznytsia.bring.context.services.impl.EmptyConstructorBeanCreator;
+import com.blyznytsia.bring.context.util.ProviderInjection;
+
+/**
+ * {@link ContextFactoryGenerator} is the build time step of ahead-of-time context creation. It fills
+ * {@link BeanDefinitionRegistry} with {@link Scanner}, orders it as {@code BeanFactory} would and writes
+ * Java sources creating every object with {@code new}, direct field assignments and setter calls.
+ * Generated sources refer to all the classes by fully qualified names, so they do not clash with application classes:
+ * <ul>
+ *     <li>a {@value #WIRING_CLASS_NAME} class in every package of the objects, with a method per object,
+ *     so that package-private constructors, fields and setters can be used;</li>
+ *     <li>{@link AotContextFactory#GENERATED_CLASS_NAME} registering the objects in topological order.</li>
+ * </ul>
+ * Private {@code Autowired} fields and setters are set through handles looked up once, when the wiring class
+ * is initialized, the way {@link com.blyznytsia.bring.context.util.InjectionPlan} does it.
+ * An object that can not be created by generated code (a private class, a provider injection point, a final field,
+ * a creator or a configurator other than the bundled ones) is left to the runtime creators:
+ * its {@link BeanDefinition} is generated from its class on startup, the other objects are not affected.
+ * <p>
+ * Run as {@code java ContextFactoryGenerator <output directory> <application class>...} with the compiled application
+ * on the classpath; application classes are loaded first so that {@link Scanner} finds the application packages
+ * the same way it does at runtime.
+ */
+public class ContextFactoryGenerator {
+
+    public static final String WIRING_CLASS_NAME = "BringGeneratedWiring";
+
+    private static final String INDENT = "    ";
+
+    private ContextFactoryGenerator() {
+    }
+
+    public static void main(String[] args) throws ClassNotFoundException {
+        if (args.length < 1) {
+            throw new IllegalArgumentException(
+                    "Usage: ContextFactoryGenerator <output directory> <application class>...");
+        }
+        for (String applicationClass : Arrays.copyOfRange(args, 1, args.length)) {
+            Class.forName(applicationClass);
+        }
+        var registry = new BeanDefinitionRegistry();
+        new Scanner(false).scanAndFillBeanDefinitionRegistry(registry);
+        write(generate(registry), Path.of(args[0]));
+    }
+
+    /**
+     * Method generates sources creating the objects of all the {@link BeanDefinition} of the registry
+     *
+     * @param registry  {@link BeanDefinition} storage filled by {@link Scanner}
+     * @return          sources by fully qualified class name
+     * @throws AotGenerationException if some of the objects can not be created without reflection
+     * @throws com.blyznytsia.bring.context.exceptions.CircularDependencyException if there are circular dependencies
+     */
+    public static Map<String, String> generate(BeanDefinitionRegistry registry) {
+        var creationOrder = DependencyGraph.of(registry, Map.of(), beanDefinition -> true).getCreationOrder();
+
+        var wiringClasses = new LinkedHashMap<String, WiringClass>();
+        var registrations = new ArrayList<String>();
+        for (BeanDefinition beanDefinition : creationOrder) {
+            var beanClass = beanDefinition.getBeanClass();
+            try {
+                checkAccessible(beanClass);
+                var packageName = beanClass.getPackageName();
+                var wiringClass = wiringClasses.getOrDefault(packageName, new WiringClass());
+                var methodName = "bean" + wiringClass.methods.size();
+                var handles = new ArrayList<String>();
+                wiringClass.methods.add(wiringMethod(methodName, beanDefinition, handles));
+                wiringClass.handles.addAll(handles);
+                wiringClasses.putIfAbsent(packageName, wiringClass);
+                registrations.add(String.format("registry.registerBeanDefinition(\"%s\", %s.%s.%s());",
+                        beanDefinition.getClassName(), packageName, WIRING_CLASS_NAME, methodName));
+            } catch (AotGenerationException e) {
+                registrations.add("// " + e.getMessage().replace('\n', ' ') + ", created by the runtime creators");
+                registrations.add(runtimeRegistration(beanDefinition));
+            }
+        }
+
+        var sources = new LinkedHashMap<String, String>();
+        wiringClasses.forEach((packageName, wiringClass) ->
+                sources.put(packageName + "." + WIRING_CLASS_NAME, wiringClass(packageName, wiringClass)));
+        sources.put(AotContextFactory.GENERATED_CLASS_NAME, contextFactoryClass(registrations));
+        return sources;
+    }
+
+    /**
+     * @param sources           sources by fully qualified class name
+     * @param outputDirectory   root directory of the sources
+     */
+    public static void write(Map<String, String> sources, Path outputDirectory) {
+        sources.forEach((className, source) -> {
+            var file = outputDirectory.resolve(className.replace('.', '/') + ".java");
+            try {
+                Files.createDirectories(file.getParent());
+                Files.writeString(file, source, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to write " + file, e);
+            }
+        });
+    }
+
+    /**
+     * @param methodName        name of the method to be generated
+     * @param beanDefinition    class' metadata
+     * @param handles           collects declarations of the handles of private fields and setters the method uses
+     * @return                  source of the method
+     * @throws AotGenerationException if the object can not be created by generated code
+     */
+    private static String wiringMethod(String methodName, BeanDefinition beanDefinition, List<String> handles) {
+        var beanClass = beanDefinition.getBeanClass();
+        var typeName = typeName(beanClass);
+        var body = new StringBuilder();
+        body.append(INDENT.repeat(5)).append("var bean = ").append(instantiation(beanDefinition)).append(";\n");
+        for (BeanConfigurator configurator : beanDefinition.getBeanConfigurators()) {
+            if (configurator.getClass() == AutowiredFieldBeanConfigurator.class) {
+                appendFieldAssignments(body, beanDefinition, methodName, handles);
+            } else if (configurator.getClass() == AutowiredSetterBeanConfigurator.class) {
+                appendSetterCalls(body, beanClass, methodName, handles);
+            } else {
+                throw new AotGenerationException(String.format("Configurator %s of %s can not be generated",
+                        configurator.getClass().getName(), beanDefinition.getClassName()));
+            }
+        }
+        body.append(INDENT.repeat(5)).append("return bean;\n");
+
+        var dependsOnFields = beanDefinition.getDependsOnFields().stream()
+                .map(dependency -> "\"" + dependency + "\"")
+                .collect(joining(", "));
+        return INDENT + "public static " + BeanDefinition.class.getName() + " " + methodName + "() {\n" +
+                INDENT.repeat(2) + "return " + GeneratedBeanCreator.class.getName() + ".beanDefinition(" +
+                typeName + ".class,\n" +
+                INDENT.repeat(4) + "java.util.List.of(" + dependsOnFields + "), " + beanDefinition.isLazy() + ", " +
+                BeanScope.class.getName() + "." + beanDefinition.getScope().name() + ",\n" +
+                INDENT.repeat(4) + "dependencies -> {\n" +
+                body +
+                INDENT.repeat(4) + "});\n" +
+                INDENT + "}\n";
+    }
+
+    private static String instantiation(BeanDefinition beanDefinition) {
+        var creatorClass = beanDefinition.getBeanCreator().getClass();
+        var typeName = typeName(beanDefinition.getBeanClass());
+        if (creatorClass == EmptyConstructorBeanCreator.class) {
+            return "new " + typeName + "()";
+        }
+        if (creatorClass == AutowiredConstructorBeanCreator.class) {
+            Constructor<?> constructor = beanDefinition.getConstructor();
+            checkNotPrivate(constructor, beanDefinition.getBeanClass());
+            for (Class<?> parameterType : constructor.getParameterTypes()) {
+                checkNotProvider(parameterType, "constructor parameter", beanDefinition.getBeanClass());
+            }
+            return "new " + typeName + "(" + arguments(constructor.getParameterTypes()) + ")";
+        }
+        throw new AotGenerationException(String.format("Creator %s of %s can not be generated",
+                creatorClass.getName(), beanDefinition.getClassName()));
+    }
+
+    private static String runtimeRegistration(BeanDefinition beanDefinition) {
+        var implementationNames = Stream.concat(beanDefinition.getDependsOnFields().stream(),
+                        beanDefinition.getProvidedBeanNames().stream())
+                .distinct()
+                .map(name -> "\"" + name + "\"")
+                .collect(joining(", "));
+        return String.format("registry.registerBeanDefinition(\"%1$s\", %2$s.runtimeBeanDefinition(\n"
+                        + INDENT.repeat(4) + "getClass().getClassLoader(), \"%1$s\", java.util.List.of(%3$s), "
+                        + "%4$s, %5$s.%6$s));",
+                beanDefinition.getClassName(), GeneratedBeanCreator.class.getName(), implementationNames,
+                beanDefinition.isLazy(), BeanScope.class.getName(), beanDefinition.getScope().name());
+    }
+
+    private static void appendFieldAssignments(StringBuilder body, BeanDefinition beanDefinition,
+                                               String methodName, List<String> handles) {
+        var beanClass = beanDefinition.getBeanClass();
+        for (Field field : beanClass.getDeclaredFields()) {
+            if (!field.isAnnotationPresent(Autowired.class)) {
+                continue;
+            }
+            checkNotProvider(field.getType(), field.getName(), beanClass);
+            if (Modifier.isFinal(field.getModifiers())) {
+                throw new AotGenerationException(String.format(
+                        "Autowired field %s of %s is final", field.getName(), beanClass.getName()));
+            }
+            var injectedType = beanDefinition.getAutowiredFieldTypes().get(field);
+            if (injectedType == null) {
+                throw new AotGenerationException(String.format(
+                        "Type of autowired field %s of %s is not resolved", field.getName(), beanClass.getName()));
+            }
+            if (Modifier.isPrivate(field.getModifiers())) {
+                var handle = methodName.toUpperCase() + "_FIELD_" + field.getName();
+                handles.add(String.format("private static final java.lang.invoke.VarHandle %s =\n"
+                                + INDENT.repeat(3) + "%s.privateField(LOOKUP, %s.class, \"%s\");",
+                        handle, GeneratedBeanCreator.class.getName(), typeName(beanClass), field.getName()));
+                body.append(INDENT.repeat(5)).append(handle).append(".set(bean, dependencies.apply(\"")
+                        .append(injectedType.getName()).append("\"));\n");
+            } else {
+                body.append(INDENT.repeat(5)).append("bean.").append(field.getName()).append(" = ")
+                        .append(dependency(field.getType(), injectedType.getName())).append(";\n");
+            }
+        }
+    }
+
+    private static void appendSetterCalls(StringBuilder body, Class<?> beanClass,
+                                          String methodName, List<String> handles) {
+        for (Method method : beanClass.getDeclaredMethods()) {
+            if (!method.isAnnotationPresent(Autowired.class)) {
+                continue;
+            }
+            if (Modifier.isPrivate(method.getModifiers())) {
+                var handle = methodName.toUpperCase() + "_SETTER" + handles.size() + "_" + method.getName();
+                var parameterTypes = Arrays.stream(method.getParameterTypes())
+                        .map(parameterType -> ", " + typeName(parameterType) + ".class")
+                        .collect(joining());
+                handles.add(String.format("private static final java.lang.invoke.MethodHandle %s =\n"
+                                + INDENT.repeat(3) + "%s.privateSetter(LOOKUP, %s.class, \"%s\"%s);",
+                        handle, GeneratedBeanCreator.class.getName(), typeName(beanClass), method.getName(),
+                        parameterTypes));
+                var arguments = Arrays.stream(method.getParameterTypes())
+                        .map(parameterType -> ", dependencies.apply(\"" + parameterType.getName() + "\")")
+                        .collect(joining());
+                body.append(INDENT.repeat(5)).append(GeneratedBeanCreator.class.getName()).append(".invokeSetter(")
+                        .append(handle).append(", bean").append(arguments).append(");\n");
+            } else {
+                body.append(INDENT.repeat(5)).append("bean.").append(method.getName()).append("(")
+                        .append(arguments(method.getParameterTypes())).append(");\n");
+            }
+        }
+    }
+
+    private static String arguments(Class<?>[] parameterTypes) {
+        return Arrays.stream(parameterTypes)
+                .map(parameterType -> dependency(parameterType, parameterType.getName()))
+                .collect(joining(", "));
+    }
+
+    private static String dependency(Class<?> declaredType, String dependencyName) {
+        return "(" + typeName(declaredType) + ") dependencies.apply(\"" + dependencyName + "\")";
+    }
+
+    private static void checkAccessible(Class<?> beanClass) {
+        if (beanClass.getPackageName().isEmpty()) {
+            throw new AotGenerationException(String.format("%s is in the default package", beanClass.getName()));
+        }
+        for (var enclosed = beanClass; enclosed != null; enclosed = enclosed.getEnclosingClass()) {
+            if (Modifier.isPrivate(enclosed.getModifiers()) || enclosed.getCanonicalName() == null ||
+                    enclosed.isMemberClass() && !Modifier.isStatic(enclosed.getModifiers())) {
+                throw new AotGenerationException(String.format(
+                        "%s is not accessible from its package", beanClass.getName()));
+            }
+        }
+    }
+
+    private static void checkNotPrivate(Member member, Class<?> beanClass) {
+        if (Modifier.isPrivate(member.getModifiers())) {
+            throw new AotGenerationException(String.format(
+                    "%s of %s is private, it can not be used without reflection", member.getName(), beanClass.getName()));
+        }
+    }
+
+    /**
+     * Providers are bound by compiled creation, which generated code does not take part in
+     */
+    private static void checkNotProvider(Class<?> injectedType, String injectionPoint, Class<?> beanClass) {
+        if (ProviderInjection.isProvider(injectedType)) {
+            throw new AotGenerationException(String.format(
+                    "Provider %s of %s can not be generated", injectionPoint, beanClass.getName()));
+        }
+    }
+
+    private static String typeName(Class<?> type) {
+        var canonicalName = type.getCanonicalName();
+        if (canonicalName == null) {
+            throw new AotGenerationException(String.format("%s can not be referenced in source", type.getName()));
+        }
+        return canonicalName;
+    }
+
+    private static String wiringClass(String packageName, WiringClass wiringClass) {
+        var handles = new StringBuilder();
+        if (!wiringClass.handles.isEmpty()) {
+            handles.append(INDENT).append("private static final java.lang.invoke.MethodHandles.Lookup LOOKUP = ")
+                    .append("java.lang.invoke.MethodHandles.lookup();\n");
+            wiringClass.handles.forEach(handle -> handles.append(INDENT).append(handle).append('\n'));
+            handles.append('\n');
+        }
+        return "package " + packageName + ";\n\n" +
+                "/**\n * Generated by " + ContextFactoryGenerator.class.getName() + ", do not edit\n */\n" +
+                "public final class " + WIRING_CLASS_NAME + " {\n\n" +
+                handles +
+                INDENT + "private " + WIRING_CLASS_NAME + "() {\n" + INDENT + "}\n\n" +
+                String.join("\n", wiringClass.methods) +
+                "}\n";
+    }
+
+    private static String contextFactoryClass(List<String> registrations) {
+        var className = AotContextFactory.GENERATED_CLASS_NAME;
+        int separator = className.lastIndexOf('.');
+        return "package " + className.substring(0, separator) + ";\n\n" +
+                "/**\n * Generated by " + ContextFactoryGenerator.class.getName() + ", do not edit\n */\n" +
+                "public final class " + className.substring(separator + 1) + " implements " +
+                AotContextFactory.class.getName() + " {\n\n" +
+                INDENT + "@Override\n" +
+                INDENT + "public void fillBeanDefinitionRegistry(" + BeanDefinitionRegistry.class.getName() + " registry) {\n" +
+                registrations.stream().map(registration -> INDENT.repeat(2) + registration + "\n").collect(joining()) +
+                INDENT + "}\n" +
+                "}\n";
+    }
+
+    /**
+     * Sources of the {@value #WIRING_CLASS_NAME} class of a package
+     */
+    private static final class WiringClass {
+        private final List<String> handles = new ArrayList<>();
+        private final List<String> methods = new ArrayList<>();
+    }
+}
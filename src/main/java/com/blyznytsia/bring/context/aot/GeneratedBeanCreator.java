@@ -0,0 +1,186 @@
+package com.blyznytsia.bring.context.aot;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.blyznytsia.bring.context.BeanDefinition;
+import com.blyznytsia.bring.context.constants.BeanScope;
+import com.blyznytsia.bring.context.exceptions.BeanCreationException;
+import com.blyznytsia.bring.context.services.BeanCreator;
+import com.blyznytsia.bring.context.util.BeanDefinitionGenerator;
+import com.blyznytsia.bring.context.util.LifecycleMethods;
+
+import lombok.SneakyThrows;
+
+/**
+ * {@link GeneratedBeanCreator} creates an object with code generated by {@link ContextFactoryGenerator}:
+ * a constructor call followed by assignments of {@code Autowired} fields and calls of {@code Autowired} setters.
+ * The generated code gets the objects to be injected by their names, from the objects' storage
+ * or, for a compiled creation, from the bound suppliers.
+ * Private fields and setters are reached through the handles made by {@link #privateField} and {@link #privateSetter}.
+ */
+public class GeneratedBeanCreator implements BeanCreator {
+
+    private static final MethodType SPREAD_SETTER_TYPE =
+            MethodType.methodType(void.class, Object.class, Object[].class);
+
+    private final Instantiation instantiation;
+
+    public GeneratedBeanCreator(Instantiation instantiation) {
+        this.instantiation = instantiation;
+    }
+
+    /**
+     * Method creates {@link BeanDefinition} to be registered by the generated code
+     *
+     * @param beanClass         class of the object
+     * @param dependsOnFields   names of the objects to be injected
+     * @param lazy              whether the object is created on request
+     * @param scope             scope of the object
+     * @param instantiation     generated creation and injection
+     * @return                  class' metadata
+     */
+    public static BeanDefinition beanDefinition(Class<?> beanClass,
+                                                List<String> dependsOnFields,
+                                                boolean lazy,
+                                                BeanScope scope,
+                                                Instantiation instantiation) {
+        var beanDefinition = new BeanDefinition();
+        beanDefinition.setClassName(beanClass.getName());
+        beanDefinition.setBeanClass(beanClass);
+        beanDefinition.setDependsOnFields(dependsOnFields);
+        beanDefinition.setBeanConfigurators(List.of());
+        beanDefinition.setLazy(lazy);
+        beanDefinition.setScope(scope);
+        beanDefinition.setBeanCreator(new GeneratedBeanCreator(instantiation));
+        beanDefinition.setLifecycleMethods(LifecycleMethods.of(beanClass));
+        return beanDefinition;
+    }
+
+    /**
+     * Method creates {@link BeanDefinition} of an object the generated code can not create, so that it is created
+     * by the runtime creators as if it had been scanned
+     *
+     * @param classLoader           class loader of the generated code
+     * @param className             name of the class of the object
+     * @param implementationNames   names of the objects injected into it, directly or through providers,
+     *                              the interface injection points are resolved to
+     * @param lazy                  whether the object is created on request
+     * @param scope                 scope of the object
+     * @return                      class' metadata
+     */
+    public static BeanDefinition runtimeBeanDefinition(ClassLoader classLoader,
+                                                       String className,
+                                                       List<String> implementationNames,
+                                                       boolean lazy,
+                                                       BeanScope scope) {
+        var implementationsRange = new HashSet<Class<?>>();
+        for (String implementationName : implementationNames) {
+            try {
+                implementationsRange.add(Class.forName(implementationName, false, classLoader));
+            } catch (ClassNotFoundException e) {
+                // e.g. a primitive setter parameter, it implements no interface
+            }
+        }
+        Class<?> beanClass;
+        try {
+            beanClass = Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new BeanCreationException(String.format("Class %s not found", className), e);
+        }
+        var beanDefinition = BeanDefinitionGenerator.generate(beanClass, implementationsRange);
+        beanDefinition.setLazy(lazy);
+        beanDefinition.setScope(scope);
+        return beanDefinition;
+    }
+
+    /**
+     * @param lookup        lookup of the generated class
+     * @param beanClass     class declaring the field
+     * @param name          name of the private field
+     * @return              handle setting the field
+     */
+    public static VarHandle privateField(MethodHandles.Lookup lookup, Class<?> beanClass, String name) {
+        try {
+            return privateLookup(lookup, beanClass).unreflectVarHandle(beanClass.getDeclaredField(name));
+        } catch (ReflectiveOperationException e) {
+            throw new BeanCreationException(String.format(
+                    "Unable to set @Autowired field %s of %s", name, beanClass.getName()), e);
+        }
+    }
+
+    /**
+     * @param lookup            lookup of the generated class
+     * @param beanClass         class declaring the setter
+     * @param name              name of the private setter
+     * @param parameterTypes    parameter types of the setter
+     * @return                  handle calling the setter with the object and an array of the arguments
+     */
+    public static MethodHandle privateSetter(MethodHandles.Lookup lookup, Class<?> beanClass, String name,
+                                             Class<?>... parameterTypes) {
+        try {
+            return privateLookup(lookup, beanClass).unreflect(beanClass.getDeclaredMethod(name, parameterTypes))
+                    .asSpreader(Object[].class, parameterTypes.length)
+                    .asType(SPREAD_SETTER_TYPE);
+        } catch (ReflectiveOperationException e) {
+            throw new BeanCreationException(String.format(
+                    "Unable to call @Autowired setter %s of %s", name, beanClass.getName()), e);
+        }
+    }
+
+    /**
+     * @param setter    handle made by {@link #privateSetter}
+     * @param bean      object to be configured
+     * @param arguments objects to be injected
+     */
+    @SneakyThrows
+    public static void invokeSetter(MethodHandle setter, Object bean, Object... arguments) {
+        setter.invokeExact(bean, arguments);
+    }
+
+    private static MethodHandles.Lookup privateLookup(MethodHandles.Lookup lookup, Class<?> beanClass)
+            throws IllegalAccessException {
+        return MethodHandles.privateLookupIn(beanClass, lookup);
+    }
+
+    @Override
+    public Object create(String className, Map<String, Object> beanMap) {
+        return beanMap.computeIfAbsent(className, classNameKey -> instantiation.create(beanMap::get));
+    }
+
+    @Override
+    public Object instantiate(BeanDefinition beanDefinition, Map<String, Object> beanMap) {
+        return instantiation.create(beanMap::get);
+    }
+
+    @Override
+    public Supplier<Object> compile(BeanDefinition beanDefinition, Function<String, Supplier<Object>> dependencies) {
+        var suppliers = new HashMap<String, Supplier<Object>>();
+        beanDefinition.getDependsOnFields().forEach(dependency ->
+                suppliers.put(dependency, dependencies.apply(dependency)));
+        return () -> instantiation.create(dependency -> {
+            var supplier = suppliers.get(dependency);
+            return supplier != null ? supplier.get() : dependencies.apply(dependency).get();
+        });
+    }
+
+    /**
+     * Generated creation and injection of an object
+     */
+    @FunctionalInterface
+    public interface Instantiation {
+        /**
+         * @param dependencies  maps a name to the object to be injected
+         * @return              created and configured object
+         */
+        Object create(Function<String, Object> dependencies);
+    }
+}
@@ -0,0 +1,5 @@
+package com.blyznytsia.bring.context.constants;
+
+public enum BeanScope {
+    SINGLETON, PROTOTYPE, POOLED, THREAD
+}
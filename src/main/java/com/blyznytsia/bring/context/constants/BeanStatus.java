@@ -1,5 +1,5 @@
 package com.blyznytsia.bring.context.constants;
 
 public enum BeanStatus {
-    INITIALIZING, CREATED
+    INITIALIZING, CREATING, CREATED
 }
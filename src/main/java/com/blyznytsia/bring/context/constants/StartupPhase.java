@@ -0,0 +1,5 @@
+package com.blyznytsia.bring.context.constants;
+
+public enum StartupPhase {
+    SNAPSHOT_LOADING, CONFIG_DISCOVERY, PACKAGE_SCANNING, DEFINITION_GENERATION, COMPILATION, CREATION, CONFIGURATION
+}
@@ -0,0 +1,8 @@
+package com.blyznytsia.bring.context.exceptions;
+
+public class AotGenerationException extends RuntimeException {
+
+    public AotGenerationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.blyznytsia.bring.context.exceptions;
+
+public class BeanDestructionException extends RuntimeException {
+
+    public BeanDestructionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,8 +1,25 @@
 package com.blyznytsia.bring.context.exceptions;
 
+import java.util.Collections;
+import java.util.List;
+
 public class CircularDependencyException extends RuntimeException {
 
+    private final List<List<String>> cycles;
+
     public CircularDependencyException(String message) {
+        this(message, Collections.emptyList());
+    }
+
+    public CircularDependencyException(String message, List<List<String>> cycles) {
         super(message);
+        this.cycles = cycles;
+    }
+
+    /**
+     * @return paths of class names of the circular dependencies, each one starts and ends with the same class
+     */
+    public List<List<String>> getCycles() {
+        return cycles;
     }
 }
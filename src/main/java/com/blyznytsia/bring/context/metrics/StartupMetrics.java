@@ -0,0 +1,372 @@
+package com.blyznytsia.bring.context.metrics;
+
+import static java.util.stream.Collectors.toList;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.blyznytsia.bring.context.ApplicationContext;
+import com.blyznytsia.bring.context.constants.StartupPhase;
+
+import lombok.Value;
+
+/**
+ * {@link StartupMetrics} records where {@link ApplicationContext} spends its time: wall and CPU time of
+ * every {@link StartupPhase}, compilation, creation and configuration time of every object and the number of
+ * {@link ApplicationContext#getBean(Class)} calls per type. {@link #toJson()} exports all of it as a timeline.
+ * <p>
+ * Times are nanoseconds, timeline offsets are counted from the creation of the metrics.
+ * CPU time is the time of the thread doing the work, so phases run in parallel mode report the CPU time
+ * of the calling thread only. {@link StartupPhase#COMPILATION}, {@link StartupPhase#CREATION} and
+ * {@link StartupPhase#CONFIGURATION} are sums over objects, so they exceed the wall time of the creation
+ * when objects are created concurrently.
+ * <p>
+ * All the counters are striped ({@link LongAdder}), so concurrent {@code getBean} calls do not contend on them.
+ * Disabled metrics ({@link #ENABLED_PROPERTY}) record nothing.
+ */
+public class StartupMetrics {
+
+    /**
+     * System property that switches off metrics of contexts created with the default constructor
+     */
+    public static final String ENABLED_PROPERTY = "bring.metrics.enabled";
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    private static final StartupMetrics DISABLED = new StartupMetrics(false);
+    private static final Measurement NO_MEASUREMENT = () -> { };
+    private static final BeanMeasurement NO_BEAN_MEASUREMENT = new BeanMeasurement(null, null);
+
+    private final boolean enabled;
+    private final boolean cpuTimeSupported;
+    private final long originNanos = System.nanoTime();
+    private final long originEpochMillis = System.currentTimeMillis();
+    private final Map<StartupPhase, PhaseTiming> phases = new EnumMap<>(StartupPhase.class);
+    private final Queue<BeanTiming> beanTimings = new ConcurrentLinkedQueue<>();
+    private final ConcurrentMap<String, LongAdder> getBeanCalls = new ConcurrentHashMap<>();
+
+    public StartupMetrics() {
+        this(Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true")));
+    }
+
+    public StartupMetrics(boolean enabled) {
+        this.enabled = enabled;
+        this.cpuTimeSupported = THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() &&
+                THREAD_MX_BEAN.isThreadCpuTimeEnabled();
+        for (StartupPhase phase : StartupPhase.values()) {
+            phases.put(phase, new PhaseTiming(phase));
+        }
+    }
+
+    /**
+     * @return  metrics that record nothing, for components used without a context
+     */
+    public static StartupMetrics disabled() {
+        return DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Method starts measuring a phase in the calling thread; the phase is recorded when the measurement is stopped.
+     * A phase measured several times accumulates the times
+     *
+     * @param phase     phase of the context initialization
+     * @return          started measurement
+     */
+    public Measurement start(StartupPhase phase) {
+        if (!enabled) {
+            return NO_MEASUREMENT;
+        }
+        long startNanos = System.nanoTime();
+        long startCpuNanos = currentThreadCpuTime();
+        return () -> phases.get(phase).add(startNanos - originNanos,
+                System.nanoTime() - startNanos, currentThreadCpuTime() - startCpuNanos);
+    }
+
+    /**
+     * Method starts measuring creation of an object in the calling thread
+     *
+     * @param beanName  name of the object
+     * @return          started measurement
+     */
+    public BeanMeasurement startBean(String beanName) {
+        return enabled ? new BeanMeasurement(this, beanName) : NO_BEAN_MEASUREMENT;
+    }
+
+    /**
+     * Calls are counted by type name, so the metrics do not keep the classes, and the class loaders of reloaded
+     * classes, reachable; versions of a reloaded class are counted together
+     *
+     * @param type  type requested from the context
+     */
+    public void countGetBean(Class<?> type) {
+        if (!enabled) {
+            return;
+        }
+        var typeName = type.getName();
+        var counter = getBeanCalls.get(typeName);
+        if (counter == null) {
+            counter = getBeanCalls.computeIfAbsent(typeName, key -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    public PhaseTiming getPhaseTiming(StartupPhase phase) {
+        return phases.get(phase);
+    }
+
+    /**
+     * @return  timings of the created objects in order of their creation start
+     */
+    public List<BeanTiming> getBeanTimings() {
+        return beanTimings.stream()
+                .sorted(Comparator.comparingLong(BeanTiming::getStartNanos))
+                .collect(toList());
+    }
+
+    /**
+     * @return  number of {@code getBean} calls per type name, sorted by the name
+     */
+    public Map<String, Long> getBeanCallCounts() {
+        var counts = new LinkedHashMap<String, Long>();
+        getBeanCalls.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> counts.put(entry.getKey(), entry.getValue().sum()));
+        return counts;
+    }
+
+    /**
+     * Method exports the metrics as a JSON timeline: the phases measured, the objects created
+     * and the {@code getBean} calls counted up to the moment of the call
+     *
+     * @return  JSON document
+     */
+    public String toJson() {
+        var json = new StringBuilder("{\n");
+        json.append("  \"startedAtEpochMillis\": ").append(originEpochMillis).append(",\n");
+        json.append("  \"cpuTimeSupported\": ").append(cpuTimeSupported).append(",\n");
+
+        json.append("  \"phases\": [");
+        var measuredPhases = phases.values().stream()
+                .filter(phaseTiming -> phaseTiming.getCount() > 0)
+                .collect(toList());
+        for (int i = 0; i < measuredPhases.size(); i++) {
+            var phaseTiming = measuredPhases.get(i);
+            json.append(i == 0 ? "\n" : ",\n")
+                    .append("    {\"phase\": ").append(quote(phaseTiming.getPhase().name()))
+                    .append(", \"startNanos\": ").append(phaseTiming.getStartNanos())
+                    .append(", \"wallNanos\": ").append(phaseTiming.getWallNanos())
+                    .append(", \"cpuNanos\": ").append(phaseTiming.getCpuNanos())
+                    .append(", \"count\": ").append(phaseTiming.getCount()).append('}');
+        }
+        json.append(measuredPhases.isEmpty() ? "],\n" : "\n  ],\n");
+
+        json.append("  \"beans\": [");
+        var timings = getBeanTimings();
+        for (int i = 0; i < timings.size(); i++) {
+            var timing = timings.get(i);
+            json.append(i == 0 ? "\n" : ",\n")
+                    .append("    {\"name\": ").append(quote(timing.getBeanName()))
+                    .append(", \"thread\": ").append(quote(timing.getThreadName()))
+                    .append(", \"startNanos\": ").append(timing.getStartNanos())
+                    .append(", \"compilationNanos\": ").append(timing.getCompilationNanos())
+                    .append(", \"compilationCpuNanos\": ").append(timing.getCompilationCpuNanos())
+                    .append(", \"creationNanos\": ").append(timing.getCreationNanos())
+                    .append(", \"creationCpuNanos\": ").append(timing.getCreationCpuNanos())
+                    .append(", \"configurationNanos\": ").append(timing.getConfigurationNanos())
+                    .append(", \"configurationCpuNanos\": ").append(timing.getConfigurationCpuNanos())
+                    .append('}');
+        }
+        json.append(timings.isEmpty() ? "],\n" : "\n  ],\n");
+
+        json.append("  \"getBeanCalls\": {");
+        var callCounts = getBeanCallCounts();
+        var first = true;
+        for (var entry : callCounts.entrySet()) {
+            json.append(first ? "\n" : ",\n")
+                    .append("    ").append(quote(entry.getKey())).append(": ").append(entry.getValue());
+            first = false;
+        }
+        json.append(callCounts.isEmpty() ? "}\n" : "\n  }\n");
+        return json.append("}").toString();
+    }
+
+    private long currentThreadCpuTime() {
+        return cpuTimeSupported ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0;
+    }
+
+    private void recordBean(BeanTiming beanTiming, boolean compiled) {
+        beanTimings.add(beanTiming);
+        if (compiled) {
+            phases.get(StartupPhase.COMPILATION).add(beanTiming.getStartNanos(),
+                    beanTiming.getCompilationNanos(), beanTiming.getCompilationCpuNanos());
+        }
+        var creationStartNanos = beanTiming.getStartNanos() + beanTiming.getCompilationNanos();
+        phases.get(StartupPhase.CREATION).add(creationStartNanos,
+                beanTiming.getCreationNanos(), beanTiming.getCreationCpuNanos());
+        phases.get(StartupPhase.CONFIGURATION).add(creationStartNanos + beanTiming.getCreationNanos(),
+                beanTiming.getConfigurationNanos(), beanTiming.getConfigurationCpuNanos());
+    }
+
+    private static String quote(String value) {
+        var quoted = new StringBuilder(value.length() + 2).append('"');
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /**
+     * Started measurement of a phase
+     */
+    @FunctionalInterface
+    public interface Measurement {
+        void stop();
+    }
+
+    /**
+     * Started measurement of an object: {@link #compiled()} ends the compilation of its factory if it has one,
+     * {@link #created()} ends its creation and starts its configuration,
+     * {@link #stop()} ends the configuration and records all of them
+     */
+    public static final class BeanMeasurement {
+        private final StartupMetrics metrics;
+        private final String beanName;
+        private long startNanos;
+        private long startCpuNanos;
+        private long compiledNanos;
+        private long compiledCpuNanos;
+        private long createdNanos;
+        private long createdCpuNanos;
+        private boolean compilationMeasured;
+        private boolean creationMeasured;
+
+        private BeanMeasurement(StartupMetrics metrics, String beanName) {
+            this.metrics = metrics;
+            this.beanName = beanName;
+            if (metrics != null) {
+                startNanos = System.nanoTime();
+                startCpuNanos = metrics.currentThreadCpuTime();
+                compiledNanos = startNanos;
+                compiledCpuNanos = startCpuNanos;
+            }
+        }
+
+        public void compiled() {
+            if (metrics != null) {
+                compiledNanos = System.nanoTime();
+                compiledCpuNanos = metrics.currentThreadCpuTime();
+                compilationMeasured = true;
+            }
+        }
+
+        public void created() {
+            if (metrics != null) {
+                createdNanos = System.nanoTime();
+                createdCpuNanos = metrics.currentThreadCpuTime();
+                creationMeasured = true;
+            }
+        }
+
+        public void stop() {
+            if (metrics == null) {
+                return;
+            }
+            long endNanos = System.nanoTime();
+            long endCpuNanos = metrics.currentThreadCpuTime();
+            if (!creationMeasured) {
+                createdNanos = endNanos;
+                createdCpuNanos = endCpuNanos;
+            }
+            metrics.recordBean(new BeanTiming(beanName, Thread.currentThread().getName(),
+                    startNanos - metrics.originNanos,
+                    compiledNanos - startNanos, compiledCpuNanos - startCpuNanos,
+                    createdNanos - compiledNanos, createdCpuNanos - compiledCpuNanos,
+                    endNanos - createdNanos, endCpuNanos - createdCpuNanos), compilationMeasured);
+        }
+    }
+
+    /**
+     * Accumulated times of a phase
+     */
+    public static final class PhaseTiming {
+        private final StartupPhase phase;
+        private final LongAccumulator startNanos = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        private final LongAdder wallNanos = new LongAdder();
+        private final LongAdder cpuNanos = new LongAdder();
+        private final LongAdder count = new LongAdder();
+
+        private PhaseTiming(StartupPhase phase) {
+            this.phase = phase;
+        }
+
+        private void add(long startOffsetNanos, long wall, long cpu) {
+            startNanos.accumulate(startOffsetNanos);
+            wallNanos.add(wall);
+            cpuNanos.add(cpu);
+            count.increment();
+        }
+
+        public StartupPhase getPhase() {
+            return phase;
+        }
+
+        /**
+         * @return  offset of the earliest measurement of the phase, -1 if the phase has not been measured
+         */
+        public long getStartNanos() {
+            return getCount() == 0 ? -1 : startNanos.get();
+        }
+
+        public long getWallNanos() {
+            return wallNanos.sum();
+        }
+
+        public long getCpuNanos() {
+            return cpuNanos.sum();
+        }
+
+        /**
+         * @return  number of measurements of the phase
+         */
+        public long getCount() {
+            return count.sum();
+        }
+    }
+
+    /**
+     * Times of an object: compilation is binding its factory, creation is instantiation and configuration
+     * is injection into the created object. Prototypes are compiled only, their objects are created on request
+     */
+    @Value
+    public static class BeanTiming {
+        String beanName;
+        String threadName;
+        long startNanos;
+        long compilationNanos;
+        long compilationCpuNanos;
+        long creationNanos;
+        long creationCpuNanos;
+        long configurationNanos;
+        long configurationCpuNanos;
+    }
+}
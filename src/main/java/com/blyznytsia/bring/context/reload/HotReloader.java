@@ -0,0 +1,325 @@
+package com.blyznytsia.bring.context.reload;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.util.stream.Collectors.toList;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import com.blyznytsia.bring.context.ApplicationContext;
+import com.blyznytsia.bring.context.BeanDefinition;
+import com.blyznytsia.bring.context.DependencyGraph;
+import com.blyznytsia.bring.context.annotation.Component;
+import com.blyznytsia.bring.context.util.BeanDefinitionGenerator;
+
+/**
+ * {@link HotReloader} is the development mode of {@link ApplicationContext}: it watches compiled class output
+ * directories with {@link WatchService} and, when class files change, reloads the changed classes through
+ * a disposable {@link ReloadingClassLoader}, generates {@link BeanDefinition} for them only and refreshes
+ * the context ({@link ApplicationContext#refresh(Collection, Collection)}), so that only the changed objects
+ * and their dependents are created again.
+ * <p>
+ * Class loading, {@link BeanDefinition} generation and object creation are limited to the changed classes and their
+ * dependents, the rest of a reload still walks the whole context: the dependents are found over all
+ * the {@link BeanDefinition} (here and again in the refresh), and the refresh copies the definitions
+ * and the objects' storage, orders all the definitions and rebuilds the type indexes of the new generation.
+ * These steps create no objects, but the latency of a reload grows with the size of the context,
+ * not only with the size of the change.
+ * <p>
+ * Classes of the objects depending on a reloaded class are reloaded as well, since they refer to its previous
+ * version; they have to be in the watched directories too. A changed class that is not a class of an object
+ * (e.g. a helper used by objects) is not reloaded. New {@link Component} classes are added to the context,
+ * objects whose class files are deleted are removed from it.
+ * <p>
+ * A reloaded class is a new {@link Class}, so {@link ApplicationContext#getBean(Class)} finds the new object
+ * by the interfaces and superclasses loaded by the application class loader, not by the previous version of its class.
+ * <p>
+ * Compilers write many files at once, so changes are collected until the directories are quiet for
+ * {@link #setQuietPeriod(Duration)}. Failed reloads (e.g. of a half-written class) leave the context as it is
+ * and are reported to {@link #setFailureHandler(Consumer)}, the next change is reloaded as usual.
+ */
+public class HotReloader implements AutoCloseable {
+
+    /**
+     * System property listing the class directories {@code Bring} watches, separated by the path separator
+     */
+    public static final String DIRECTORIES_PROPERTY = "bring.hotreload.directories";
+
+    private static final System.Logger LOGGER = System.getLogger(HotReloader.class.getName());
+
+    private final ApplicationContext context;
+    private final List<Path> classDirectories;
+    private final ClassLoader applicationClassLoader;
+    private final Map<String, ClassLoader> currentLoaders = new ConcurrentHashMap<>();
+    private final Map<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<>();
+    private volatile Duration quietPeriod = Duration.ofMillis(200);
+    private volatile Consumer<RuntimeException> failureHandler =
+            e -> LOGGER.log(System.Logger.Level.WARNING, "Hot reload failed", e);
+    private volatile long reloadCount;
+    private WatchService watchService;
+    private Thread watcher;
+
+    /**
+     * @param context                   initialized context to be refreshed
+     * @param classDirectories          compiled class output directories
+     * @param applicationClassLoader    class loader the classes of the directories have been loaded by
+     */
+    public HotReloader(ApplicationContext context, List<Path> classDirectories, ClassLoader applicationClassLoader) {
+        this.context = context;
+        this.classDirectories = classDirectories.stream()
+                .map(directory -> directory.toAbsolutePath().normalize())
+                .collect(toList());
+        this.applicationClassLoader = applicationClassLoader;
+    }
+
+    /**
+     * @param quietPeriod   time without changes after which collected changes are reloaded
+     */
+    public void setQuietPeriod(Duration quietPeriod) {
+        this.quietPeriod = quietPeriod;
+    }
+
+    /**
+     * @param failureHandler    receives the exceptions of failed reloads, logs them by default
+     */
+    public void setFailureHandler(Consumer<RuntimeException> failureHandler) {
+        this.failureHandler = failureHandler;
+    }
+
+    /**
+     * @return  number of successful reloads
+     */
+    public long getReloadCount() {
+        return reloadCount;
+    }
+
+    /**
+     * Method registers the class directories and their subdirectories with {@link WatchService}
+     * and starts watching them in a daemon thread
+     *
+     * @throws IOException if the directories can not be watched
+     */
+    public synchronized void start() throws IOException {
+        if (watcher != null) {
+            throw new IllegalStateException("Hot reload is already started");
+        }
+        var service = classDirectories.get(0).getFileSystem().newWatchService();
+        for (Path classDirectory : classDirectories) {
+            registerAll(service, classDirectory, new ArrayList<>());
+        }
+        watchService = service;
+        watcher = new Thread(() -> watch(service), "bring-hot-reload");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Method stops watching the directories; the context keeps the objects of the last reload
+     */
+    @Override
+    public synchronized void close() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            watchService = null;
+            watcher = null;
+        }
+    }
+
+    /**
+     * Method reloads the classes and refreshes the context. Classes with class files in the directories are
+     * reloaded or added, the others are removed
+     *
+     * @param changedClassNames     binary names of the created, changed or deleted classes
+     */
+    public synchronized void reload(Collection<String> changedClassNames) {
+        var beanDefinitions = context.getBeanDefinitions();
+        var changedBeanNames = new LinkedHashSet<String>();
+        var removedBeanNames = new LinkedHashSet<String>();
+        var addedClassNames = new LinkedHashSet<String>();
+        for (String changedClassName : changedClassNames) {
+            var classFileExists = classFileExists(changedClassName);
+            if (beanDefinitions.containsKey(changedClassName)) {
+                (classFileExists ? changedBeanNames : removedBeanNames).add(changedClassName);
+            } else if (classFileExists) {
+                addedClassNames.add(changedClassName);
+            }
+            // a changed nested class changes the class enclosing it
+            var topLevelName = ReloadingClassLoader.topLevelName(changedClassName);
+            if (!topLevelName.equals(changedClassName) && beanDefinitions.containsKey(topLevelName) &&
+                    classFileExists(topLevelName)) {
+                changedBeanNames.add(topLevelName);
+            }
+        }
+
+        var reloadedBeanNames = new LinkedHashSet<>(changedBeanNames);
+        reloadedBeanNames.addAll(DependencyGraph.findDependents(beanDefinitions,
+                Stream.concat(changedBeanNames.stream(), removedBeanNames.stream()).collect(toList())));
+        reloadedBeanNames.removeAll(removedBeanNames);
+        if (reloadedBeanNames.isEmpty() && removedBeanNames.isEmpty() && addedClassNames.isEmpty()) {
+            return;
+        }
+
+        var reloadedTopLevelNames = new HashSet<String>();
+        Stream.concat(reloadedBeanNames.stream(), addedClassNames.stream())
+                .map(ReloadingClassLoader::topLevelName)
+                .forEach(reloadedTopLevelNames::add);
+        var classLoader = new ReloadingClassLoader(
+                applicationClassLoader, classDirectories, Set.copyOf(reloadedTopLevelNames), currentLoaders);
+
+        var reloadedClasses = new LinkedHashMap<String, Class<?>>();
+        for (String beanName : reloadedBeanNames) {
+            reloadedClasses.put(beanName, loadClass(beanName, classLoader));
+        }
+        for (String addedClassName : addedClassNames) {
+            var addedClass = loadClass(addedClassName, classLoader);
+            if (addedClass.isAnnotationPresent(Component.class) && !addedClass.isInterface()) {
+                reloadedClasses.put(addedClassName, addedClass);
+            }
+        }
+
+        var previousClasses = Stream.concat(reloadedBeanNames.stream(), removedBeanNames.stream())
+                .map(beanDefinitions::get)
+                .map(BeanDefinition::getBeanClass)
+                .collect(toList());
+        var resolutionIndex = context.getInterfaceResolutionIndex()
+                .update(previousClasses, new ArrayList<>(reloadedClasses.values()));
+        var reloadedBeanDefinitions = new ArrayList<BeanDefinition>();
+        reloadedClasses.forEach((beanName, reloadedClass) -> {
+            var beanDefinition = BeanDefinitionGenerator.generate(reloadedClass, resolutionIndex);
+            var previous = beanDefinitions.get(beanName);
+            if (previous != null && !reloadedClass.isAnnotationPresent(Component.class)) {
+                // objects of @Bean methods keep @Lazy and the scope of their methods
+                beanDefinition.setLazy(previous.isLazy());
+                beanDefinition.setScope(previous.getScope());
+            }
+            reloadedBeanDefinitions.add(beanDefinition);
+        });
+
+        context.refresh(reloadedBeanDefinitions, removedBeanNames);
+        reloadedClasses.values().stream()
+                .filter(reloadedClass -> reloadedClass.getClassLoader() == classLoader)
+                .forEach(reloadedClass -> currentLoaders.put(
+                        ReloadingClassLoader.topLevelName(reloadedClass.getName()), classLoader));
+        removedBeanNames.forEach(beanName -> currentLoaders.remove(ReloadingClassLoader.topLevelName(beanName)));
+        reloadCount++;
+    }
+
+    private void watch(WatchService service) {
+        var changedClassNames = new LinkedHashSet<String>();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                var key = changedClassNames.isEmpty() ?
+                        service.take() :
+                        service.poll(quietPeriod.toMillis(), TimeUnit.MILLISECONDS);
+                if (key == null) {
+                    reloadQuietly(changedClassNames);
+                    changedClassNames = new LinkedHashSet<>();
+                    continue;
+                }
+                collectChanges(service, key, changedClassNames);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // closed by close()
+        }
+    }
+
+    private void reloadQuietly(Collection<String> changedClassNames) {
+        try {
+            reload(changedClassNames);
+        } catch (RuntimeException e) {
+            failureHandler.accept(e);
+        } catch (LinkageError e) {
+            failureHandler.accept(new IllegalStateException("Unable to load changed classes", e));
+        }
+    }
+
+    private void collectChanges(WatchService service, WatchKey key, Set<String> changedClassNames) {
+        var directory = watchedDirectories.get(key);
+        for (var event : key.pollEvents()) {
+            if (directory == null || !(event.context() instanceof Path)) {
+                continue;
+            }
+            var path = directory.resolve((Path) event.context());
+            if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                try {
+                    registerAll(service, path, changedClassNames);
+                } catch (IOException e) {
+                    failureHandler.accept(new UncheckedIOException(e));
+                }
+            } else if (path.toString().endsWith(".class")) {
+                changedClassNames.add(className(path));
+            }
+        }
+        if (!key.reset()) {
+            watchedDirectories.remove(key);
+        }
+    }
+
+    /**
+     * Method registers the directory and its subdirectories, class files already in them are changes:
+     * they may have been written before the registration
+     */
+    private void registerAll(WatchService service, Path directory, Collection<String> changedClassNames)
+            throws IOException {
+        var classFiles = new ArrayList<Path>();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (Files.isDirectory(path)) {
+                    watchedDirectories.put(path.register(service, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), path);
+                } else if (path.toString().endsWith(".class")) {
+                    classFiles.add(path);
+                }
+            }
+        }
+        classFiles.forEach(classFile -> changedClassNames.add(className(classFile)));
+    }
+
+    private String className(Path classFile) {
+        var classDirectory = classDirectories.stream()
+                .filter(classFile::startsWith)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(classFile + " is not in the class directories"));
+        return ReloadingClassLoader.className(classDirectory, classFile);
+    }
+
+    private boolean classFileExists(String className) {
+        var relativePath = className.replace('.', '/') + ".class";
+        return classDirectories.stream().anyMatch(directory -> Files.isRegularFile(directory.resolve(relativePath)));
+    }
+
+    private static Class<?> loadClass(String className, ClassLoader classLoader) {
+        try {
+            return Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(String.format("Unable to reload %s", className), e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.blyznytsia.bring.context.reload;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * {@link ReloadingClassLoader} is a disposable class loader of one reload: it defines the reloaded classes,
+ * together with their nested classes, from the class directories itself and delegates all the other classes
+ * to the loader of their latest reload or, for classes never reloaded, to the application class loader.
+ * <p>
+ * A loader is not referenced once none of its classes is current, so it is collected together with
+ * the previous versions of the classes.
+ */
+final class ReloadingClassLoader extends ClassLoader {
+
+    static {
+        registerAsParallelCapable();
+    }
+
+    private final List<Path> classDirectories;
+    private final Set<String> reloadedClassNames;
+    private final Map<String, ClassLoader> currentLoaders;
+
+    /**
+     * @param applicationClassLoader    loader of the classes never reloaded
+     * @param classDirectories          compiled class output directories
+     * @param reloadedClassNames        top level names of the classes to be defined by this loader
+     * @param currentLoaders            loaders of the latest reload of classes by top level name
+     */
+    ReloadingClassLoader(ClassLoader applicationClassLoader,
+                         List<Path> classDirectories,
+                         Set<String> reloadedClassNames,
+                         Map<String, ClassLoader> currentLoaders) {
+        super("bring-reload", applicationClassLoader);
+        this.classDirectories = classDirectories;
+        this.reloadedClassNames = reloadedClassNames;
+        this.currentLoaders = currentLoaders;
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        synchronized (getClassLoadingLock(name)) {
+            var loadedClass = findLoadedClass(name);
+            if (loadedClass == null) {
+                var topLevelName = topLevelName(name);
+                if (reloadedClassNames.contains(topLevelName) && classFile(name).isPresent()) {
+                    loadedClass = findClass(name);
+                } else {
+                    var currentLoader = currentLoaders.get(topLevelName);
+                    loadedClass = currentLoader != null ?
+                            currentLoader.loadClass(name) :
+                            super.loadClass(name, false);
+                }
+            }
+            if (resolve) {
+                resolveClass(loadedClass);
+            }
+            return loadedClass;
+        }
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        var classFile = classFile(name).orElseThrow(() -> new ClassNotFoundException(name));
+        try {
+            var bytes = Files.readAllBytes(classFile);
+            return defineClass(name, bytes, 0, bytes.length);
+        } catch (IOException e) {
+            throw new ClassNotFoundException(name, e);
+        }
+    }
+
+    /**
+     * @param name  binary name of a class
+     * @return      the class file in the first class directory having it
+     */
+    Optional<Path> classFile(String name) {
+        var relativePath = name.replace('.', '/') + ".class";
+        return classDirectories.stream()
+                .map(directory -> directory.resolve(relativePath))
+                .filter(Files::isRegularFile)
+                .findFirst();
+    }
+
+    /**
+     * @param name  binary name of a class
+     * @return      name of the top level class enclosing it, the name itself for a top level class
+     */
+    static String topLevelName(String name) {
+        int nested = name.indexOf('$', name.lastIndexOf('.') + 1);
+        return nested < 0 ? name : name.substring(0, nested);
+    }
+
+    /**
+     * @param classDirectory    compiled class output directory
+     * @param classFile         class file in it
+     * @return                  binary name of the class
+     */
+    static String className(Path classDirectory, Path classFile) {
+        var relativePath = classDirectory.relativize(classFile).toString();
+        if (!relativePath.endsWith(".class")) {
+            throw new IllegalArgumentException(classFile + " is not a class file");
+        }
+        return relativePath.substring(0, relativePath.length() - ".class".length())
+                .replace(classFile.getFileSystem().getSeparator(), ".");
+    }
+}
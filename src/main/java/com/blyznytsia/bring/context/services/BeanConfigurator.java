@@ -1,8 +1,13 @@
 package com.blyznytsia.bring.context.services;
 
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import com.blyznytsia.bring.context.BeanDefinition;
+import com.blyznytsia.bring.context.exceptions.BeanCreationException;
+import com.blyznytsia.bring.context.util.InjectionPlan;
 
 public interface BeanConfigurator {
     /**
@@ -13,4 +18,30 @@ public interface BeanConfigurator {
      * @param beanMap            objects' storage
      */
     void configure(Object objectToConfigure, BeanDefinition beanDefinition, Map<String, Object> beanMap);
+
+    /**
+     * Compiles the configuration of objects of the class resolved in {@link BeanDefinition}
+     * with the suppliers of the objects to be injected, so that configuring an object does no lookups
+     *
+     * @param beanDefinition    class' metadata
+     * @param dependencies      maps a name to the supplier of the object to be injected
+     * @return                  configuration of an object
+     */
+    default Consumer<Object> compile(BeanDefinition beanDefinition,
+                                     Function<String, Supplier<Object>> dependencies) {
+        throw new BeanCreationException(String.format(
+                "%s can not configure bean %s of %s scope", getClass().getName(),
+                beanDefinition.getClassName(), beanDefinition.getScope()));
+    }
+
+    /**
+     * Provides the analysed configuration of objects of the class resolved in {@link BeanDefinition},
+     * so that it can be compiled together with their creation into generated code
+     *
+     * @param beanDefinition    class' metadata
+     * @return                  injection plan, or null if the configuration can only be compiled by this configurator
+     */
+    default InjectionPlan getInjectionPlan(BeanDefinition beanDefinition) {
+        return null;
+    }
 }
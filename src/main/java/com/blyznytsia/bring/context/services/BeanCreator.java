@@ -1,6 +1,12 @@
 package com.blyznytsia.bring.context.services;
 
 import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.blyznytsia.bring.context.BeanDefinition;
+import com.blyznytsia.bring.context.exceptions.BeanCreationException;
+import com.blyznytsia.bring.context.util.InstantiationPlan;
 
 public interface BeanCreator {
 
@@ -12,4 +18,56 @@ public interface BeanCreator {
      * @return              created object
      */
     Object create(String className, Map<String, Object> beanMap);
+
+    /**
+     * Creates an {@link Object} of the class resolved in {@link BeanDefinition} and place it in parameter {@link Map}
+     *
+     * @param beanDefinition    class' metadata
+     * @param beanMap           objects' storage
+     * @return                  created object
+     */
+    default Object create(BeanDefinition beanDefinition, Map<String, Object> beanMap) {
+        return create(beanDefinition.getClassName(), beanMap);
+    }
+
+    /**
+     * Creates an {@link Object} of the class resolved in {@link BeanDefinition} without placing it
+     * in parameter {@link Map}, so that it can be published there once it is configured.
+     * Creators placing the object themselves are served by removing it again,
+     * so other threads may see the object before it is configured; the provided creators override this
+     *
+     * @param beanDefinition    class' metadata
+     * @param beanMap           objects' storage constructor arguments are taken from
+     * @return                  created object
+     */
+    default Object instantiate(BeanDefinition beanDefinition, Map<String, Object> beanMap) {
+        var bean = create(beanDefinition, beanMap);
+        beanMap.remove(beanDefinition.getClassName(), bean);
+        return bean;
+    }
+
+    /**
+     * Compiles the creation of objects of the class resolved in {@link BeanDefinition}
+     * with the suppliers of the constructor arguments, so that creating an object does no lookups
+     *
+     * @param beanDefinition    class' metadata
+     * @param dependencies      maps a name to the supplier of the object to be passed to the constructor
+     * @return                  supplier of new objects, they are not placed in the objects' storage
+     */
+    default Supplier<Object> compile(BeanDefinition beanDefinition, Function<String, Supplier<Object>> dependencies) {
+        throw new BeanCreationException(String.format(
+                "%s can not create bean %s of %s scope", getClass().getName(),
+                beanDefinition.getClassName(), beanDefinition.getScope()));
+    }
+
+    /**
+     * Provides the analysed creation of objects of the class resolved in {@link BeanDefinition},
+     * so that it can be compiled together with their configuration into generated code
+     *
+     * @param beanDefinition    class' metadata
+     * @return                  instantiation plan, or null if the creation can only be compiled by this creator
+     */
+    default InstantiationPlan getInstantiationPlan(BeanDefinition beanDefinition) {
+        return null;
+    }
 }
@@ -1,22 +1,32 @@
 package com.blyznytsia.bring.context.services.impl;
 
 import java.lang.reflect.Constructor;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Map;
-import java.util.stream.Stream;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+import com.blyznytsia.bring.context.BeanDefinition;
 import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.exceptions.BeanCreationException;
 import com.blyznytsia.bring.context.services.BeanCreator;
+import com.blyznytsia.bring.context.util.BeanInstantiatorGenerator;
+import com.blyznytsia.bring.context.util.InstantiationPlan;
+import com.blyznytsia.bring.context.util.ProviderInjection;
 
 import lombok.SneakyThrows;
 
 /**
  * {@link AutowiredConstructorBeanCreator} creates an object from autowired constructor
- * and places it in the objects' storage
+ * and places it in the objects' storage.
+ * An instantiator calling the constructor is generated on the first call only; the constructor is taken
+ * from {@link BeanDefinition} when it has been resolved there and looked up otherwise.
+ * Provider parameters ({@link ProviderInjection}) get providers, so they are injected by compiled creation only.
  */
 public class AutowiredConstructorBeanCreator implements BeanCreator {
 
+    private volatile InstantiationPlan instantiationPlan;
+
     @Override
     public Object create(String className, Map<String, Object> beanMap) {
 
@@ -24,34 +34,67 @@ public class AutowiredConstructorBeanCreator implements BeanCreator {
                 classNameKey -> createBeanFromAutowiredConstructor(classNameKey, beanMap));
     }
 
-    @SneakyThrows
-    public Object createBeanFromAutowiredConstructor(String className, Map<String, Object> beanMap) {
-        var targetClass = Class.forName(className);
-        var paramsTypesArray = createParamsTypesArray(targetClass);
-        var constructor = targetClass.getConstructor(paramsTypesArray);
+    @Override
+    public Object create(BeanDefinition beanDefinition, Map<String, Object> beanMap) {
+        return beanMap.computeIfAbsent(beanDefinition.getClassName(), classNameKey ->
+                instantiate(beanDefinition, beanMap));
+    }
 
-        return createObject(constructor, paramsTypesArray, beanMap);
+    @Override
+    public Object instantiate(BeanDefinition beanDefinition, Map<String, Object> beanMap) {
+        return getInstantiationPlan(beanDefinition.getBeanClass(), beanDefinition.getConstructor())
+                .instantiate(beanMap);
     }
 
-    private Class<?>[] createParamsTypesArray(Class<?> targetClass) {
-        var paramsTypesList = new ArrayList<Class<?>>();
-        Arrays.stream(targetClass.getConstructors())
-                .filter(constructor -> constructor.isAnnotationPresent(Autowired.class))
-                .map(Constructor::getParameterTypes)
-                .flatMap(Stream::of)
-                .forEach(paramsTypesList::add);
+    @Override
+    public Supplier<Object> compile(BeanDefinition beanDefinition, Function<String, Supplier<Object>> dependencies) {
+        return getInstantiationPlan(beanDefinition.getBeanClass(), beanDefinition.getConstructor()).bind(dependencies);
+    }
 
-        return paramsTypesList.toArray(new Class<?>[0]);
+    @Override
+    public InstantiationPlan getInstantiationPlan(BeanDefinition beanDefinition) {
+        return getInstantiationPlan(beanDefinition.getBeanClass(), beanDefinition.getConstructor());
     }
 
     @SneakyThrows
-    private Object createObject(Constructor<?> constructor,
-                                Class<?>[] paramTypesArray,
-                                Map<String, Object> beanMap) {
-        Object[] params = new Object[paramTypesArray.length];
-        for (int i = 0; i < paramTypesArray.length; i++) {
-            params[i] = beanMap.get(paramTypesArray[i].getName());
+    public Object createBeanFromAutowiredConstructor(String className, Map<String, Object> beanMap) {
+        return getInstantiationPlan(resolveClass(className), null).instantiate(beanMap);
+    }
+
+    /**
+     * @param className     name of the class to be created
+     * @return              the class of the instantiation plan made before if it has the name,
+     *                      the loaded class otherwise
+     */
+    private Class<?> resolveClass(String className) throws ClassNotFoundException {
+        var plan = instantiationPlan;
+        return plan != null && plan.getTargetClass().getName().equals(className) ?
+                plan.getTargetClass() :
+                Class.forName(className);
+    }
+
+    private InstantiationPlan getInstantiationPlan(Class<?> targetClass, Constructor<?> constructor) {
+        var plan = instantiationPlan;
+        if (plan == null || plan.getTargetClass() != targetClass) {
+            var autowiredConstructor = constructor != null ? constructor : findAutowiredConstructor(targetClass);
+            var dependencies = Arrays.stream(autowiredConstructor.getParameters())
+                    .map(parameter -> ProviderInjection.isProvider(parameter.getType()) ?
+                            ProviderInjection.slotName(ProviderInjection.providedType(
+                                    parameter.getParameterizedType(), "Parameter " + parameter).getName()) :
+                            parameter.getType().getName())
+                    .toArray(String[]::new);
+            plan = new InstantiationPlan(targetClass, autowiredConstructor,
+                    BeanInstantiatorGenerator.generate(autowiredConstructor), dependencies);
+            instantiationPlan = plan;
         }
-        return constructor.newInstance(params);
+        return plan;
+    }
+
+    private Constructor<?> findAutowiredConstructor(Class<?> targetClass) {
+        return Arrays.stream(targetClass.getConstructors())
+                .filter(constructor -> constructor.isAnnotationPresent(Autowired.class))
+                .findFirst()
+                .orElseThrow(() -> new BeanCreationException(String.format(
+                        "No Autowired constructor found for bean %s", targetClass.getName())));
     }
 }
@@ -1,64 +1,63 @@
 package com.blyznytsia.bring.context.services.impl;
 
 import java.lang.reflect.Field;
-import java.util.Arrays;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import com.blyznytsia.bring.context.BeanDefinition;
 import com.blyznytsia.bring.context.annotation.Autowired;
 import com.blyznytsia.bring.context.exceptions.BeanCreationException;
 import com.blyznytsia.bring.context.services.BeanConfigurator;
-
-import lombok.SneakyThrows;
+import com.blyznytsia.bring.context.util.InjectionPlan;
+import com.blyznytsia.bring.context.util.ProviderInjection;
 
 /**
  *{@link AutowiredFieldBeanConfigurator} implements functionality of injecting fields annotated with {@link Autowired}
- * into an object
+ * into an object.
+ * Fields and the objects to be injected into them are resolved into an {@link InjectionPlan} on the first call only,
+ * using field types resolved in {@link BeanDefinition#getAutowiredFieldTypes()}, by
+ * {@link com.blyznytsia.bring.context.util.BeanDefinitionGenerator} or on first use of a hand-built definition.
+ * Provider fields ({@link ProviderInjection}) get providers, so they are injected by compiled configuration only.
  */
 public class AutowiredFieldBeanConfigurator implements BeanConfigurator {
 
+    private volatile InjectionPlan injectionPlan;
+
     @Override
-    @SneakyThrows
     public void configure(Object objectToConfigure, BeanDefinition beanDefinition, Map<String, Object> beanMap) {
+        getInjectionPlan(objectToConfigure.getClass(), beanDefinition).inject(objectToConfigure, beanMap);
+    }
 
-        Arrays.stream(objectToConfigure.getClass().getDeclaredFields())
-                .filter(field -> field.isAnnotationPresent(Autowired.class))
-                .forEach(field -> {
-                    field.setAccessible(true);
-                    try {
-                        String typeName = isFieldInterface(field) ?
-                                getImplementation(field, beanDefinition) :
-                                field.getType().getName();
-                        field.set(objectToConfigure, beanMap.get(typeName));
-                    } catch (IllegalAccessException e) {
-                        throw new BeanCreationException("Unable to set @Autowired field");
-                    }
-                });
+    @Override
+    public Consumer<Object> compile(BeanDefinition beanDefinition, Function<String, Supplier<Object>> dependencies) {
+        return getInjectionPlan(beanDefinition.getBeanClass(), beanDefinition).bind(dependencies);
     }
 
-    private String getImplementation(Field field, BeanDefinition beanDefinition) {
-        var fieldInterface = field.getType();
-        return beanDefinition.getDependsOnFields().stream()
-                .filter(dependOn -> {
-                    Class<?> dependOnClass = null;
-                    try {
-                        dependOnClass = Class.forName(dependOn);
-                    } catch (ClassNotFoundException e) {
-                        e.printStackTrace();
-                    }
-                    return isClassInterfaceImplementation(dependOnClass, fieldInterface);
-                })
-                .findFirst()
-                .orElseThrow();
+    @Override
+    public InjectionPlan getInjectionPlan(BeanDefinition beanDefinition) {
+        return getInjectionPlan(beanDefinition.getBeanClass(), beanDefinition);
     }
 
-    private boolean isClassInterfaceImplementation(Class<?> dependsOnClass,
-                                                   Class<?> fieldInterface) {
-        return Arrays.stream(dependsOnClass.getInterfaces())
-                .anyMatch(aInterface -> aInterface.getName().equals(fieldInterface.getName()));
+    private InjectionPlan getInjectionPlan(Class<?> targetClass, BeanDefinition beanDefinition) {
+        var plan = injectionPlan;
+        if (plan == null || plan.getTargetClass() != targetClass) {
+            var autowiredFieldTypes = beanDefinition.getAutowiredFieldTypes();
+            plan = InjectionPlan.forAutowiredFields(targetClass, field ->
+                    getDependencyName(field, autowiredFieldTypes.get(field), targetClass));
+            injectionPlan = plan;
+        }
+        return plan;
     }
 
-    private boolean isFieldInterface(Field field) {
-        return field.getType().isInterface();
+    private String getDependencyName(Field field, Class<?> injectedType, Class<?> targetClass) {
+        if (injectedType == null) {
+            throw new BeanCreationException(String.format(
+                    "Type of autowired field %s of %s is not resolved", field.getName(), targetClass.getName()));
+        }
+        return ProviderInjection.isProvider(field.getType()) ?
+                ProviderInjection.slotName(injectedType.getName()) :
+                injectedType.getName();
     }
 }
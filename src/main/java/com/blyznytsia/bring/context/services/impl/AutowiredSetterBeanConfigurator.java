@@ -1,47 +1,46 @@
 package com.blyznytsia.bring.context.services.impl;
 
-import java.lang.reflect.Field;
-import java.util.Arrays;
 import java.util.Map;
-import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import com.blyznytsia.bring.context.BeanDefinition;
 import com.blyznytsia.bring.context.annotation.Autowired;
-import com.blyznytsia.bring.context.exceptions.BeanCreationException;
 import com.blyznytsia.bring.context.services.BeanConfigurator;
-
-import lombok.SneakyThrows;
+import com.blyznytsia.bring.context.util.InjectionPlan;
 
 /**
  * {@link AutowiredSetterBeanConfigurator} implements functionality of injecting into an object
- * fields that are set via {@link Autowired} setters
+ * fields that are set via {@link Autowired} setters.
+ * The setters are called with an argument for each of their parameters;
+ * they are resolved into an {@link InjectionPlan} on the first call only.
  */
 public class AutowiredSetterBeanConfigurator implements BeanConfigurator {
 
+    private volatile InjectionPlan injectionPlan;
+
     @Override
-    @SneakyThrows
     public void configure(Object objectToConfigure, BeanDefinition beanDefinition, Map<String, Object> beanMap) {
+        getInjectionPlan(objectToConfigure.getClass()).inject(objectToConfigure, beanMap);
+    }
 
-        Arrays.stream(objectToConfigure.getClass().getDeclaredMethods())
-                .filter(f -> f.isAnnotationPresent(Autowired.class))
-                .map(method -> Arrays.stream(method.getParameterTypes()).findFirst())
-                .flatMap(Optional::stream)
-                .forEach(type -> {
-                    Field field = getFieldCorrespondingToSetterParameter(type, objectToConfigure);
-                    field.setAccessible(true);
-                    try {
-                        field.set(objectToConfigure, beanMap.get(field.getType().getTypeName()));
-                    } catch (IllegalAccessException e) {
-                        throw new BeanCreationException("Unable to set field that corresponds to @Autowired setter");
-                    }
-                });
+    @Override
+    public Consumer<Object> compile(BeanDefinition beanDefinition, Function<String, Supplier<Object>> dependencies) {
+        return getInjectionPlan(beanDefinition.getBeanClass()).bind(dependencies);
+    }
+
+    @Override
+    public InjectionPlan getInjectionPlan(BeanDefinition beanDefinition) {
+        return getInjectionPlan(beanDefinition.getBeanClass());
     }
 
-    private Field getFieldCorrespondingToSetterParameter(Class<?> setterParameterType,
-                                                         Object objectToConfigure) {
-        return Arrays.stream(objectToConfigure.getClass().getDeclaredFields())
-                .filter(field -> (field.getType()).equals(setterParameterType))
-                .findFirst()
-                .orElseThrow();
+    private InjectionPlan getInjectionPlan(Class<?> targetClass) {
+        var plan = injectionPlan;
+        if (plan == null || plan.getTargetClass() != targetClass) {
+            plan = InjectionPlan.forAutowiredSetters(targetClass);
+            injectionPlan = plan;
+        }
+        return plan;
     }
 }
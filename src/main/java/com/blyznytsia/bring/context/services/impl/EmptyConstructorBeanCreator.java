@@ -2,17 +2,28 @@ package com.blyznytsia.bring.context.services.impl;
 
 import java.lang.reflect.Constructor;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+import com.blyznytsia.bring.context.BeanDefinition;
 import com.blyznytsia.bring.context.exceptions.NoDefaultConstructorException;
 import com.blyznytsia.bring.context.services.BeanCreator;
+import com.blyznytsia.bring.context.util.BeanInstantiatorGenerator;
+import com.blyznytsia.bring.context.util.InstantiationPlan;
 
 import lombok.SneakyThrows;
 
 /**
- * {@link EmptyConstructorBeanCreator} creates an object from empty constructor and places it in the objects' storage
+ * {@link EmptyConstructorBeanCreator} creates an object from empty constructor and places it in the objects' storage.
+ * An instantiator calling the constructor is generated on the first call only; the constructor is taken
+ * from {@link BeanDefinition} when it has been resolved there and looked up otherwise.
  */
 public class EmptyConstructorBeanCreator implements BeanCreator {
 
+    private static final String[] NO_DEPENDENCIES = new String[0];
+
+    private volatile InstantiationPlan instantiationPlan;
+
     @Override
     public Object create(String className, Map<String, Object> beanMap) {
 
@@ -20,16 +31,61 @@ public class EmptyConstructorBeanCreator implements BeanCreator {
 
     }
 
+    @Override
+    public Object create(BeanDefinition beanDefinition, Map<String, Object> beanMap) {
+        return beanMap.computeIfAbsent(beanDefinition.getClassName(), classNameKey ->
+                instantiate(beanDefinition, beanMap));
+    }
+
+    @Override
+    public Object instantiate(BeanDefinition beanDefinition, Map<String, Object> beanMap) {
+        return getInstantiationPlan(beanDefinition.getBeanClass(), beanDefinition.getConstructor())
+                .instantiate(Map.of());
+    }
+
+    @Override
+    public Supplier<Object> compile(BeanDefinition beanDefinition, Function<String, Supplier<Object>> dependencies) {
+        return getInstantiationPlan(beanDefinition.getBeanClass(), beanDefinition.getConstructor()).bind(dependencies);
+    }
+
+    @Override
+    public InstantiationPlan getInstantiationPlan(BeanDefinition beanDefinition) {
+        return getInstantiationPlan(beanDefinition.getBeanClass(), beanDefinition.getConstructor());
+    }
+
     @SneakyThrows
     private Object createBeanFromEmptyConstructor(String className) {
-        var targetClass = Class.forName(className);
+        return getInstantiationPlan(resolveClass(className), null).instantiate(Map.of());
+    }
+
+    /**
+     * @param className     name of the class to be created
+     * @return              the class of the instantiation plan made before if it has the name,
+     *                      the loaded class otherwise
+     */
+    private Class<?> resolveClass(String className) throws ClassNotFoundException {
+        var plan = instantiationPlan;
+        return plan != null && plan.getTargetClass().getName().equals(className) ?
+                plan.getTargetClass() :
+                Class.forName(className);
+    }
+
+    private InstantiationPlan getInstantiationPlan(Class<?> targetClass, Constructor<?> constructor) {
+        var plan = instantiationPlan;
+        if (plan == null || plan.getTargetClass() != targetClass) {
+            var emptyConstructor = constructor != null ? constructor : findEmptyConstructor(targetClass);
+            plan = new InstantiationPlan(targetClass, emptyConstructor,
+                    BeanInstantiatorGenerator.generate(emptyConstructor), NO_DEPENDENCIES);
+            instantiationPlan = plan;
+        }
+        return plan;
+    }
 
-        Constructor<?> constructor;
+    private Constructor<?> findEmptyConstructor(Class<?> targetClass) {
         try {
-            constructor = targetClass.getConstructor();
+            return targetClass.getConstructor();
         } catch (NoSuchMethodException e) {
             throw new NoDefaultConstructorException("Unable to find empty constructor");
         }
-        return constructor.newInstance();
     }
 }
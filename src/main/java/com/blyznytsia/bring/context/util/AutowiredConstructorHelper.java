@@ -1,6 +1,5 @@
 package com.blyznytsia.bring.context.util;
 
-import java.lang.reflect.Constructor;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -10,23 +9,18 @@ import com.blyznytsia.bring.context.BeanDefinition;
 import com.blyznytsia.bring.context.annotation.Autowired;
 import com.blyznytsia.bring.context.exceptions.AmbiguousAutowiredConstructorParamsException;
 
-import lombok.SneakyThrows;
-
 /**
  * {@link AutowiredConstructorHelper} is an util class that collects {@link Autowired} constructor
- * parameters of a class and adds them to {@link BeanDefinition} of this class
+ * parameters of a class and adds them to {@link BeanDefinition} of this class,
+ * except for the provider parameters ({@link ProviderInjection})
  */
 public class AutowiredConstructorHelper {
 
-    @SneakyThrows
     public static void validateAndSetUpDependsOnFields(BeanDefinition beanDefinition) {
-        var targetClass = Class.forName(beanDefinition.getClassName());
+        var targetClass = beanDefinition.getBeanClass();
 
         var dependsOnFields = new ArrayList<String>();
-        Arrays.stream(targetClass.getConstructors())
-                .filter(constructor -> constructor.isAnnotationPresent(Autowired.class))
-                .map(Constructor::getParameterTypes)
-                .flatMap(Stream::of)
+        Stream.of(beanDefinition.getConstructor().getParameterTypes())
                 .forEach(constructorParamType ->
                         checkRelevantFieldExistenceAndCollectParamType(
                                 targetClass, constructorParamType, dependsOnFields));
@@ -40,7 +34,11 @@ public class AutowiredConstructorHelper {
         Arrays.stream(targetClass.getDeclaredFields())
                 .filter(field -> field.getType().equals(constructorParamType))
                 .findFirst()
-                .ifPresentOrElse(field -> dependsOnFields.add(field.getType().getName()), () -> {
+                .ifPresentOrElse(field -> {
+                    if (!ProviderInjection.isProvider(field.getType())) {
+                        dependsOnFields.add(field.getType().getName());
+                    }
+                }, () -> {
                     throw new AmbiguousAutowiredConstructorParamsException(String.format(
                         "%s: Autowired constructor parameters must have correspondent class fields", targetClass));
                 });
@@ -2,15 +2,21 @@ package com.blyznytsia.bring.context.util;
 
 import static java.util.stream.Collectors.toList;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 import com.blyznytsia.bring.context.BeanDefinition;
 import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.annotation.Component;
+import com.blyznytsia.bring.context.annotation.Lazy;
 import com.blyznytsia.bring.context.exceptions.BeanCreationException;
 import com.blyznytsia.bring.context.services.BeanConfigurator;
 import com.blyznytsia.bring.context.services.impl.AutowiredConstructorBeanCreator;
@@ -24,11 +30,27 @@ import com.blyznytsia.bring.context.services.impl.EmptyConstructorBeanCreator;
 public class BeanDefinitionGenerator {
 
     public static BeanDefinition generate(Class<?> targetClass, Set<Class<?>> interfaceImplementationsRange) {
-        var dependsOnFields = scanAutowiredFields(targetClass, interfaceImplementationsRange);
+        return generate(targetClass, InterfaceResolutionIndex.of(interfaceImplementationsRange));
+    }
+
+    /**
+     * Method creates {@link BeanDefinition} of the class, resolving its interface fields with the index,
+     * so that the index of a scan is built once for all the classes of the scan
+     *
+     * @param targetClass       class of the object
+     * @param resolutionIndex   implementations eligible for injection into fields of interface types
+     * @return                  {@link BeanDefinition} of the class
+     */
+    public static BeanDefinition generate(Class<?> targetClass, InterfaceResolutionIndex resolutionIndex) {
+        var autowiredFieldTypes = resolveAutowiredFieldTypes(targetClass, resolutionIndex);
+        var dependsOnFields = autowiredFieldTypes.entrySet().stream()
+                .filter(autowiredField -> !ProviderInjection.isProvider(autowiredField.getKey().getType()))
+                .map(autowiredField -> autowiredField.getValue().getName())
+                .collect(toList());
         var dependsOnFromSetters = scanAutowiredMethods(targetClass);
 
         var beanConfigurators = new ArrayList<BeanConfigurator>();
-        if (!dependsOnFields.isEmpty()) {
+        if (!autowiredFieldTypes.isEmpty()) {
             beanConfigurators.add(new AutowiredFieldBeanConfigurator());
         }
         if (!dependsOnFromSetters.isEmpty()) {
@@ -38,10 +60,17 @@ public class BeanDefinitionGenerator {
 
         var beanDefinition = new BeanDefinition();
         beanDefinition.setClassName(targetClass.getName());
+        beanDefinition.setBeanClass(targetClass);
+        beanDefinition.setAutowiredFieldTypes(autowiredFieldTypes);
         beanDefinition.setDependsOnFields(dependsOnFields);
         beanDefinition.setBeanConfigurators(beanConfigurators);
+        beanDefinition.setLazy(targetClass.isAnnotationPresent(Lazy.class));
+        if (targetClass.isAnnotationPresent(Component.class)) {
+            beanDefinition.setScope(targetClass.getAnnotation(Component.class).scope());
+        }
 
         setUpBeanCreators(beanDefinition, targetClass);
+        beanDefinition.setLifecycleMethods(LifecycleMethods.of(targetClass));
 
         return beanDefinition;
     }
@@ -49,30 +78,50 @@ public class BeanDefinitionGenerator {
     // find Autowired fields, if they are Interface type -> define implementation
     public static List<String> scanAutowiredFields(Class<?> targetClass,
                                                    Set<Class<?>> interfaceImplementationsRange) {
+        var resolutionIndex = InterfaceResolutionIndex.of(interfaceImplementationsRange);
         return Arrays.stream(targetClass.getDeclaredFields())
                 .filter(field -> field.isAnnotationPresent(Autowired.class))
-                .map(field -> InterfaceAnalyzer.getType(targetClass, field, interfaceImplementationsRange))
+                .map(field -> InterfaceAnalyzer.resolveType(targetClass, field, resolutionIndex).getName())
                 .collect(toList());
     }
 
-    // find Autowired methods(setters)
-    //TODO: process exception if there are two method parameters
+    // find Autowired fields and the classes to be injected into them, once for both dependencies and injection
+    public static Map<Field, Class<?>> resolveAutowiredFieldTypes(Class<?> targetClass,
+                                                                  Set<Class<?>> interfaceImplementationsRange) {
+        return resolveAutowiredFieldTypes(targetClass, InterfaceResolutionIndex.of(interfaceImplementationsRange));
+    }
+
+    public static Map<Field, Class<?>> resolveAutowiredFieldTypes(Class<?> targetClass,
+                                                                  InterfaceResolutionIndex resolutionIndex) {
+        var autowiredFieldTypes = new LinkedHashMap<Field, Class<?>>();
+        Arrays.stream(targetClass.getDeclaredFields())
+                .filter(field -> field.isAnnotationPresent(Autowired.class))
+                .forEach(field -> autowiredFieldTypes.put(field,
+                        InterfaceAnalyzer.resolveType(targetClass, field, resolutionIndex)));
+        return autowiredFieldTypes;
+    }
+
+    // find Autowired methods(setters), each of their parameters is a dependency
     public static List<String> scanAutowiredMethods(Class<?> type) {
         return Arrays.stream(type.getDeclaredMethods())
                 .filter(f -> f.isAnnotationPresent(Autowired.class))
-                .map(method -> Arrays.stream(method.getParameterTypes()).findFirst())
-                .flatMap(Optional::stream)
+                .flatMap(method -> Arrays.stream(method.getParameterTypes()))
                 .map(Type::getTypeName)
                 .collect(toList());
     }
 
     private static void setUpBeanCreators(BeanDefinition beanDefinition,
                                    Class<?> type) {
-        if (isDefaultConstructorPresent(type)) {
+        var constructors = type.getConstructors();
+        var defaultConstructor = findDefaultConstructor(constructors);
+        if (defaultConstructor.isPresent()) {
+            beanDefinition.setConstructor(defaultConstructor.get());
             beanDefinition.setBeanCreator(new EmptyConstructorBeanCreator());
             return;
         }
-        if (isSingleAutowiredConstructorPresent(type)) {
+        var autowiredConstructors = findAutowiredConstructors(constructors);
+        if (autowiredConstructors.size() == 1) {
+            beanDefinition.setConstructor(autowiredConstructors.get(0));
             beanDefinition.setBeanCreator(new AutowiredConstructorBeanCreator());
             AutowiredConstructorHelper.validateAndSetUpDependsOnFields(beanDefinition);
             return;
@@ -81,13 +130,15 @@ public class BeanDefinitionGenerator {
                 "Context creation error: no Default or Autowired constructor found for bean %s", type.getName()));
     }
 
-    private static boolean isDefaultConstructorPresent(Class<?> type) {
-        return type.getConstructors()[0].getParameterCount() == 0;
+    private static Optional<Constructor<?>> findDefaultConstructor(Constructor<?>[] constructors) {
+        return constructors.length > 0 && constructors[0].getParameterCount() == 0 ?
+                Optional.of(constructors[0]) :
+                Optional.empty();
     }
 
-    private static boolean isSingleAutowiredConstructorPresent(Class<?> type) {
-        return Arrays.stream(type.getConstructors())
+    private static List<Constructor<?>> findAutowiredConstructors(Constructor<?>[] constructors) {
+        return Arrays.stream(constructors)
                 .filter(constructor -> constructor.isAnnotationPresent(Autowired.class))
-                .count() == 1;
+                .collect(toList());
     }
 }
@@ -0,0 +1,423 @@
+package com.blyznytsia.bring.context.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.blyznytsia.bring.context.exceptions.BeanCreationException;
+
+import lombok.SneakyThrows;
+
+/**
+ * {@link BeanFactoryGenerator} is an util class that generates the creation of objects of a class
+ * together with their configuration as a single class.
+ * <p>
+ * The generated class is a hidden nestmate of the class implementing {@link Supplier}: its {@code get()}
+ * calls the constructor, sets the {@link com.blyznytsia.bring.context.annotation.Autowired} fields and calls
+ * the {@link com.blyznytsia.bring.context.annotation.Autowired} setters with the objects of the bound suppliers -
+ * the same code javac emits for hand-written creation, so that the JIT compiles it as such.
+ * The code can not be generated for classes of other modules (e.g. of the unnamed modules of other class loaders),
+ * for final or static injection points and for primitive dependencies; they get no factory and are created
+ * with the plans bound one by one.
+ */
+public class BeanFactoryGenerator {
+
+    private static final int CLASS_FILE_VERSION = 59;
+    private static final int MAX_SUPPLIERS = 250;
+    private static final String FACTORY_SUFFIX = "$$BringFactory";
+    private static final String OBJECT = "java/lang/Object";
+    private static final String SUPPLIER = "java/util/function/Supplier";
+    private static final String SUPPLIER_DESCRIPTOR = "L" + SUPPLIER + ";";
+    private static final String SUPPLIER_GET_DESCRIPTOR = "()Ljava/lang/Object;";
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int ALOAD = 0x19;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ASTORE_1 = 0x4c;
+    private static final int POP = 0x57;
+    private static final int POP2 = 0x58;
+    private static final int DUP = 0x59;
+    private static final int ARETURN = 0xb0;
+    private static final int RETURN = 0xb1;
+    private static final int GETFIELD = 0xb4;
+    private static final int PUTFIELD = 0xb5;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKEINTERFACE = 0xb9;
+    private static final int NEW = 0xbb;
+    private static final int CHECKCAST = 0xc0;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+    /**
+     * @param instantiationPlan     creation of objects of the class
+     * @param injectionPlans        configurations of objects of the class, in the order they are applied
+     * @param dependencies          maps a dependency name to the supplier of the object to be injected
+     * @return                      supplier of new configured objects, or null if it can not be generated for the class
+     */
+    public static Supplier<Object> generate(InstantiationPlan instantiationPlan,
+                                            List<InjectionPlan> injectionPlans,
+                                            Function<String, Supplier<Object>> dependencies) {
+        var targetClass = instantiationPlan.getTargetClass();
+        MethodHandles.Lookup lookup;
+        try {
+            lookup = MethodHandles.privateLookupIn(targetClass, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+        // hidden classes can only be defined with full privilege access, which is lost for classes of
+        // other modules, e.g. of the unnamed modules of other class loaders
+        if (!lookup.hasFullPrivilegeAccess()) {
+            return null;
+        }
+        var dependencyNames = new ArrayList<>(Arrays.asList(instantiationPlan.getDependencies()));
+        var injectionPoints = new ArrayList<Member>();
+        for (InjectionPlan injectionPlan : injectionPlans) {
+            for (Map.Entry<Member, List<String>> injectionPoint : injectionPlan.getInjectionPoints().entrySet()) {
+                injectionPoints.add(injectionPoint.getKey());
+                dependencyNames.addAll(injectionPoint.getValue());
+            }
+        }
+        if (dependencyNames.size() > MAX_SUPPLIERS || !isGeneratable(lookup, instantiationPlan, injectionPoints)) {
+            return null;
+        }
+        var factoryBytes = new FactoryWriter(targetClass, dependencyNames.size())
+                .write(instantiationPlan.getConstructor(), injectionPoints);
+        var suppliers = new Object[dependencyNames.size()];
+        for (int i = 0; i < suppliers.length; i++) {
+            suppliers[i] = dependencies.apply(dependencyNames.get(i));
+        }
+        return newFactory(lookup, factoryBytes, suppliers);
+    }
+
+    private static boolean isGeneratable(MethodHandles.Lookup lookup,
+                                         InstantiationPlan instantiationPlan,
+                                         List<Member> injectionPoints) {
+        var constructor = instantiationPlan.getConstructor();
+        if (constructor == null || constructor.getDeclaringClass() != instantiationPlan.getTargetClass()
+                || !areAccessible(lookup, constructor.getParameterTypes())) {
+            return false;
+        }
+        for (Member injectionPoint : injectionPoints) {
+            if (Modifier.isStatic(injectionPoint.getModifiers())
+                    || injectionPoint.getDeclaringClass() != instantiationPlan.getTargetClass()) {
+                return false;
+            }
+            if (injectionPoint instanceof Field) {
+                var field = (Field) injectionPoint;
+                if (Modifier.isFinal(field.getModifiers()) || !areAccessible(lookup, field.getType())) {
+                    return false;
+                }
+            } else if (!(injectionPoint instanceof Method)
+                    || !areAccessible(lookup, ((Executable) injectionPoint).getParameterTypes())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean areAccessible(MethodHandles.Lookup lookup, Class<?>... types) {
+        for (Class<?> type : types) {
+            if (type.isPrimitive()) {
+                return false;
+            }
+            try {
+                lookup.accessClass(type);
+            } catch (IllegalAccessException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SneakyThrows
+    @SuppressWarnings("unchecked")
+    private static Supplier<Object> newFactory(MethodHandles.Lookup lookup, byte[] factoryBytes, Object[] suppliers) {
+        MethodHandles.Lookup factoryLookup;
+        try {
+            factoryLookup = lookup.defineHiddenClass(factoryBytes, true, MethodHandles.Lookup.ClassOption.NESTMATE);
+        } catch (IllegalAccessException | LinkageError e) {
+            throw new BeanCreationException(String.format(
+                    "Unable to generate factory of %s", lookup.lookupClass().getName()), e);
+        }
+        var constructorType = MethodType.methodType(void.class, Collections.nCopies(suppliers.length, Supplier.class));
+        return (Supplier<Object>) factoryLookup.findConstructor(factoryLookup.lookupClass(), constructorType)
+                .invokeWithArguments(suppliers);
+    }
+
+    /**
+     * Writes the class file of a factory: a final class with a supplier field for each dependency,
+     * a constructor setting them and {@code get()} creating and configuring an object.
+     * The code is straight-line, so the class file needs no stack map frames.
+     */
+    private static final class FactoryWriter {
+        private final Class<?> targetClass;
+        private final int supplierCount;
+        private final String factoryName;
+        private final ByteArrayOutputStream constantPoolBytes = new ByteArrayOutputStream();
+        private final DataOutputStream constantPool = new DataOutputStream(constantPoolBytes);
+        private final Map<String, Integer> constants = new HashMap<>();
+        private int constantCount = 1;
+
+        FactoryWriter(Class<?> targetClass, int supplierCount) {
+            this.targetClass = targetClass;
+            this.supplierCount = supplierCount;
+            this.factoryName = internalName(targetClass) + FACTORY_SUFFIX;
+        }
+
+        byte[] write(Constructor<?> constructor, List<Member> injectionPoints) {
+            var thisClass = classConstant(factoryName);
+            var superClass = classConstant(OBJECT);
+            var supplierInterface = classConstant(SUPPLIER);
+            var supplierDescriptor = utf8(SUPPLIER_DESCRIPTOR);
+            var supplierFields = new int[supplierCount];
+            var supplierFieldNames = new int[supplierCount];
+            for (int i = 0; i < supplierCount; i++) {
+                supplierFieldNames[i] = utf8(supplierFieldName(i));
+                supplierFields[i] = memberConstant(CONSTANT_FIELDREF, factoryName,
+                        supplierFieldName(i), SUPPLIER_DESCRIPTOR);
+            }
+            var constructorCode = writeConstructor(supplierFields);
+            var getCode = writeGet(constructor, injectionPoints, supplierFields);
+            var constructorName = utf8("<init>");
+            var constructorDescriptor = utf8("(" + SUPPLIER_DESCRIPTOR.repeat(supplierCount) + ")V");
+            var getName = utf8("get");
+            var getDescriptor = utf8(SUPPLIER_GET_DESCRIPTOR);
+            var codeName = utf8("Code");
+
+            var classBytes = new ByteArrayOutputStream();
+            var out = new DataOutputStream(classBytes);
+            try {
+                out.writeInt(0xCAFEBABE);
+                out.writeShort(0);
+                out.writeShort(CLASS_FILE_VERSION);
+                out.writeShort(constantCount);
+                constantPoolBytes.writeTo(out);
+                out.writeShort(ACC_FINAL | ACC_SUPER);
+                out.writeShort(thisClass);
+                out.writeShort(superClass);
+                out.writeShort(1);
+                out.writeShort(supplierInterface);
+                out.writeShort(supplierCount);
+                for (int i = 0; i < supplierCount; i++) {
+                    out.writeShort(ACC_PRIVATE | ACC_FINAL);
+                    out.writeShort(supplierFieldNames[i]);
+                    out.writeShort(supplierDescriptor);
+                    out.writeShort(0);
+                }
+                out.writeShort(2);
+                writeMethod(out, constructorName, constructorDescriptor, codeName, constructorCode,
+                        2, supplierCount + 1);
+                writeMethod(out, getName, getDescriptor, codeName, getCode,
+                        maxStack(constructor, injectionPoints), 2);
+                out.writeShort(0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return classBytes.toByteArray();
+        }
+
+        private byte[] writeConstructor(int[] supplierFields) {
+            var code = new Code();
+            code.op(ALOAD_0);
+            code.op(INVOKESPECIAL).u2(memberConstant(CONSTANT_METHODREF, OBJECT, "<init>", "()V"));
+            for (int i = 0; i < supplierFields.length; i++) {
+                code.op(ALOAD_0);
+                code.aload(i + 1);
+                code.op(PUTFIELD).u2(supplierFields[i]);
+            }
+            code.op(RETURN);
+            return code.toByteArray();
+        }
+
+        private byte[] writeGet(Constructor<?> constructor,
+                                List<Member> injectionPoints,
+                                int[] supplierFields) {
+            var code = new Code();
+            var supplierGet = memberConstant(CONSTANT_INTERFACE_METHODREF, SUPPLIER, "get", SUPPLIER_GET_DESCRIPTOR);
+            var supplierIndex = 0;
+            code.op(NEW).u2(classConstant(internalName(targetClass)));
+            code.op(DUP);
+            for (Class<?> parameterType : constructor.getParameterTypes()) {
+                getDependency(code, supplierFields[supplierIndex++], supplierGet, parameterType);
+            }
+            code.op(INVOKESPECIAL).u2(memberConstant(CONSTANT_METHODREF, internalName(targetClass), "<init>",
+                    MethodType.methodType(void.class, constructor.getParameterTypes()).toMethodDescriptorString()));
+            code.op(ASTORE_1);
+            for (Member injectionPoint : injectionPoints) {
+                code.op(ALOAD_1);
+                if (injectionPoint instanceof Field) {
+                    var field = (Field) injectionPoint;
+                    getDependency(code, supplierFields[supplierIndex++], supplierGet, field.getType());
+                    code.op(PUTFIELD).u2(memberConstant(CONSTANT_FIELDREF, internalName(targetClass),
+                            field.getName(), field.getType().descriptorString()));
+                } else {
+                    var method = (Method) injectionPoint;
+                    for (Class<?> parameterType : method.getParameterTypes()) {
+                        getDependency(code, supplierFields[supplierIndex++], supplierGet, parameterType);
+                    }
+                    code.op(INVOKEVIRTUAL).u2(memberConstant(CONSTANT_METHODREF, internalName(targetClass),
+                            method.getName(), MethodType.methodType(method.getReturnType(),
+                                    method.getParameterTypes()).toMethodDescriptorString()));
+                    if (method.getReturnType() == long.class || method.getReturnType() == double.class) {
+                        code.op(POP2);
+                    } else if (method.getReturnType() != void.class) {
+                        code.op(POP);
+                    }
+                }
+            }
+            code.op(ALOAD_1);
+            code.op(ARETURN);
+            return code.toByteArray();
+        }
+
+        private void getDependency(Code code, int supplierField, int supplierGet, Class<?> type) {
+            code.op(ALOAD_0);
+            code.op(GETFIELD).u2(supplierField);
+            code.op(INVOKEINTERFACE).u2(supplierGet).u1(1).u1(0);
+            code.op(CHECKCAST).u2(classConstant(internalName(type)));
+        }
+
+        private int maxStack(Constructor<?> constructor, List<Member> injectionPoints) {
+            // the created object twice, the arguments and the supplier fetched for the last one
+            var maxArguments = constructor.getParameterCount();
+            for (Member injectionPoint : injectionPoints) {
+                if (injectionPoint instanceof Method) {
+                    maxArguments = Math.max(maxArguments, ((Method) injectionPoint).getParameterCount());
+                }
+            }
+            return maxArguments + 4;
+        }
+
+        private void writeMethod(DataOutputStream out, int name, int descriptor, int codeName, byte[] code,
+                                 int maxStack, int maxLocals) throws IOException {
+            out.writeShort(ACC_PUBLIC);
+            out.writeShort(name);
+            out.writeShort(descriptor);
+            out.writeShort(1);
+            out.writeShort(codeName);
+            out.writeInt(code.length + 12);
+            out.writeShort(maxStack);
+            out.writeShort(maxLocals);
+            out.writeInt(code.length);
+            out.write(code);
+            out.writeShort(0);
+            out.writeShort(0);
+        }
+
+        private int utf8(String value) {
+            return constant("U" + value, out -> {
+                out.writeByte(CONSTANT_UTF8);
+                out.writeUTF(value);
+            });
+        }
+
+        private int classConstant(String internalName) {
+            var name = utf8(internalName);
+            return constant("C" + internalName, out -> {
+                out.writeByte(CONSTANT_CLASS);
+                out.writeShort(name);
+            });
+        }
+
+        private int memberConstant(int tag, String owner, String name, String descriptor) {
+            var ownerClass = classConstant(owner);
+            var memberName = utf8(name);
+            var memberDescriptor = utf8(descriptor);
+            var nameAndType = constant("N" + name + " " + descriptor, out -> {
+                out.writeByte(CONSTANT_NAME_AND_TYPE);
+                out.writeShort(memberName);
+                out.writeShort(memberDescriptor);
+            });
+            return constant("M" + tag + owner + "." + name + descriptor, out -> {
+                out.writeByte(tag);
+                out.writeShort(ownerClass);
+                out.writeShort(nameAndType);
+            });
+        }
+
+        private int constant(String key, ConstantWriter writer) {
+            var index = constants.get(key);
+            if (index != null) {
+                return index;
+            }
+            try {
+                writer.write(constantPool);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            constants.put(key, constantCount);
+            return constantCount++;
+        }
+
+        private static String supplierFieldName(int index) {
+            return "supplier" + index;
+        }
+
+        private static String internalName(Class<?> type) {
+            return type.getName().replace('.', '/');
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConstantWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static final class Code {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        Code op(int opcode) {
+            return u1(opcode);
+        }
+
+        Code aload(int index) {
+            if (index == 1) {
+                return op(ALOAD_1);
+            }
+            return op(ALOAD).u1(index);
+        }
+
+        Code u1(int value) {
+            bytes.write(value);
+            return this;
+        }
+
+        Code u2(int value) {
+            bytes.write(value >>> 8);
+            bytes.write(value);
+            return this;
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+}
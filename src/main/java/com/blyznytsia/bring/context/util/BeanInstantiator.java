@@ -0,0 +1,15 @@
+package com.blyznytsia.bring.context.util;
+
+/**
+ * {@link BeanInstantiator} creates an object of a particular class
+ * calling its constructor directly, without reflection
+ */
+@FunctionalInterface
+public interface BeanInstantiator {
+
+    /**
+     * @param constructorArgs   constructor arguments in the constructor parameters order
+     * @return                  created object
+     */
+    Object instantiate(Object[] constructorArgs);
+}
@@ -0,0 +1,71 @@
+package com.blyznytsia.bring.context.util;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.function.Supplier;
+
+import com.blyznytsia.bring.context.exceptions.BeanCreationException;
+
+import lombok.SneakyThrows;
+
+/**
+ * {@link BeanInstantiatorGenerator} is an util class that generates a {@link BeanInstantiator} for a constructor.
+ * <p>
+ * For a constructor without parameters {@link LambdaMetafactory} spins a hidden class implementing
+ * {@link Supplier} whose {@code get()} is a plain {@code new} - the same code javac emits for
+ * {@code SomeClass::new}. A constructor with parameters, or a constructor of a class loaded by another
+ * class loader, is invoked through a {@link MethodHandle} that takes the arguments from an array.
+ * Either way the reflective lookup happens once, at generation time.
+ */
+public class BeanInstantiatorGenerator {
+
+    private static final MethodType SUPPLIER_FACTORY_TYPE = MethodType.methodType(Supplier.class);
+    private static final MethodType SUPPLIER_GET_TYPE = MethodType.methodType(Object.class);
+    private static final MethodType SPREAD_CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    /**
+     * @param constructor   constructor to be called by the instantiator
+     * @return              instantiator calling the constructor
+     */
+    public static BeanInstantiator generate(Constructor<?> constructor) {
+        var declaringClass = constructor.getDeclaringClass();
+        try {
+            var lookup = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+            var constructorHandle = lookup.unreflectConstructor(constructor);
+            // hidden classes can only be spun with full privilege access, which is lost for classes of
+            // other modules, e.g. of the unnamed modules of other class loaders
+            if (constructor.getParameterCount() == 0 && lookup.hasFullPrivilegeAccess()) {
+                return generateSupplierInstantiator(lookup, constructorHandle, declaringClass);
+            }
+            return generateSpreadingInstantiator(constructorHandle, constructor.getParameterCount());
+        } catch (IllegalAccessException e) {
+            throw new BeanCreationException(String.format(
+                    "Unable to access constructor of %s", declaringClass.getName()), e);
+        }
+    }
+
+    @SneakyThrows
+    private static BeanInstantiator generateSupplierInstantiator(MethodHandles.Lookup lookup,
+                                                                 MethodHandle constructorHandle,
+                                                                 Class<?> declaringClass) {
+        var callSite = LambdaMetafactory.metafactory(lookup, "get", SUPPLIER_FACTORY_TYPE, SUPPLIER_GET_TYPE,
+                constructorHandle, MethodType.methodType(declaringClass));
+        var supplier = (Supplier<?>) callSite.getTarget().invokeExact();
+        return constructorArgs -> supplier.get();
+    }
+
+    private static BeanInstantiator generateSpreadingInstantiator(MethodHandle constructorHandle, int parameterCount) {
+        var spreadingHandle = constructorHandle
+                .asSpreader(Object[].class, parameterCount)
+                .asType(SPREAD_CONSTRUCTOR_TYPE);
+        return constructorArgs -> invoke(spreadingHandle, constructorArgs);
+    }
+
+    @SneakyThrows
+    private static Object invoke(MethodHandle spreadingHandle, Object[] constructorArgs) {
+        return (Object) spreadingHandle.invokeExact(constructorArgs);
+    }
+}
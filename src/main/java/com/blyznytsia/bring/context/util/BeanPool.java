@@ -0,0 +1,175 @@
+package com.blyznytsia.bring.context.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * {@link BeanPool} keeps idle objects of a pooled class
+ * ({@link com.blyznytsia.bring.context.constants.BeanScope#POOLED}) for reuse. A borrowed object is used
+ * by one caller at a time and is returned with {@link #release(Object)}; when the pool has no idle object,
+ * a new one is created.
+ * <p>
+ * The pool is lock-free: idle objects sit in a fixed array of slots taken and filled with compare-and-set,
+ * every thread starts probing at its own slot, so borrowing and returning threads rarely touch the same slot.
+ * The pool never holds more than its maximum size, objects returned to a full pool are dropped.
+ * A borrow from an empty pool probes all the slots before creating an object, so the maximum size is to be small.
+ * <p>
+ * Hits (borrows served by idle objects), misses (borrows creating objects) and drops are counted
+ * by striped counters ({@link LongAdder}).
+ */
+public class BeanPool {
+
+    private final Supplier<Object> factory;
+    private final AtomicReferenceArray<Object> slots;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder drops = new LongAdder();
+
+    /**
+     * @param factory   creates new configured objects
+     * @param maxSize   maximum number of idle objects
+     */
+    public BeanPool(Supplier<Object> factory, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be positive: " + maxSize);
+        }
+        this.factory = factory;
+        this.slots = new AtomicReferenceArray<>(maxSize);
+    }
+
+    /**
+     * @return  idle object or a new one if there is none
+     */
+    public Object borrow() {
+        int size = slots.length();
+        int start = startSlot(size);
+        for (int i = 0; i < size; i++) {
+            int slot = (start + i) % size;
+            var bean = slots.get(slot);
+            if (bean != null && slots.compareAndSet(slot, bean, null)) {
+                hits.increment();
+                return bean;
+            }
+        }
+        misses.increment();
+        return factory.get();
+    }
+
+    /**
+     * Method returns a borrowed object to the pool. The object must not be used by the caller afterwards
+     * and must not be returned twice
+     *
+     * @param bean  borrowed object
+     * @return      true if the object is kept, false if the pool is full and the object is dropped
+     */
+    public boolean release(Object bean) {
+        if (bean == null) {
+            throw new IllegalArgumentException("Unable to return null to the pool");
+        }
+        if (offer(bean)) {
+            return true;
+        }
+        drops.increment();
+        return false;
+    }
+
+    /**
+     * Method creates objects in the calling thread until the pool holds the requested number of idle objects
+     * or is full; created objects are counted neither as hits nor as misses
+     *
+     * @param count     number of idle objects wanted
+     */
+    public void prefill(int count) {
+        for (int i = getIdleCount(); i < Math.min(count, slots.length()); i++) {
+            if (!offer(factory.get())) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @param count     number of idle objects wanted
+     * @param executor  executor to create the objects on
+     * @return          completion of the prefill, completed exceptionally if an object can not be created
+     */
+    public CompletableFuture<Void> prefillAsync(int count, Executor executor) {
+        return CompletableFuture.runAsync(() -> prefill(count), executor);
+    }
+
+    /**
+     * Method takes all the idle objects out of the pool, e.g. to destroy them; objects returned afterwards
+     * are kept as usual
+     *
+     * @return  idle objects taken out of the pool
+     */
+    public List<Object> drain() {
+        var idle = new ArrayList<Object>();
+        for (int slot = 0; slot < slots.length(); slot++) {
+            var bean = slots.getAndSet(slot, null);
+            if (bean != null) {
+                idle.add(bean);
+            }
+        }
+        return idle;
+    }
+
+    public int getMaxSize() {
+        return slots.length();
+    }
+
+    /**
+     * @return  number of idle objects at the moment of the call
+     */
+    public int getIdleCount() {
+        int idle = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                idle++;
+            }
+        }
+        return idle;
+    }
+
+    /**
+     * @return  number of borrows served by idle objects
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return  number of borrows that have created new objects
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return  number of returned objects dropped because the pool was full
+     */
+    public long getDropCount() {
+        return drops.sum();
+    }
+
+    private boolean offer(Object bean) {
+        int size = slots.length();
+        int start = startSlot(size);
+        for (int i = 0; i < size; i++) {
+            int slot = (start + i) % size;
+            if (slots.get(slot) == null && slots.compareAndSet(slot, null, bean)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int startSlot(int size) {
+        long id = Thread.currentThread().getId();
+        return (int) ((id ^ (id >>> 16)) * 0x9E3779B9L >>> 32 & 0x7fffffff) % size;
+    }
+}
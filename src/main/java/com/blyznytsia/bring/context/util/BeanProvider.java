@@ -0,0 +1,52 @@
+package com.blyznytsia.bring.context.util;
+
+import java.util.function.Supplier;
+
+import com.blyznytsia.bring.context.ObjectFactory;
+import com.blyznytsia.bring.context.Provider;
+
+/**
+ * {@link BeanProvider} is what is injected into {@link Provider} and {@link ObjectFactory} injection points.
+ * The lookup of the provided object is bound when the provider is created; a shared object is looked up
+ * on the first call only and kept in a volatile field, so the following calls are a single read.
+ * <p>
+ * Objects created at context creation are to call the provider after the creation is over, since the provided
+ * object is not among their dependencies and may be created by the context later.
+ *
+ * @param <T>   type of the provided object
+ */
+public class BeanProvider<T> implements Provider<T>, ObjectFactory<T> {
+
+    private final Supplier<Object> lookup;
+    private final boolean shared;
+    private volatile Object bean;
+
+    /**
+     * @param lookup    finds the object, creating it if needed
+     * @param shared    true if the object found once is to be returned by all the calls,
+     *                  false for prototypes and thread-scoped objects
+     */
+    public BeanProvider(Supplier<Object> lookup, boolean shared) {
+        this.lookup = lookup;
+        this.shared = shared;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get() {
+        if (!shared) {
+            return (T) lookup.get();
+        }
+        var found = bean;
+        if (found == null) {
+            found = lookup.get();
+            bean = found;
+        }
+        return (T) found;
+    }
+
+    @Override
+    public T getObject() {
+        return get();
+    }
+}
@@ -0,0 +1,121 @@
+package com.blyznytsia.bring.context.util;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import com.blyznytsia.bring.context.BeanDefinition;
+import com.blyznytsia.bring.context.services.BeanConfigurator;
+import com.blyznytsia.bring.context.services.BeanCreator;
+
+/**
+ * {@link CompiledBeanFactory} creates and configures new objects of a class with the creation and the injections
+ * compiled once: constructor arguments and injected objects come from suppliers bound at compilation, so
+ * a new object costs a constructor call and a store per injected field, plus the call of its
+ * {@link com.blyznytsia.bring.context.annotation.PostConstruct} method if it has one.
+ * When the creator and all the configurators provide their plans, the creation and the injections are generated
+ * by {@link BeanFactoryGenerator} into a single method; otherwise they are compiled by each of them and called in turn.
+ * Objects created once are not worth generating code for, they are created by a factory {@link #bind bound} only.
+ */
+public class CompiledBeanFactory {
+
+    @SuppressWarnings("unchecked")
+    private static final Consumer<Object>[] NO_CONFIGURATIONS = (Consumer<Object>[]) new Consumer<?>[0];
+
+    private final Supplier<Object> instantiation;
+    private final Consumer<Object>[] configurations;
+    private final LifecycleMethods lifecycleMethods;
+
+    private CompiledBeanFactory(Supplier<Object> instantiation,
+                                Consumer<Object>[] configurations,
+                                LifecycleMethods lifecycleMethods) {
+        this.instantiation = instantiation;
+        this.configurations = configurations;
+        this.lifecycleMethods = lifecycleMethods.hasPostConstruct() ? lifecycleMethods : null;
+    }
+
+    /**
+     * Method compiles {@link BeanCreator} and {@link BeanConfigurator} of {@link BeanDefinition}
+     *
+     * @param beanDefinition    class' metadata
+     * @param dependencies      maps a dependency name to the supplier of the object to be injected
+     * @return                  factory of new objects
+     */
+    public static CompiledBeanFactory compile(BeanDefinition beanDefinition,
+                                              Function<String, Supplier<Object>> dependencies) {
+        var generatedFactory = generate(beanDefinition, dependencies);
+        if (generatedFactory != null) {
+            return new CompiledBeanFactory(generatedFactory, NO_CONFIGURATIONS, beanDefinition.getLifecycleMethods());
+        }
+        return bind(beanDefinition, dependencies);
+    }
+
+    /**
+     * Method compiles {@link BeanCreator} and {@link BeanConfigurator} of {@link BeanDefinition} each on its own,
+     * without generating code, so that creation and configuration of an object can be told apart
+     *
+     * @param beanDefinition    class' metadata
+     * @param dependencies      maps a dependency name to the supplier of the object to be injected
+     * @return                  factory of new objects
+     */
+    @SuppressWarnings("unchecked")
+    public static CompiledBeanFactory bind(BeanDefinition beanDefinition,
+                                           Function<String, Supplier<Object>> dependencies) {
+        var instantiation = beanDefinition.getBeanCreator().compile(beanDefinition, dependencies);
+        var configurations = beanDefinition.getBeanConfigurators().stream()
+                .map(configurator -> configurator.compile(beanDefinition, dependencies))
+                .toArray(Consumer[]::new);
+        return new CompiledBeanFactory(instantiation, configurations,
+                beanDefinition.getLifecycleMethods());
+    }
+
+    private static Supplier<Object> generate(BeanDefinition beanDefinition,
+                                             Function<String, Supplier<Object>> dependencies) {
+        var instantiationPlan = beanDefinition.getBeanCreator().getInstantiationPlan(beanDefinition);
+        List<InjectionPlan> injectionPlans = beanDefinition.getBeanConfigurators().stream()
+                .map(configurator -> configurator.getInjectionPlan(beanDefinition))
+                .collect(Collectors.toList());
+        if (instantiationPlan == null || injectionPlans.contains(null)) {
+            return null;
+        }
+        return BeanFactoryGenerator.generate(instantiationPlan, injectionPlans, dependencies);
+    }
+
+    /**
+     * @return  new configured object, it is not placed in the objects' storage
+     */
+    public Object newInstance() {
+        var bean = instantiation.get();
+        configure(bean);
+        return bean;
+    }
+
+    /**
+     * @return  new object, configured only if the factory is generated
+     */
+    public Object instantiate() {
+        return instantiation.get();
+    }
+
+    /**
+     * @param bean  object created by {@link #instantiate()} to be configured
+     */
+    public void configure(Object bean) {
+        for (Consumer<Object> configuration : configurations) {
+            configuration.accept(bean);
+        }
+        if (lifecycleMethods != null) {
+            lifecycleMethods.invokePostConstruct(bean);
+        }
+    }
+
+    /**
+     * @return  supplier of new configured objects: the generated factory itself when it is all there is to call,
+     *          so that objects injected with them call it directly
+     */
+    public Supplier<Object> asSupplier() {
+        return configurations.length == 0 && lifecycleMethods == null ? instantiation : this::newInstance;
+    }
+}
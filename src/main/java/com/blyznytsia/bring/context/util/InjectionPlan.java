@@ -0,0 +1,207 @@
+package com.blyznytsia.bring.context.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.exceptions.BeanCreationException;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+
+/**
+ * {@link InjectionPlan} is a precomputed list of injections into objects of a class:
+ * {@link VarHandle} for {@link Autowired} fields and {@link MethodHandle} for {@link Autowired} setters,
+ * each one with the names of the objects to be injected.
+ * Executing a plan does no reflective lookups; executing a plan bound to the objects to be injected
+ * does no lookups at all.
+ */
+public class InjectionPlan {
+
+    private static final MethodType SPREAD_SETTER_TYPE =
+            MethodType.methodType(void.class, Object.class, Object[].class);
+
+    @Getter
+    private final Class<?> targetClass;
+    private final Injection[] injections;
+
+    private InjectionPlan(Class<?> targetClass, Injection[] injections) {
+        this.targetClass = targetClass;
+        this.injections = injections;
+    }
+
+    /**
+     * Method builds a plan setting all {@link Autowired} fields declared in the class
+     *
+     * @param targetClass       class to be configured
+     * @param dependencyNames   maps a field to the name of the object to be injected into it
+     * @return                  injection plan
+     */
+    public static InjectionPlan forAutowiredFields(Class<?> targetClass, Function<Field, String> dependencyNames) {
+        var lookup = privateLookup(targetClass);
+        var injections = Arrays.stream(targetClass.getDeclaredFields())
+                .filter(field -> field.isAnnotationPresent(Autowired.class))
+                .map(field -> fieldInjection(lookup, field, dependencyNames.apply(field)))
+                .toArray(Injection[]::new);
+        return new InjectionPlan(targetClass, injections);
+    }
+
+    /**
+     * Method builds a plan calling all {@link Autowired} methods declared in the class,
+     * with as many arguments as the methods have parameters
+     *
+     * @param targetClass   class to be configured
+     * @return              injection plan
+     */
+    public static InjectionPlan forAutowiredSetters(Class<?> targetClass) {
+        var lookup = privateLookup(targetClass);
+        var injections = Arrays.stream(targetClass.getDeclaredMethods())
+                .filter(method -> method.isAnnotationPresent(Autowired.class))
+                .map(method -> setterInjection(lookup, method))
+                .toArray(Injection[]::new);
+        return new InjectionPlan(targetClass, injections);
+    }
+
+    /**
+     * Method injects objects from the objects' storage into the object
+     *
+     * @param objectToConfigure     object of the plan's class
+     * @param beanMap               objects' storage
+     */
+    public void inject(Object objectToConfigure, Map<String, Object> beanMap) {
+        for (Injection injection : injections) {
+            injection.inject(objectToConfigure, beanMap);
+        }
+    }
+
+    /**
+     * Method binds the plan to the suppliers of the objects to be injected
+     *
+     * @param dependencySuppliers   maps a dependency name to the supplier of the object to be injected
+     * @return                      injection of the bound objects into an object of the plan's class
+     */
+    public Consumer<Object> bind(Function<String, Supplier<Object>> dependencySuppliers) {
+        var boundInjections = Arrays.stream(injections)
+                .map(injection -> injection.bind(dependencySuppliers))
+                .toArray(BoundInjection[]::new);
+        return objectToConfigure -> {
+            for (BoundInjection boundInjection : boundInjections) {
+                boundInjection.inject(objectToConfigure);
+            }
+        };
+    }
+
+    /**
+     * @return  fields and setters the plan injects into, in injection order,
+     *          mapped to the names of the objects to be injected
+     */
+    public Map<Member, List<String>> getInjectionPoints() {
+        var injectionPoints = new LinkedHashMap<Member, List<String>>();
+        for (Injection injection : injections) {
+            injectionPoints.put(injection.member, List.of(injection.dependencyNames));
+        }
+        return Collections.unmodifiableMap(injectionPoints);
+    }
+
+    public int size() {
+        return injections.length;
+    }
+
+    private static Injection fieldInjection(MethodHandles.Lookup lookup, Field field, String dependencyName) {
+        VarHandle varHandle;
+        try {
+            varHandle = lookup.unreflectVarHandle(field);
+        } catch (IllegalAccessException e) {
+            throw new BeanCreationException("Unable to set @Autowired field", e);
+        }
+        return new Injection(field, new String[]{dependencyName}, (FieldAction) varHandle::set);
+    }
+
+    private static Injection setterInjection(MethodHandles.Lookup lookup, Method method) {
+        MethodHandle setterHandle;
+        try {
+            setterHandle = lookup.unreflect(method)
+                    .asSpreader(Object[].class, method.getParameterCount())
+                    .asType(SPREAD_SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new BeanCreationException("Unable to call @Autowired setter", e);
+        }
+        var dependencyNames = Arrays.stream(method.getParameterTypes())
+                .map(Class::getName)
+                .toArray(String[]::new);
+        return new Injection(method, dependencyNames, (objectToConfigure, args) ->
+                invoke(setterHandle, objectToConfigure, args));
+    }
+
+    @SneakyThrows
+    private static void invoke(MethodHandle setterHandle, Object objectToConfigure, Object[] args) {
+        setterHandle.invokeExact(objectToConfigure, args);
+    }
+
+    private static MethodHandles.Lookup privateLookup(Class<?> targetClass) {
+        try {
+            return MethodHandles.privateLookupIn(targetClass, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new BeanCreationException(String.format("Unable to access %s", targetClass.getName()), e);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class Injection {
+        private final Member member;
+        private final String[] dependencyNames;
+        private final Action action;
+
+        void inject(Object objectToConfigure, Map<String, Object> beanMap) {
+            var args = new Object[dependencyNames.length];
+            for (int i = 0; i < dependencyNames.length; i++) {
+                args[i] = beanMap.get(dependencyNames[i]);
+            }
+            action.apply(objectToConfigure, args);
+        }
+
+        BoundInjection bind(Function<String, Supplier<Object>> dependencySuppliers) {
+            if (action instanceof FieldAction) {
+                var fieldAction = (FieldAction) action;
+                var valueSupplier = dependencySuppliers.apply(dependencyNames[0]);
+                return objectToConfigure -> fieldAction.set(objectToConfigure, valueSupplier.get());
+            }
+            var argumentSuppliers = InstantiationPlan.bindAll(dependencyNames, dependencySuppliers);
+            return objectToConfigure -> action.apply(objectToConfigure, InstantiationPlan.getAll(argumentSuppliers));
+        }
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        void apply(Object objectToConfigure, Object[] args);
+    }
+
+    @FunctionalInterface
+    private interface FieldAction extends Action {
+        void set(Object objectToConfigure, Object value);
+
+        @Override
+        default void apply(Object objectToConfigure, Object[] args) {
+            set(objectToConfigure, args[0]);
+        }
+    }
+
+    @FunctionalInterface
+    private interface BoundInjection {
+        void inject(Object objectToConfigure);
+    }
+}
@@ -0,0 +1,70 @@
+package com.blyznytsia.bring.context.util;
+
+import java.lang.reflect.Constructor;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link InstantiationPlan} holds what is needed to create objects of a class
+ * once the class has been analysed: the constructor, the generated {@link BeanInstantiator} calling it and
+ * names of the constructor dependencies in the constructor parameters order
+ */
+@Getter
+@RequiredArgsConstructor
+public class InstantiationPlan {
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final Class<?> targetClass;
+    private final Constructor<?> constructor;
+    private final BeanInstantiator instantiator;
+    private final String[] dependencies;
+
+    /**
+     * Method creates an object taking constructor arguments from the objects' storage
+     *
+     * @param beanMap   objects' storage
+     * @return          created object
+     */
+    public Object instantiate(Map<String, Object> beanMap) {
+        var constructorArgs = new Object[dependencies.length];
+        for (int i = 0; i < dependencies.length; i++) {
+            constructorArgs[i] = beanMap.get(dependencies[i]);
+        }
+        return instantiator.instantiate(constructorArgs);
+    }
+
+    /**
+     * Method binds the plan to the suppliers of constructor arguments
+     *
+     * @param dependencySuppliers   maps a dependency name to the supplier of the constructor argument
+     * @return                      supplier of new objects
+     */
+    public Supplier<Object> bind(Function<String, Supplier<Object>> dependencySuppliers) {
+        if (dependencies.length == 0) {
+            return () -> instantiator.instantiate(NO_ARGS);
+        }
+        var argumentSuppliers = bindAll(dependencies, dependencySuppliers);
+        return () -> instantiator.instantiate(getAll(argumentSuppliers));
+    }
+
+    @SuppressWarnings("unchecked")
+    static Supplier<Object>[] bindAll(String[] dependencies, Function<String, Supplier<Object>> dependencySuppliers) {
+        var suppliers = (Supplier<Object>[]) new Supplier<?>[dependencies.length];
+        for (int i = 0; i < dependencies.length; i++) {
+            suppliers[i] = dependencySuppliers.apply(dependencies[i]);
+        }
+        return suppliers;
+    }
+
+    static Object[] getAll(Supplier<Object>[] suppliers) {
+        var values = new Object[suppliers.length];
+        for (int i = 0; i < suppliers.length; i++) {
+            values[i] = suppliers[i].get();
+        }
+        return values;
+    }
+}
@@ -1,70 +1,101 @@
 package com.blyznytsia.bring.context.util;
 
 import java.lang.reflect.Field;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Collection;
 
 import com.blyznytsia.bring.context.annotation.Component;
 import com.blyznytsia.bring.context.annotation.Qualifier;
 import com.blyznytsia.bring.context.exceptions.InterfaceInjectionException;
 
 /**
- * {@link InterfaceAnalyzer} is an util class that defines a class type for a field
+ * {@link InterfaceAnalyzer} is an util class that defines a class type for a field.
+ * Implementations of an interface are looked up in {@link InterfaceResolutionIndex}, so they include classes
+ * implementing the interface through a superclass or a superinterface
  */
 public class InterfaceAnalyzer {
 
     public static String getType(Class<?> targetClass,
                                  Field field,
-                                 Set<Class<?>> interfaceImplementationsRange) {
-        if(fieldIsNotInterface(field)) {
-            return field.getType().getName();
+                                 Collection<Class<?>> interfaceImplementationsRange) {
+        return resolveType(targetClass, field, interfaceImplementationsRange).getName();
+    }
+
+    /**
+     * Method builds {@link InterfaceResolutionIndex} of the range for a single field,
+     * resolve many fields with {@link #resolveType(Class, Field, InterfaceResolutionIndex)} and a shared index
+     *
+     * @return  the field's type or, for a field of an interface type, the implementation to be injected
+     */
+    public static Class<?> resolveType(Class<?> targetClass,
+                                       Field field,
+                                       Collection<Class<?>> interfaceImplementationsRange) {
+        if (fieldIsNotInterface(field)) {
+            return field.getType();
+        }
+        return resolveType(targetClass, field, InterfaceResolutionIndex.of(interfaceImplementationsRange));
+    }
+
+    /**
+     * A field of {@link com.blyznytsia.bring.context.Provider} or {@link com.blyznytsia.bring.context.ObjectFactory}
+     * type is resolved to the provided type, or its implementation for an interface
+     *
+     * @return  the field's type or, for a field of an interface type, the implementation to be injected
+     */
+    public static Class<?> resolveType(Class<?> targetClass,
+                                       Field field,
+                                       InterfaceResolutionIndex resolutionIndex) {
+        var injectedType = ProviderInjection.isProvider(field.getType()) ?
+                ProviderInjection.providedType(field.getGenericType(), "Field " + field) :
+                field.getType();
+        if (!injectedType.isInterface()) {
+            return injectedType;
         }
         if (fieldIsWithoutQualifierAnnotation(field)) {
-            return getImplementationOfNotAnnotatedInterfaceField(targetClass, field, interfaceImplementationsRange);
+            return getImplementationOfNotAnnotatedInterfaceField(targetClass, injectedType, resolutionIndex);
         }
-        return getImplementationOfAnnotatedInterfaceField(targetClass, field, interfaceImplementationsRange);
+        return getImplementationOfAnnotatedInterfaceField(targetClass, field, injectedType, resolutionIndex);
     }
 
-    private static String getImplementationOfNotAnnotatedInterfaceField(Class<?> targetClass,
-                                                                        Field field,
-                                                                        Set<Class<?>> interfaceImplementationsRange) {
-        var implementations = getInterFaceImplementations(field.getType(), interfaceImplementationsRange);
+    private static Class<?> getImplementationOfNotAnnotatedInterfaceField(Class<?> targetClass,
+                                                                        Class<?> fieldInterface,
+                                                                        InterfaceResolutionIndex resolutionIndex) {
+        var implementations = resolutionIndex.getImplementations(fieldInterface);
 
         if (implementations.isEmpty()) {
             throw new InterfaceInjectionException(String.format(
                     "%s creation error: no %s implementation found",
-                    targetClass, field.getType().getName()));
+                    targetClass, fieldInterface.getName()));
         }
         if (implementations.size() > 1) {
             throw new InterfaceInjectionException(String.format(
                     "%s creation ambiguity: more than one %s implementation found",
-                    targetClass, field.getType().getName()));
+                    targetClass, fieldInterface.getName()));
         }
-        return implementations.get(0).getName();
+        return implementations.get(0);
     }
 
-    private static String getImplementationOfAnnotatedInterfaceField(Class<?> targetClass,
+    /**
+     * Candidates are the implementations whose {@link Component} value equals the {@link Qualifier} value
+     */
+    private static Class<?> getImplementationOfAnnotatedInterfaceField(Class<?> targetClass,
                                                                      Field field,
-                                                                     Set<Class<?>> interfaceImplementationsRange) {
+                                                                     Class<?> fieldInterface,
+                                                                     InterfaceResolutionIndex resolutionIndex) {
         var qualifierValue = field.getAnnotation(Qualifier.class).value();
-        var fieldInterface = field.getType();
 
-        var implementations =
-                getInterfaceImplWithAnnotationValue(fieldInterface, interfaceImplementationsRange, qualifierValue);
+        var implementations = resolutionIndex.getImplementations(fieldInterface, qualifierValue);
 
         if (implementations.isEmpty()) {
             throw new InterfaceInjectionException(String.format(
                     "%s creation error: no bean of %s named as indicated in @Qualifier annotation found",
-                    targetClass, field.getType().getName()));
+                    targetClass, fieldInterface.getName()));
         }
         if (implementations.size() > 1) {
             throw new InterfaceInjectionException(String.format(
                     "%s creation ambiguity: more than one %s implementation found",
                     targetClass, fieldInterface.getName()));
         }
-        return implementations.get(0).getName();
+        return implementations.get(0);
     }
 
     private static boolean fieldIsNotInterface(Field field) {
@@ -74,26 +105,4 @@ public class InterfaceAnalyzer {
     private static boolean fieldIsWithoutQualifierAnnotation(Field field) {
         return !field.isAnnotationPresent(Qualifier.class);
     }
-
-    private static List<Class<?>> getInterFaceImplementations(Class<?> fieldInterface,
-                                                              Set<Class<?>> interfaceImplementationsRange) {
-        return interfaceImplementationsRange.stream()
-                .filter(aClass -> isClassInterfaceImplementation(aClass, fieldInterface))
-                .collect(Collectors.toList());
-    }
-
-    private static boolean isClassInterfaceImplementation(Class<?> aClass,
-                                                          Class<?> fieldInterface) {
-        return Arrays.stream(aClass.getInterfaces())
-                .anyMatch(aInterface -> aInterface.getName().equals(fieldInterface.getName()));
-    }
-
-    private static List<Class<?>> getInterfaceImplWithAnnotationValue(Class<?> fieldInterface,
-                                                                      Set<Class<?>> interfaceImplementationsRange,
-                                                                      String annotationValue) {
-        return interfaceImplementationsRange.stream()
-                .filter(aClass -> isClassInterfaceImplementation(aClass, fieldInterface) &&
-                        aClass.getAnnotation(Component.class).value().equals(annotationValue))
-                .collect(Collectors.toList());
-    }
 }
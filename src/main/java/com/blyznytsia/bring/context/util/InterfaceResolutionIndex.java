@@ -0,0 +1,189 @@
+package com.blyznytsia.bring.context.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.blyznytsia.bring.context.annotation.Component;
+import com.blyznytsia.bring.context.annotation.Qualifier;
+
+/**
+ * {@link InterfaceResolutionIndex} maps every interface implemented by the classes of a range to its implementations
+ * and every interface together with a {@link Qualifier} name to the implementations named so in {@link Component}.
+ * Interfaces implemented by superclasses and superinterfaces are indexed as well.
+ * <p>
+ * The index is built once per scan and never modified, so resolving a field is a single lookup
+ * and the index can be shared by threads generating {@link com.blyznytsia.bring.context.BeanDefinition} concurrently.
+ * <p>
+ * An index with a parent ({@link #withParent(InterfaceResolutionIndex)}) looks an interface up in the parent
+ * only if it has no implementations of its own, so implementations of a child context hide the ones of its parent.
+ */
+public final class InterfaceResolutionIndex {
+
+    private static final InterfaceResolutionIndex EMPTY = new InterfaceResolutionIndex(Map.of(), Map.of(), null);
+
+    private final Map<Class<?>, List<Class<?>>> implementations;
+    private final Map<Class<?>, Map<String, List<Class<?>>>> qualifiedImplementations;
+    private final InterfaceResolutionIndex parent;
+
+    private InterfaceResolutionIndex(Map<Class<?>, List<Class<?>>> implementations,
+                                     Map<Class<?>, Map<String, List<Class<?>>>> qualifiedImplementations,
+                                     InterfaceResolutionIndex parent) {
+        this.implementations = implementations;
+        this.qualifiedImplementations = qualifiedImplementations;
+        this.parent = parent;
+    }
+
+    public static InterfaceResolutionIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param implementationsRange  classes eligible for injection into fields of interface types
+     * @return                      index of the interfaces implemented by the classes
+     */
+    public static InterfaceResolutionIndex of(Collection<Class<?>> implementationsRange) {
+        if (implementationsRange.isEmpty()) {
+            return EMPTY;
+        }
+        var implementations = new HashMap<Class<?>, List<Class<?>>>();
+        var qualifiedImplementations = new HashMap<Class<?>, Map<String, List<Class<?>>>>();
+        for (Class<?> implementation : implementationsRange) {
+            var component = implementation.getAnnotation(Component.class);
+            for (Class<?> implementedInterface : allInterfaces(implementation)) {
+                implementations.computeIfAbsent(implementedInterface, key -> new ArrayList<>()).add(implementation);
+                if (component != null) {
+                    qualifiedImplementations.computeIfAbsent(implementedInterface, key -> new HashMap<>())
+                            .computeIfAbsent(component.value(), key -> new ArrayList<>())
+                            .add(implementation);
+                }
+            }
+        }
+        var frozenImplementations = new HashMap<Class<?>, List<Class<?>>>();
+        implementations.forEach((implementedInterface, classes) ->
+                frozenImplementations.put(implementedInterface, List.copyOf(classes)));
+        var frozenQualifiedImplementations = new HashMap<Class<?>, Map<String, List<Class<?>>>>();
+        qualifiedImplementations.forEach((implementedInterface, byName) -> {
+            var frozenByName = new HashMap<String, List<Class<?>>>();
+            byName.forEach((name, classes) -> frozenByName.put(name, List.copyOf(classes)));
+            frozenQualifiedImplementations.put(implementedInterface, Map.copyOf(frozenByName));
+        });
+        return new InterfaceResolutionIndex(Map.copyOf(frozenImplementations),
+                Map.copyOf(frozenQualifiedImplementations), null);
+    }
+
+    /**
+     * @param parent    index to look up interfaces this index has no implementations of, null for none
+     * @return          index with the same implementations and the parent
+     */
+    public InterfaceResolutionIndex withParent(InterfaceResolutionIndex parent) {
+        return new InterfaceResolutionIndex(implementations, qualifiedImplementations, parent);
+    }
+
+    /**
+     * Method makes a copy of the index without some of the classes and with some other classes,
+     * only the interfaces of these classes are indexed again. The parent is kept
+     *
+     * @param removedClasses    classes no longer eligible for injection, e.g. previous versions of reloaded classes
+     * @param addedClasses      classes newly eligible for injection
+     * @return                  updated index
+     */
+    public InterfaceResolutionIndex update(Collection<Class<?>> removedClasses, Collection<Class<?>> addedClasses) {
+        var updatedImplementations = new HashMap<>(implementations);
+        var updatedQualifiedImplementations = new HashMap<>(qualifiedImplementations);
+        for (Class<?> removedClass : removedClasses) {
+            for (Class<?> implementedInterface : allInterfaces(removedClass)) {
+                updatedImplementations.computeIfPresent(implementedInterface, (key, classes) ->
+                        without(classes, removedClass));
+                updatedQualifiedImplementations.computeIfPresent(implementedInterface, (key, byName) -> {
+                    var updatedByName = new HashMap<String, List<Class<?>>>();
+                    byName.forEach((name, classes) -> {
+                        var remaining = without(classes, removedClass);
+                        if (remaining != null) {
+                            updatedByName.put(name, remaining);
+                        }
+                    });
+                    return updatedByName.isEmpty() ? null : Map.copyOf(updatedByName);
+                });
+            }
+        }
+        for (Class<?> addedClass : addedClasses) {
+            var component = addedClass.getAnnotation(Component.class);
+            for (Class<?> implementedInterface : allInterfaces(addedClass)) {
+                updatedImplementations.merge(implementedInterface, List.of(addedClass),
+                        InterfaceResolutionIndex::concat);
+                if (component != null) {
+                    var byName = new HashMap<>(
+                            updatedQualifiedImplementations.getOrDefault(implementedInterface, Map.of()));
+                    byName.merge(component.value(), List.of(addedClass), InterfaceResolutionIndex::concat);
+                    updatedQualifiedImplementations.put(implementedInterface, Map.copyOf(byName));
+                }
+            }
+        }
+        return new InterfaceResolutionIndex(Map.copyOf(updatedImplementations),
+                Map.copyOf(updatedQualifiedImplementations), parent);
+    }
+
+    /**
+     * @param anInterface   interface of a field
+     * @return              classes of the range implementing the interface
+     */
+    public List<Class<?>> getImplementations(Class<?> anInterface) {
+        var found = implementations.get(anInterface);
+        if (found != null) {
+            return found;
+        }
+        return parent != null ? parent.getImplementations(anInterface) : Collections.emptyList();
+    }
+
+    /**
+     * @param anInterface   interface of a field
+     * @param qualifier     {@link Qualifier} value of the field
+     * @return              classes of the range implementing the interface and named so in {@link Component}
+     */
+    public List<Class<?>> getImplementations(Class<?> anInterface, String qualifier) {
+        var found = qualifiedImplementations.getOrDefault(anInterface, Collections.emptyMap()).get(qualifier);
+        if (found != null) {
+            return found;
+        }
+        return parent != null ? parent.getImplementations(anInterface, qualifier) : Collections.emptyList();
+    }
+
+    /**
+     * @return  the classes without the class, null if none remain
+     */
+    private static List<Class<?>> without(List<Class<?>> classes, Class<?> removedClass) {
+        var remaining = new ArrayList<Class<?>>(classes);
+        remaining.removeIf(aClass -> aClass == removedClass);
+        return remaining.isEmpty() ? null : List.copyOf(remaining);
+    }
+
+    private static List<Class<?>> concat(List<Class<?>> classes, List<Class<?>> addedClasses) {
+        var concatenated = new ArrayList<Class<?>>(classes);
+        concatenated.addAll(addedClasses);
+        return List.copyOf(concatenated);
+    }
+
+    /**
+     * @return  interfaces implemented by the class, its superclasses and all their superinterfaces
+     */
+    static Set<Class<?>> allInterfaces(Class<?> implementation) {
+        var interfaces = new LinkedHashSet<Class<?>>();
+        var toVisit = new ArrayList<Class<?>>();
+        for (var aClass = implementation; aClass != null; aClass = aClass.getSuperclass()) {
+            Collections.addAll(toVisit, aClass.getInterfaces());
+        }
+        while (!toVisit.isEmpty()) {
+            var anInterface = toVisit.remove(toVisit.size() - 1);
+            if (interfaces.add(anInterface)) {
+                Collections.addAll(toVisit, anInterface.getInterfaces());
+            }
+        }
+        return interfaces;
+    }
+}
@@ -0,0 +1,148 @@
+package com.blyznytsia.bring.context.util;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import com.blyznytsia.bring.context.annotation.AsyncInit;
+import com.blyznytsia.bring.context.annotation.PostConstruct;
+import com.blyznytsia.bring.context.annotation.PreDestroy;
+import com.blyznytsia.bring.context.exceptions.BeanCreationException;
+
+import lombok.SneakyThrows;
+
+/**
+ * {@link LifecycleMethods} holds the {@link MethodHandle} of the lifecycle methods of a class.
+ * Methods are looked up and validated once per class, when the first
+ * {@link com.blyznytsia.bring.context.BeanDefinition} of it is made, and the definition holds them,
+ * so calling them does no reflective lookups.
+ */
+public final class LifecycleMethods {
+
+    private static final MethodType ASYNC_INIT_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType CALLBACK_TYPE = MethodType.methodType(void.class, Object.class);
+
+    private static final ClassValue<LifecycleMethods> LIFECYCLE_METHODS = new ClassValue<>() {
+        @Override
+        protected LifecycleMethods computeValue(Class<?> beanClass) {
+            return new LifecycleMethods(beanClass);
+        }
+    };
+
+    private final MethodHandle postConstruct;
+    private final MethodHandle asyncInit;
+    private final MethodHandle preDestroy;
+
+    private LifecycleMethods(Class<?> beanClass) {
+        this.postConstruct = callback(beanClass, PostConstruct.class);
+        this.preDestroy = callback(beanClass, PreDestroy.class);
+        var asyncInitMethod = findMethod(beanClass, AsyncInit.class);
+        if (asyncInitMethod != null && asyncInitMethod.getReturnType() != void.class &&
+                !CompletionStage.class.isAssignableFrom(asyncInitMethod.getReturnType())) {
+            throw new BeanCreationException(String.format(
+                    "Context creation error: @AsyncInit method %s of %s has to return void or CompletionStage",
+                    asyncInitMethod.getName(), beanClass.getName()));
+        }
+        this.asyncInit = asyncInitMethod == null ? null : handle(beanClass, asyncInitMethod, ASYNC_INIT_TYPE);
+    }
+
+    /**
+     * @param beanClass     class of the objects
+     * @return              lifecycle methods of the class
+     * @throws BeanCreationException if a lifecycle method of the class is invalid
+     */
+    public static LifecycleMethods of(Class<?> beanClass) {
+        return LIFECYCLE_METHODS.get(beanClass);
+    }
+
+    public boolean hasPostConstruct() {
+        return postConstruct != null;
+    }
+
+    public boolean hasAsyncInit() {
+        return asyncInit != null;
+    }
+
+    public boolean hasPreDestroy() {
+        return preDestroy != null;
+    }
+
+    /**
+     * @param bean  created and configured object of the class
+     */
+    @SneakyThrows
+    public void invokePostConstruct(Object bean) {
+        postConstruct.invokeExact(bean);
+    }
+
+    /**
+     * @param bean  object of the class
+     */
+    @SneakyThrows
+    public void invokePreDestroy(Object bean) {
+        preDestroy.invokeExact(bean);
+    }
+
+    /**
+     * @param bean  object of the class
+     * @return      completion of the {@link AsyncInit} method
+     */
+    @SneakyThrows
+    public CompletableFuture<Void> invokeAsyncInit(Object bean) {
+        var result = (Object) asyncInit.invokeExact(bean);
+        if (result == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return ((CompletionStage<?>) result).toCompletableFuture().thenApply(value -> null);
+    }
+
+    /**
+     * @return  handle of the callback annotated so, its result is discarded; null if there is none
+     */
+    private static MethodHandle callback(Class<?> beanClass, Class<? extends Annotation> annotation) {
+        var method = findMethod(beanClass, annotation);
+        return method == null ? null : handle(beanClass, method, CALLBACK_TYPE);
+    }
+
+    /**
+     * @return  the method of the class or its superclasses annotated so, null if there is none
+     * @throws BeanCreationException if there are several such methods or the method has parameters or is static
+     */
+    private static Method findMethod(Class<?> beanClass, Class<? extends Annotation> annotation) {
+        var methods = new ArrayList<Method>();
+        for (var aClass = beanClass; aClass != null && aClass != Object.class; aClass = aClass.getSuperclass()) {
+            for (Method method : aClass.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(annotation) && methods.stream()
+                        .noneMatch(found -> found.getName().equals(method.getName()))) {
+                    methods.add(method);
+                }
+            }
+        }
+        if (methods.isEmpty()) {
+            return null;
+        }
+        var method = methods.get(0);
+        if (methods.size() > 1 || method.getParameterCount() > 0 || Modifier.isStatic(method.getModifiers())) {
+            throw new BeanCreationException(String.format(
+                    "Context creation error: %s has to have a single non-static @%s method without parameters",
+                    beanClass.getName(), annotation.getSimpleName()));
+        }
+        return method;
+    }
+
+    private static MethodHandle handle(Class<?> beanClass, Method method, MethodType type) {
+        try {
+            var lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+            return lookup.unreflect(method).asType(type);
+        } catch (IllegalAccessException e) {
+            throw new BeanCreationException(String.format(
+                    "Unable to access %s method of %s", method.getName(), beanClass.getName()), e);
+        }
+    }
+}
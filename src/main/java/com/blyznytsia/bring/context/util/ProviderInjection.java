@@ -0,0 +1,70 @@
+package com.blyznytsia.bring.context.util;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+import com.blyznytsia.bring.context.ObjectFactory;
+import com.blyznytsia.bring.context.Provider;
+import com.blyznytsia.bring.context.exceptions.BeanCreationException;
+
+/**
+ * {@link ProviderInjection} is an util class for injection points of {@link Provider} and {@link ObjectFactory} types.
+ * Such a point is a dependency named by {@link #slotName(String)} of the provided object, so creators and
+ * configurators bind it to a provider like any other dependency, while the provided object is not
+ * among the dependencies of {@link com.blyznytsia.bring.context.BeanDefinition} and is not created before it.
+ */
+public class ProviderInjection {
+
+    private static final String SLOT_PREFIX = "provider:";
+
+    private ProviderInjection() {
+    }
+
+    /**
+     * @param type  declared type of an injection point
+     * @return      true if a provider is to be injected into the point
+     */
+    public static boolean isProvider(Class<?> type) {
+        return type == Provider.class || type == ObjectFactory.class;
+    }
+
+    /**
+     * @param genericType       generic type of a provider injection point
+     * @param injectionPoint    description of the point for the error message
+     * @return                  type of the provided object
+     * @throws BeanCreationException if the point does not declare the type of the provided object
+     */
+    public static Class<?> providedType(Type genericType, String injectionPoint) {
+        if (genericType instanceof ParameterizedType) {
+            var providedType = ((ParameterizedType) genericType).getActualTypeArguments()[0];
+            if (providedType instanceof Class) {
+                return (Class<?>) providedType;
+            }
+            if (providedType instanceof ParameterizedType) {
+                return (Class<?>) ((ParameterizedType) providedType).getRawType();
+            }
+        }
+        throw new BeanCreationException(String.format(
+                "Context creation error: %s has to declare the class of the provided bean", injectionPoint));
+    }
+
+    /**
+     * @param beanName  name of the provided object
+     * @return          name of the dependency a provider of the object is injected for
+     */
+    public static String slotName(String beanName) {
+        return SLOT_PREFIX + beanName;
+    }
+
+    public static boolean isSlotName(String dependency) {
+        return dependency.startsWith(SLOT_PREFIX);
+    }
+
+    /**
+     * @param slotName  name made by {@link #slotName(String)}
+     * @return          name of the provided object
+     */
+    public static String providedBeanName(String slotName) {
+        return slotName.substring(SLOT_PREFIX.length());
+    }
+}
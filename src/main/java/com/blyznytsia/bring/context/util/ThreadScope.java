@@ -0,0 +1,90 @@
+package com.blyznytsia.bring.context.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.function.Supplier;
+
+import com.blyznytsia.bring.context.exceptions.BeanCreationException;
+
+/**
+ * {@link ThreadScope} holds the objects of a thread-scoped class
+ * ({@link com.blyznytsia.bring.context.constants.BeanScope#THREAD}), one per thread, in a {@link ThreadLocal}:
+ * the object of the calling thread is a single thread-local read away, it is created on the first request
+ * of the thread and it is gone with the thread. Nothing refers to the threads, so short-lived threads
+ * leave nothing behind and creating many of them costs an object per thread that requests one.
+ * <p>
+ * Objects shared by threads get a proxy ({@link #getProxy()}) implementing the interfaces of the class
+ * and calling the object of the calling thread, so they are to refer to thread-scoped objects through interfaces.
+ */
+public class ThreadScope {
+
+    private final Class<?> beanClass;
+    private final ThreadLocal<Object> instances;
+    private volatile Object proxy;
+
+    /**
+     * @param beanClass     class of the objects
+     * @param factory       creates new configured objects
+     */
+    public ThreadScope(Class<?> beanClass, Supplier<Object> factory) {
+        this.beanClass = beanClass;
+        this.instances = ThreadLocal.withInitial(factory);
+    }
+
+    /**
+     * @return  object of the calling thread, created if the thread has none
+     */
+    public Object get() {
+        return instances.get();
+    }
+
+    /**
+     * Method drops the object of the calling thread, the next request of the thread creates a new one.
+     * Threads reused for unrelated work, e.g. by a thread pool, drop their objects between the pieces of work
+     */
+    public void remove() {
+        instances.remove();
+    }
+
+    /**
+     * Method creates the proxy on the first call without locking; threads racing for it may create
+     * equal proxies, one of which is kept
+     *
+     * @return  proxy calling the object of the calling thread
+     * @throws BeanCreationException if the class implements no interfaces visible from its class loader
+     */
+    public Object getProxy() {
+        var currentProxy = proxy;
+        if (currentProxy == null) {
+            currentProxy = createProxy();
+            proxy = currentProxy;
+        }
+        return currentProxy;
+    }
+
+    public Class<?> getBeanClass() {
+        return beanClass;
+    }
+
+    private Object createProxy() {
+        var interfaces = InterfaceResolutionIndex.allInterfaces(beanClass);
+        if (interfaces.isEmpty()) {
+            throw new BeanCreationException(String.format(
+                    "Thread scoped bean %s implements no interfaces, it can be injected into prototype " +
+                            "and thread scoped beans only", beanClass.getName()));
+        }
+        try {
+            return Proxy.newProxyInstance(beanClass.getClassLoader(), interfaces.toArray(Class<?>[]::new),
+                    (target, method, args) -> {
+                        try {
+                            return method.invoke(instances.get(), args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        } catch (IllegalArgumentException e) {
+            throw new BeanCreationException(String.format(
+                    "Unable to create a proxy of thread scoped bean %s", beanClass.getName()), e);
+        }
+    }
+}
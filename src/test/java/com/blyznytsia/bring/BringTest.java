@@ -1,7 +1,11 @@
 package com.blyznytsia.bring;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.Mockito.verify;
 
+import java.lang.reflect.Field;
 import java.util.Arrays;
 
 import org.junit.jupiter.api.Test;
@@ -35,4 +39,29 @@ class BringTest {
         // then:
         verify(mockedApplicationContext).init();
     }
+
+    @Test
+    void close() throws IllegalAccessException {
+
+        // given: field of ApplicationContext type is set
+        var applicationContextField = applicationContextField();
+        var mockedApplicationContext = Mockito.mock(ApplicationContext.class);
+        applicationContextField.set(null, mockedApplicationContext);
+
+        // when:
+        Bring.close();
+
+        // then: the context is closed and replaced
+        verify(mockedApplicationContext).close();
+        assertThat(applicationContextField.get(null), not(sameInstance(mockedApplicationContext)));
+    }
+
+    private static Field applicationContextField() {
+        var applicationContextField = Arrays.stream(Bring.class.getDeclaredFields())
+                .filter(field -> field.getType().getName().equals(ApplicationContext.class.getName()))
+                .findFirst()
+                .orElseThrow();
+        applicationContextField.setAccessible(true);
+        return applicationContextField;
+    }
 }
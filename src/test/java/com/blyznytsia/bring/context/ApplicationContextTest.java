@@ -1,19 +1,73 @@
 package com.blyznytsia.bring.context;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
+import java.util.ArrayDeque;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.InOrder;
 import org.mockito.Mockito;
 
+import com.blyznytsia.bring.context.annotation.Pooled;
+import com.blyznytsia.bring.context.aot.AotContextFactory;
+import com.blyznytsia.bring.context.constants.BeanStatus;
+import com.blyznytsia.bring.context.constants.StartupPhase;
+import com.blyznytsia.bring.context.demo.test_data_classes.asyncinit.CacheWarmer;
+import com.blyznytsia.bring.context.demo.test_data_classes.asyncinit.FailingInit;
+import com.blyznytsia.bring.context.demo.test_data_classes.asyncinit.ReferenceData;
 import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class1;
 import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class2;
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class3;
+import com.blyznytsia.bring.context.demo.test_data_classes.inheritance.CasualGreeting;
+import com.blyznytsia.bring.context.demo.test_data_classes.inheritance.FormalGreeting;
+import com.blyznytsia.bring.context.demo.test_data_classes.inheritance.GreetingService;
+import com.blyznytsia.bring.context.demo.test_data_classes.inheritance.KindGreeting;
+import com.blyznytsia.bring.context.demo.test_data_classes.inheritance.PoliteGreeting;
+import com.blyznytsia.bring.context.demo.test_data_classes.lifecycle.DataSource;
+import com.blyznytsia.bring.context.demo.test_data_classes.lifecycle.FailingDestroy;
+import com.blyznytsia.bring.context.demo.test_data_classes.lifecycle.FirstWorker;
+import com.blyznytsia.bring.context.demo.test_data_classes.lifecycle.LifecycleLog;
+import com.blyznytsia.bring.context.demo.test_data_classes.lifecycle.Repository;
+import com.blyznytsia.bring.context.demo.test_data_classes.lifecycle.SecondWorker;
+import com.blyznytsia.bring.context.demo.test_data_classes.lifecycle.Session;
+import com.blyznytsia.bring.context.demo.test_data_classes.lifecycle.ShutdownBarrier;
+import com.blyznytsia.bring.context.demo.test_data_classes.pooled.PooledBuffer;
+import com.blyznytsia.bring.context.demo.test_data_classes.pooled.PooledParser;
+import com.blyznytsia.bring.context.demo.test_data_classes.prototype.PrototypeDependency;
+import com.blyznytsia.bring.context.demo.test_data_classes.provider.ExpensiveReport;
+import com.blyznytsia.bring.context.demo.test_data_classes.provider.ReportController;
+import com.blyznytsia.bring.context.demo.test_data_classes.provider.ReportService;
+import com.blyznytsia.bring.context.demo.test_data_classes.thread.FormattingService;
+import com.blyznytsia.bring.context.demo.test_data_classes.thread.ThreadFormatter;
+import com.blyznytsia.bring.context.demo.test_data_classes.thread.ThreadFormatterHolder;
+import com.blyznytsia.bring.context.exceptions.BeanCreationException;
+import com.blyznytsia.bring.context.exceptions.BeanDefinitionNotFoundException;
+import com.blyznytsia.bring.context.exceptions.BeanDestructionException;
 import com.blyznytsia.bring.context.exceptions.NoSuchBeanException;
+import com.blyznytsia.bring.context.util.BeanDefinitionGenerator;
+import com.blyznytsia.bring.context.util.InterfaceResolutionIndex;
 
 class ApplicationContextTest {
 
@@ -38,6 +92,61 @@ class ApplicationContextTest {
         inOrder.verify(factory).traverseBeanDefinitionRegistryAndFillBeanMap(beanDefinitionRegistry, beanMap);
     }
 
+    @Test
+    public void initIsDoneOnce() {
+        var scanner = mock(Scanner.class);
+        var factory = mock(BeanFactory.class);
+        context.setScanner(scanner);
+        context.setFactory(factory);
+
+        context.init();
+        context.init();
+
+        verify(scanner, times(1)).scanAndFillBeanDefinitionRegistry(any());
+        verify(factory, times(1)).traverseBeanDefinitionRegistryAndFillBeanMap(any(), any());
+        assertThat(context.isInitialized(), is(true));
+    }
+
+    @Test
+    public void reconfigurationAfterInit() {
+        context.setScanner(mock(Scanner.class));
+        context.setFactory(mock(BeanFactory.class));
+        context.init();
+
+        assertThrows(IllegalStateException.class, () -> context.setBeanMap(new HashMap<>()));
+        assertThrows(IllegalStateException.class, () -> context.setFactory(new BeanFactory()));
+    }
+
+    @Test
+    public void beansCreatedByInitArePublished() {
+        var class1Instance = new Class1();
+        var factory = mock(BeanFactory.class);
+        doAnswer(invocation -> invocation.<Map<String, Object>>getArgument(1).put(Class1.class.getName(), class1Instance))
+                .when(factory).traverseBeanDefinitionRegistryAndFillBeanMap(any(), any());
+        context.setScanner(mock(Scanner.class));
+        context.setFactory(factory);
+
+        context.init();
+
+        assertThat(context.getBean(Class1.class), is(class1Instance));
+    }
+
+    @Test
+    public void aotContextFactoryReplacesScanner() {
+        var scanner = mock(Scanner.class);
+        var aotContextFactory = mock(AotContextFactory.class);
+        var beanDefinitionRegistry = new BeanDefinitionRegistry();
+        context.setScanner(scanner);
+        context.setFactory(mock(BeanFactory.class));
+        context.setBeanDefinitionRegistry(beanDefinitionRegistry);
+        context.setAotContextFactory(aotContextFactory);
+
+        context.init();
+
+        verify(aotContextFactory).fillBeanDefinitionRegistry(beanDefinitionRegistry);
+        verify(scanner, never()).scanAndFillBeanDefinitionRegistry(any());
+    }
+
     @Test
     public void getBean() {
         var beanMap = new HashMap<String, Object>();
@@ -55,4 +164,386 @@ class ApplicationContextTest {
     public void getBeanWhenBeanNotFound() {
         assertThrows(NoSuchBeanException.class, () -> context.getBean(Class2.class));
     }
+
+    @Test
+    public void childTakesMissingBeansFromParent() {
+        var parent = contextOf(Class1.class, Class2.class, Class3.class);
+
+        var child = parent.createChild(Class2.class);
+
+        var childClass2 = child.getBean(Class2.class);
+        assertThat(childClass2, not(sameInstance(parent.getBean(Class2.class))));
+        assertThat(childClass2.getClass3(), sameInstance(parent.getBean(Class3.class)));
+        assertThat(child.getBean(Class1.class), sameInstance(parent.getBean(Class1.class)));
+        assertThat(child.getParent(), is(parent));
+        assertThat(child.getStartupMetrics().getPhaseTiming(StartupPhase.PACKAGE_SCANNING).getCount(), is(0L));
+    }
+
+    @Test
+    public void childInterfaceImplementationsHideParentOnes() {
+        var parent = contextOf(FormalGreeting.class, CasualGreeting.class, GreetingService.class);
+
+        var child = parent.createChild(KindGreeting.class, GreetingService.class);
+
+        var childService = child.getBean(GreetingService.class);
+        assertThat(childService.getPoliteGreeting(), instanceOf(KindGreeting.class));
+        assertThat(childService.getFormalGreeting(), sameInstance(parent.getBean(FormalGreeting.class)));
+        assertThat(childService.getCasualGreeting(), sameInstance(parent.getBean(CasualGreeting.class)));
+        assertThat(child.getBean(PoliteGreeting.class), instanceOf(KindGreeting.class));
+        assertThat(parent.getBean(PoliteGreeting.class), instanceOf(FormalGreeting.class));
+        assertThat(parent.getBean(GreetingService.class).getPoliteGreeting(), instanceOf(FormalGreeting.class));
+    }
+
+    @Test
+    public void childDoesNotScanUnlessScannerIsSet() {
+        var parent = contextOf(Class1.class);
+        var scanner = mock(Scanner.class);
+        var child = new ApplicationContext(parent);
+
+        child.init();
+        assertThat(child.getBean(Class1.class), sameInstance(parent.getBean(Class1.class)));
+
+        var scanningChild = new ApplicationContext(parent);
+        scanningChild.setScanner(scanner);
+        scanningChild.init();
+        verify(scanner).scanAndFillBeanDefinitionRegistry(any());
+    }
+
+    @Test
+    public void getBeanNotFoundInChildOrParent() {
+        var child = contextOf(Class1.class).createChild();
+
+        assertThrows(NoSuchBeanException.class, () -> child.getBean(Class2.class));
+    }
+
+    @Test
+    public void refreshRecreatesChangedBeansAndTheirDependents() {
+        var context = contextOf(Class1.class, Class2.class, Class3.class);
+        context.init();
+        var class1 = context.getBean(Class1.class);
+        var class2 = context.getBean(Class2.class);
+        var class3 = context.getBean(Class3.class);
+
+        context.refresh(List.of(BeanDefinitionGenerator.generate(Class3.class, Set.of())), List.of());
+
+        assertThat(context.getBean(Class1.class), sameInstance(class1));
+        assertThat(context.getBean(Class3.class), not(sameInstance(class3)));
+        assertThat(context.getBean(Class3.class).getClass1(), sameInstance(class1));
+        assertThat(context.getBean(Class2.class), not(sameInstance(class2)));
+        assertThat(context.getBean(Class2.class).getClass3(), sameInstance(context.getBean(Class3.class)));
+    }
+
+    @Test
+    public void refreshRemovesBeans() {
+        var context = contextOf(Class1.class, Class2.class, Class3.class);
+        context.init();
+        var class3 = context.getBean(Class3.class);
+
+        context.refresh(List.of(), List.of(Class2.class.getName()));
+
+        assertThrows(NoSuchBeanException.class, () -> context.getBean(Class2.class));
+        assertThat(context.getBean(Class3.class), sameInstance(class3));
+    }
+
+    @Test
+    public void failedRefreshKeepsPreviousGeneration() {
+        var context = contextOf(Class1.class, Class2.class, Class3.class);
+        context.init();
+        var class2 = context.getBean(Class2.class);
+
+        assertThrows(BeanDefinitionNotFoundException.class,
+                () -> context.refresh(List.of(), List.of(Class3.class.getName())));
+
+        assertThat(context.getBean(Class2.class), sameInstance(class2));
+        assertThat(context.getBean(Class3.class), sameInstance(class2.getClass3()));
+    }
+
+    @Test
+    public void concurrentGetBeanSeesWholeGenerations() throws InterruptedException {
+        var context = contextOf(Class1.class, Class2.class, Class3.class);
+        context.init();
+        var failure = new AtomicReference<Throwable>();
+        var running = new AtomicBoolean(true);
+        var reader = new Thread(() -> {
+            try {
+                while (running.get()) {
+                    assertThat(context.getBean(Class2.class).getClass3().getClass1(), is(notNullValue()));
+                }
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        reader.start();
+
+        for (int i = 0; i < 100; i++) {
+            context.refresh(List.of(BeanDefinitionGenerator.generate(Class1.class, Set.of())), List.of());
+        }
+        running.set(false);
+        reader.join();
+
+        assertThat(failure.get(), is(nullValue()));
+    }
+
+    @Test
+    public void borrowAndReturnPooledBean() {
+        var context = contextOf(Class1.class, PooledBuffer.class);
+        var pool = context.getBeanPool(PooledBuffer.class);
+
+        var bean = context.borrowBean(PooledBuffer.class);
+        context.returnBean(bean);
+
+        assertThat(context.borrowBean(PooledBuffer.class), sameInstance(bean));
+        assertThat(context.getBean(PooledBuffer.class), not(sameInstance(bean)));
+        assertThat(pool.getHitCount(), is(1L));
+        assertThat(pool.getMissCount(), is(1L));
+        assertThat(pool.getMaxSize(), is(Pooled.DEFAULT_MAX_SIZE));
+    }
+
+    @Test
+    public void pooledBeansArePrefilledInBackground() throws InterruptedException {
+        var context = contextOf(Class1.class, PooledParser.class);
+        var pool = context.getBeanPool(PooledParser.class);
+        for (int i = 0; i < 100 && pool.getIdleCount() < 2; i++) {
+            Thread.sleep(10);
+        }
+
+        var parser = context.borrowBean(PooledParser.class);
+
+        assertThat(parser.getClass1(), sameInstance(context.getBean(Class1.class)));
+        assertThat(pool.getMaxSize(), is(2));
+        assertThat(pool.getHitCount(), is(1L));
+        assertThat(pool.getMissCount(), is(0L));
+    }
+
+    @Test
+    public void childBorrowsFromParentPool() {
+        var parent = contextOf(Class1.class, PooledBuffer.class);
+        var child = parent.createChild();
+
+        assertThat(child.getBeanPool(PooledBuffer.class), sameInstance(parent.getBeanPool(PooledBuffer.class)));
+    }
+
+    @Test
+    public void returnBeanOfNotPooledType() {
+        var context = contextOf(Class1.class);
+
+        assertThrows(NoSuchBeanException.class, () -> context.returnBean(context.getBean(Class1.class)));
+        assertThrows(NoSuchBeanException.class, () -> context.borrowBean(Class1.class));
+    }
+
+    @Test
+    public void getBeanReturnsObjectOfCallingThread() throws Exception {
+        var context = contextOf(ThreadFormatter.class);
+        context.init();
+        var formatter = context.getBean(ThreadFormatter.class);
+
+        var otherThreadFormatter = new AtomicReference<ThreadFormatter>();
+        var otherThread = new Thread(() -> otherThreadFormatter.set(context.getBean(ThreadFormatter.class)));
+        otherThread.start();
+        otherThread.join();
+
+        assertThat(context.getBean(ThreadFormatter.class), sameInstance(formatter));
+        assertThat(otherThreadFormatter.get(), not(sameInstance(formatter)));
+        assertThat(otherThreadFormatter.get().getOwner(), is(otherThread));
+
+        context.clearThreadScope();
+        assertThat(context.getBean(ThreadFormatter.class), not(sameInstance(formatter)));
+    }
+
+    @Test
+    public void singletonCallsObjectOfCallingThreadThroughProxy() throws Exception {
+        var context = contextOf(ThreadFormatter.class, FormattingService.class);
+        context.init();
+        var formatter = context.getBean(FormattingService.class).getFormatter();
+
+        var otherThreadOwner = new AtomicReference<Thread>();
+        var otherThread = new Thread(() -> otherThreadOwner.set(formatter.getOwner()));
+        otherThread.start();
+        otherThread.join();
+
+        assertThat(formatter, not(instanceOf(ThreadFormatter.class)));
+        assertThat(formatter.format("text"), is("[text]"));
+        assertThat(formatter.getOwner(), is(Thread.currentThread()));
+        assertThat(otherThreadOwner.get(), is(otherThread));
+    }
+
+    @Test
+    public void threadScopedBeanInjectedIntoClassFieldOfSingleton() {
+        var context = contextOf(ThreadFormatter.class, ThreadFormatterHolder.class);
+
+        assertThrows(BeanCreationException.class, context::init);
+    }
+
+    @Test
+    public void providerCreatesLazyBeanOnFirstGet() {
+        var context = contextOf(ExpensiveReport.class, PrototypeDependency.class, ReportService.class,
+                ReportController.class);
+        context.init();
+        var reportDefinition = context.getBeanDefinitions().get(ExpensiveReport.class.getName());
+        var service = context.getBean(ReportService.class);
+
+        assertThat(reportDefinition.getStatus(), is(BeanStatus.INITIALIZING));
+
+        var report = service.getReport().get();
+        assertThat(reportDefinition.getStatus(), is(BeanStatus.CREATED));
+        assertThat(service.getReport().get(), sameInstance(report));
+        assertThat(context.getBean(ReportController.class).getReport().get(), sameInstance(report));
+        assertThat(context.getBean(ExpensiveReport.class), sameInstance(report));
+    }
+
+    @Test
+    public void objectFactoryOfPrototypeCreatesNewObjects() {
+        var context = contextOf(ExpensiveReport.class, PrototypeDependency.class, ReportService.class);
+        context.init();
+        var dependencies = context.getBean(ReportService.class).getDependencies();
+
+        assertThat(dependencies.getObject(), not(sameInstance(dependencies.getObject())));
+    }
+
+    @Test
+    public void providerOfNotRegisteredBean() {
+        var context = contextOf(ExpensiveReport.class, ReportService.class);
+
+        assertThrows(BeanDefinitionNotFoundException.class, context::init);
+    }
+
+    @Test
+    public void refreshRecreatesBeansProvidingChangedBean() {
+        var context = contextOf(ExpensiveReport.class, PrototypeDependency.class, ReportService.class);
+        context.init();
+        var service = context.getBean(ReportService.class);
+        var report = service.getReport().get();
+
+        context.refresh(List.of(BeanDefinitionGenerator.generate(ExpensiveReport.class, Set.of())), List.of());
+
+        var refreshedService = context.getBean(ReportService.class);
+        assertThat(refreshedService, not(sameInstance(service)));
+        assertThat(refreshedService.getReport().get(), not(sameInstance(report)));
+        assertThat(service.getReport().get(), sameInstance(report));
+    }
+
+    @Test
+    public void asyncInitRunsAfterInitOfDependencies() {
+        var initTasks = new ArrayDeque<Runnable>();
+        var factory = new BeanFactory();
+        factory.setInitExecutor(initTasks::add);
+        var context = contextOf(ReferenceData.class, CacheWarmer.class);
+        context.setFactory(factory);
+        context.init();
+
+        var cacheWarmer = context.getBeanWhenReady(CacheWarmer.class);
+        assertThat(initTasks.size(), is(1));
+        assertThat(cacheWarmer.isDone(), is(false));
+        assertThat(context.isReady(), is(false));
+
+        initTasks.poll().run();
+        assertThat(context.getBeanWhenReady(ReferenceData.class).isDone(), is(true));
+        assertThat(initTasks.size(), is(1));
+
+        initTasks.poll().run();
+        assertThat(cacheWarmer.join().isWarmedWithLoadedData(), is(true));
+        assertThat(context.isReady(), is(true));
+    }
+
+    @Test
+    public void failedAsyncInitFailsReadiness() {
+        var context = contextOf(FailingInit.class, Class1.class);
+        context.init();
+
+        var exception = assertThrows(CompletionException.class, () -> context.whenReady().join());
+        assertThat(exception.getCause(), instanceOf(IllegalStateException.class));
+        assertThat(context.isReady(), is(false));
+        assertThat(context.getBeanWhenReady(Class1.class).isDone(), is(true));
+    }
+
+    @Test
+    public void closeDestroysBeansInReverseDependencyOrder() {
+        var context = contextOf(LifecycleLog.class, DataSource.class, Repository.class, Session.class);
+        context.init();
+        var log = context.getBean(LifecycleLog.class);
+        var session = context.borrowBean(Session.class);
+        assertThat(session.isStarted(), is(true));
+        context.returnBean(session);
+
+        context.close();
+
+        assertThat(log.getEvents().subList(0, 2),
+                contains("open DataSource", "open Repository, DataSource open: true"));
+        assertThat(log.getEvents().subList(2, 4), hasItems("close Repository, DataSource open: true",
+                "close Session, DataSource open: true"));
+        assertThat(log.getEvents().get(4), is("close DataSource"));
+        assertThat(log.getEvents().size(), is(5));
+        assertThat(context.isClosed(), is(true));
+        assertThrows(NoSuchBeanException.class, () -> context.getBean(LifecycleLog.class));
+    }
+
+    @Test
+    public void closeDestroysIndependentBeansConcurrently() {
+        var context = contextOf(ShutdownBarrier.class, FirstWorker.class, SecondWorker.class);
+        context.init();
+
+        // each worker waits at the barrier for the other one, so sequential destruction fails
+        context.close();
+        context.close();
+    }
+
+    @Test
+    public void failedPreDestroyDoesNotStopClose() {
+        var context = contextOf(LifecycleLog.class, DataSource.class, FailingDestroy.class);
+        context.init();
+        var log = context.getBean(LifecycleLog.class);
+
+        var exception = assertThrows(BeanDestructionException.class, context::close);
+
+        assertThat(exception.getCause().getCause(), instanceOf(IllegalStateException.class));
+        assertThat(log.getEvents().contains("close DataSource"), is(true));
+        assertThat(context.isClosed(), is(true));
+        assertThrows(NoSuchBeanException.class, () -> context.getBean(DataSource.class));
+        assertThrows(IllegalStateException.class, () -> context.refresh(List.of(), List.of()));
+    }
+
+    @Test
+    public void refreshDestroysReplacedBeans() {
+        var context = contextOf(LifecycleLog.class, DataSource.class, Repository.class);
+        context.init();
+        var log = context.getBean(LifecycleLog.class);
+
+        context.refresh(List.of(BeanDefinitionGenerator.generate(DataSource.class, Set.of())), List.of());
+
+        assertThat(log.getEvents().subList(2, 6), contains("open DataSource", "open Repository, DataSource open: true",
+                "close Repository, DataSource open: true", "close DataSource"));
+        assertThat(context.getBean(DataSource.class).isOpen(), is(true));
+
+        context.refresh(List.of(), List.of(Repository.class.getName()));
+
+        assertThat(log.getEvents().subList(6, log.getEvents().size()),
+                contains("close Repository, DataSource open: true"));
+        assertThat(context.getBean(LifecycleLog.class), sameInstance(log));
+    }
+
+    @Test
+    public void closedChildLeavesParentBeans() {
+        var parent = contextOf(LifecycleLog.class, DataSource.class);
+        var child = parent.createChild(Repository.class);
+        var log = parent.getBean(LifecycleLog.class);
+
+        child.close();
+
+        assertThat(log.getEvents().contains("close Repository, DataSource open: true"), is(true));
+        assertThat(parent.getBean(DataSource.class).isOpen(), is(true));
+        assertThat(child.getBean(DataSource.class), sameInstance(parent.getBean(DataSource.class)));
+    }
+
+    private static ApplicationContext contextOf(Class<?>... beanClasses) {
+        var registry = new BeanDefinitionRegistry();
+        var resolutionIndex = InterfaceResolutionIndex.of(List.of(beanClasses));
+        for (Class<?> beanClass : beanClasses) {
+            registry.registerBeanDefinition(beanClass.getName(),
+                    BeanDefinitionGenerator.generate(beanClass, resolutionIndex));
+        }
+        var context = new ApplicationContext();
+        context.setScanner(mock(Scanner.class));
+        context.setBeanDefinitionRegistry(registry);
+        return context;
+    }
 }
@@ -1,21 +1,31 @@
 package com.blyznytsia.bring.context;
 
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.lang.reflect.Constructor;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -25,6 +35,7 @@ import org.reflections.Reflections;
 
 import com.blyznytsia.bring.context.annotation.Autowired;
 import com.blyznytsia.bring.context.annotation.Component;
+import com.blyznytsia.bring.context.constants.StartupPhase;
 import com.blyznytsia.bring.context.demo.test_data_classes.exception.ClassAwithB;
 import com.blyznytsia.bring.context.demo.test_data_classes.exception.ClassBwithA;
 import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class1;
@@ -33,7 +44,12 @@ import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class3;
 import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class4;
 import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.HelloInterfaceImpl_1;
 import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.HelloInterfaceImpl_2;
+import com.blyznytsia.bring.context.demo.test_data_classes.prototype.PrototypeClass;
+import com.blyznytsia.bring.context.demo.test_data_classes.prototype.PrototypeDependency;
+import com.blyznytsia.bring.context.demo.test_data_classes.prototype.SingletonWithPrototype;
+import com.blyznytsia.bring.context.exceptions.BeanCreationException;
 import com.blyznytsia.bring.context.exceptions.CircularDependencyException;
+import com.blyznytsia.bring.context.metrics.StartupMetrics;
 import com.blyznytsia.bring.context.services.BeanConfigurator;
 import com.blyznytsia.bring.context.services.impl.AutowiredConstructorBeanCreator;
 import com.blyznytsia.bring.context.services.impl.AutowiredFieldBeanConfigurator;
@@ -192,6 +208,187 @@ class BeanFactoryTest {
                 () -> factory.traverseBeanDefinitionRegistryAndFillBeanMap(registry, beanMap));
     }
 
+    @Test
+    @DisplayName("Autowired field types of a definition built by hand are resolved once, on first use")
+    void autowiredFieldTypesOfHandBuiltDefinition() throws ClassNotFoundException {
+        var beanDefinition = registry.getBeanDefinition(CLASS_FIELD_OF_INTERFACE_TYPE);
+
+        var autowiredFieldTypes = beanDefinition.getAutowiredFieldTypes();
+
+        assertThat(autowiredFieldTypes.values(), hasItems(Class.forName(CLASS_INTERFACE_IMPL_2)));
+        assertThat(beanDefinition.getAutowiredFieldTypes(), sameInstance(autowiredFieldTypes));
+    }
+
+    @Test
+    @DisplayName("Beans created in parallel are the same as the ones created sequentially")
+    void parallelCreation() throws ClassNotFoundException {
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            new BeanFactory(executor).traverseBeanDefinitionRegistryAndFillBeanMap(registry, beanMap);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(beanMap.values(), hasSize(registry.getBeanDefinitionMap().values().size()));
+        for (var className : registry.getBeanDefinitionMap().keySet()) {
+            var createdBean = beanMap.get(className);
+            assertThat(createdBean, instanceOf(Class.forName(className)));
+            validateFields(createdBean);
+        }
+        var class4 = (Class4) beanMap.get(CLASS_SOME_FIELDS_AUTOWIRED_VIA_CONSTRUCTOR);
+        assertThat(class4.getClass3().getClass1(), is(beanMap.get(CLASS_NO_FIELDS)));
+    }
+
+    @Test
+    @DisplayName("Failure of parallel creation is rethrown and dependent beans are not created")
+    void parallelCreationFailure() {
+        registry.getBeanDefinition(CLASS_AUTOWIRED_SETTER).setBeanCreator((className, beanMap) -> {
+            throw new BeanCreationException("test failure");
+        });
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            var exception = assertThrows(BeanCreationException.class, () ->
+                    new BeanFactory(executor).traverseBeanDefinitionRegistryAndFillBeanMap(registry, beanMap));
+            assertThat(exception.getMessage(), is("test failure"));
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(beanMap.containsKey(CLASS_AUTOWIRED_FIELD), is(false));
+        assertThat(beanMap.containsKey(CLASS_ALL_FIELDS_AUTOWIRED_VIA_CONSTRUCTOR), is(false));
+    }
+
+    @Test
+    @DisplayName("Creation and configuration of every bean are recorded to startup metrics")
+    void startupMetrics() {
+        var metrics = new StartupMetrics(true);
+        factory.setStartupMetrics(metrics);
+
+        factory.traverseBeanDefinitionRegistryAndFillBeanMap(registry, beanMap);
+
+        var timedBeans = metrics.getBeanTimings().stream()
+                .map(StartupMetrics.BeanTiming::getBeanName)
+                .collect(toList());
+        assertThat(timedBeans, containsInAnyOrder(registry.getBeanDefinitionMap().keySet().toArray()));
+        assertThat(metrics.getPhaseTiming(StartupPhase.CREATION).getCount(), is((long) timedBeans.size()));
+        assertThat(metrics.getPhaseTiming(StartupPhase.CONFIGURATION).getCount(), is((long) timedBeans.size()));
+    }
+
+    @Test
+    @DisplayName("Lazy beans are not created unless other beans depend on them")
+    void lazyBeansSkipped() {
+        registry.getBeanDefinition(CLASS_FIELD_OF_INTERFACE_TYPE_AND_VARIOUS_INJECTION_MODES).setLazy(true);
+        registry.getBeanDefinition(CLASS_NO_FIELDS).setLazy(true);
+
+        factory.traverseBeanDefinitionRegistryAndFillBeanMap(registry, beanMap);
+
+        assertThat(beanMap.containsKey(CLASS_FIELD_OF_INTERFACE_TYPE_AND_VARIOUS_INJECTION_MODES), is(false));
+        assertThat(beanMap.containsKey(CLASS_NO_FIELDS), is(true));
+        assertThat(beanMap.values(), hasSize(registry.getBeanDefinitionMap().size() - 1));
+    }
+
+    @Test
+    @DisplayName("Lazy bean and its dependencies are created exactly once by concurrent requests")
+    void lazyBeanCreatedOnce() throws InterruptedException, ExecutionException {
+        var lazyBeanDefinition = registry.getBeanDefinition(CLASS_FIELD_OF_INTERFACE_TYPE);
+        lazyBeanDefinition.setLazy(true);
+        registry.getBeanDefinition(CLASS_INTERFACE_IMPL_2).setLazy(true);
+        var creations = new AtomicInteger();
+        var beanCreator = lazyBeanDefinition.getBeanCreator();
+        lazyBeanDefinition.setBeanCreator((className, beanMap) -> {
+            creations.incrementAndGet();
+            return beanCreator.create(className, beanMap);
+        });
+        var concurrentBeanMap = new ConcurrentHashMap<String, Object>();
+        factory.traverseBeanDefinitionRegistryAndFillBeanMap(registry, concurrentBeanMap);
+        assertThat(concurrentBeanMap.containsKey(CLASS_INTERFACE_IMPL_2), is(false));
+
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            var requests = Collections.nCopies(8, (Callable<Object>) () ->
+                    factory.createLazyBean(registry, lazyBeanDefinition, concurrentBeanMap));
+            for (var request : executor.invokeAll(requests)) {
+                assertThat(request.get(), is(concurrentBeanMap.get(CLASS_FIELD_OF_INTERFACE_TYPE)));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(creations.get(), is(1));
+        assertThat(concurrentBeanMap.containsKey(CLASS_INTERFACE_IMPL_2), is(true));
+        assertThat(concurrentBeanMap.values(), hasSize(registry.getBeanDefinitionMap().size()));
+        validateFields(concurrentBeanMap.get(CLASS_FIELD_OF_INTERFACE_TYPE));
+    }
+
+    @Test
+    @DisplayName("Lazy bean is published only when configured, a failed creation leaves nothing behind")
+    void lazyBeanPublishedWhenConfigured() {
+        var lazyBeanDefinition = registry.getBeanDefinition(CLASS_FIELD_OF_INTERFACE_TYPE);
+        lazyBeanDefinition.setLazy(true);
+        var concurrentBeanMap = new ConcurrentHashMap<String, Object>();
+        factory.traverseBeanDefinitionRegistryAndFillBeanMap(registry, concurrentBeanMap);
+        var attempts = new AtomicInteger();
+        var configurators = new ArrayList<>(lazyBeanDefinition.getBeanConfigurators());
+        configurators.add((bean, beanDefinition, storage) -> {
+            assertThat(storage.containsKey(CLASS_FIELD_OF_INTERFACE_TYPE), is(false));
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("first attempt fails");
+            }
+        });
+        lazyBeanDefinition.setBeanConfigurators(configurators);
+
+        assertThrows(IllegalStateException.class, () ->
+                factory.createLazyBean(registry, lazyBeanDefinition, concurrentBeanMap));
+        assertThat(concurrentBeanMap.containsKey(CLASS_FIELD_OF_INTERFACE_TYPE), is(false));
+
+        var bean = factory.createLazyBean(registry, lazyBeanDefinition, concurrentBeanMap);
+        assertThat(attempts.get(), is(2));
+        assertThat(concurrentBeanMap.get(CLASS_FIELD_OF_INTERFACE_TYPE), is(bean));
+        validateFields(bean);
+    }
+
+    @Test
+    @DisplayName("Prototype factory creates a new object with its dependencies on every call")
+    void prototypeFactory() {
+        Stream.of(PrototypeClass.class, PrototypeDependency.class, SingletonWithPrototype.class)
+                .map(targetClass -> BeanDefinitionGenerator.generate(targetClass, Collections.emptySet()))
+                .forEach(beanDefinition -> registry.registerBeanDefinition(beanDefinition.getClassName(), beanDefinition));
+
+        factory.traverseBeanDefinitionRegistryAndFillBeanMap(registry, beanMap);
+
+        assertThat(beanMap.containsKey(PrototypeClass.class.getName()), is(false));
+        assertThat(beanMap.containsKey(PrototypeDependency.class.getName()), is(false));
+        var prototypeFactory = registry.getBeanDefinition(PrototypeClass.class.getName()).getPrototypeFactory();
+        var first = (PrototypeClass) prototypeFactory.newInstance();
+        var second = (PrototypeClass) prototypeFactory.newInstance();
+        assertThat(first == second, is(false));
+        assertThat(first.getClass1(), is(beanMap.get(CLASS_NO_FIELDS)));
+        assertThat(second.getClass1(), is(beanMap.get(CLASS_NO_FIELDS)));
+        assertThat(first.getPrototypeDependency() == second.getPrototypeDependency(), is(false));
+        var singleton = (SingletonWithPrototype) beanMap.get(SingletonWithPrototype.class.getName());
+        assertThat(singleton.getPrototypeDependency(), instanceOf(PrototypeDependency.class));
+    }
+
+    @Test
+    @DisplayName("Compilation of prototype factories is recorded apart from creation to startup metrics")
+    void compilationMetrics() {
+        var metrics = new StartupMetrics(true);
+        factory.setStartupMetrics(metrics);
+        Stream.of(PrototypeClass.class, PrototypeDependency.class, SingletonWithPrototype.class)
+                .map(targetClass -> BeanDefinitionGenerator.generate(targetClass, Collections.emptySet()))
+                .forEach(beanDefinition -> registry.registerBeanDefinition(beanDefinition.getClassName(), beanDefinition));
+
+        factory.traverseBeanDefinitionRegistryAndFillBeanMap(registry, beanMap);
+
+        var timings = metrics.getBeanTimings().stream()
+                .collect(Collectors.toMap(StartupMetrics.BeanTiming::getBeanName, timing -> timing));
+        assertThat(metrics.getPhaseTiming(StartupPhase.COMPILATION).getCount(), is(3L));
+        assertThat(timings.get(PrototypeClass.class.getName()).getCompilationNanos(), greaterThan(0L));
+        assertThat(timings.get(SingletonWithPrototype.class.getName()).getCompilationNanos(), greaterThan(0L));
+        assertThat(timings.get(SingletonWithPrototype.class.getName()).getCreationNanos(), greaterThan(0L));
+        assertThat(timings.get(CLASS_NO_FIELDS).getCompilationNanos(), is(0L));
+    }
+
     private void validateConstructor(Object createdBean) {
         var beanCreator = registry.getBeanDefinitionMap().get(createdBean.getClass().getName()).getBeanCreator();
 
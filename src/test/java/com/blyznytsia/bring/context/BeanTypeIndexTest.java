@@ -0,0 +1,68 @@
+package com.blyznytsia.bring.context;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class1;
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class2;
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.HelloInterface;
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.HelloInterfaceImpl_1;
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.HelloInterfaceImpl_2;
+
+class BeanTypeIndexTest {
+
+    @Test
+    @DisplayName("Bean is found by its class, its interfaces and Object")
+    void beanIsIndexedByAllAssignableTypes() {
+        var impl = new HelloInterfaceImpl_1();
+        var index = BeanTypeIndex.of(Map.of(HelloInterfaceImpl_1.class.getName(), impl));
+
+        assertThat(index.get(HelloInterfaceImpl_1.class), sameInstance(impl));
+        assertThat(index.get(HelloInterface.class), sameInstance(impl));
+        assertThat(index.get(Object.class), sameInstance(impl));
+        assertThat(index.get(Class1.class), nullValue());
+    }
+
+    @Test
+    @DisplayName("Bean of exactly the requested type wins over other assignable beans")
+    void exactTypeWins() {
+        var class1 = new Class1();
+        var class2 = new Class2();
+        var beanMap = new HashMap<String, Object>();
+        beanMap.put(Class1.class.getName(), class1);
+        beanMap.put(Class2.class.getName(), class2);
+
+        var index = BeanTypeIndex.of(beanMap);
+
+        assertThat(index.get(Class1.class), sameInstance(class1));
+        assertThat(index.get(Class2.class), sameInstance(class2));
+        assertThat(index.get(Object.class), sameInstance(class1));
+    }
+
+    @Test
+    @DisplayName("Ambiguous lookup resolves to the same bean regardless of the storage order")
+    void ambiguousLookupIsDeterministic() {
+        var impl1 = new HelloInterfaceImpl_1();
+        var impl2 = new HelloInterfaceImpl_2();
+        var beanMap = new HashMap<String, Object>();
+        for (int i = 0; i < 10_000; i++) {
+            beanMap.put("bean" + i, new Class1());
+        }
+        beanMap.put("z_impl_2", impl2);
+        beanMap.put("a_impl_1", impl1);
+
+        var index = BeanTypeIndex.of(beanMap);
+
+        assertThat(index.get(HelloInterface.class), sameInstance(impl1));
+        assertThat(index.get(HelloInterfaceImpl_2.class), sameInstance(impl2));
+        assertThat(index.get(Class1.class), is(beanMap.get("bean0")));
+    }
+}
@@ -0,0 +1,84 @@
+package com.blyznytsia.bring.context;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ComponentIndexTest {
+
+    @TempDir
+    Path classpathRoot;
+
+    @Test
+    @DisplayName("No index on the classpath")
+    void noIndex() throws IOException {
+        try (var classLoader = classLoaderOf(classpathRoot)) {
+            assertThat(ComponentIndex.load(classLoader).isPresent(), is(false));
+        }
+    }
+
+    @Test
+    @DisplayName("Index entries are read by kind")
+    void entriesAreReadByKind() throws IOException {
+        var indexFile = classpathRoot.resolve(ComponentIndex.INDEX_LOCATION);
+        Files.createDirectories(indexFile.getParent());
+        Files.write(indexFile, List.of(
+                "# generated",
+                "bean=com.example.beans.SomeBean",
+                "component=com.example.Component1",
+                "component=com.example.Component2",
+                "componentScan=com.example",
+                "configuration=com.example.Config",
+                "unknown=ignored"));
+
+        try (var classLoader = classLoaderOf(classpathRoot)) {
+            var index = ComponentIndex.load(classLoader).orElseThrow();
+
+            assertThat(index.getConfigurations(), contains("com.example.Config"));
+            assertThat(index.getComponents(), contains("com.example.Component1", "com.example.Component2"));
+            assertThat(index.getComponentScanPackages(), contains("com.example"));
+            assertThat(index.getBeans(), contains("com.example.beans.SomeBean"));
+        }
+    }
+
+    @Test
+    @DisplayName("Index covers the scanned packages only if every location holding them is indexed")
+    void coverage() throws IOException {
+        var indexedRoot = classpathRoot.resolve("indexed");
+        var otherRoot = classpathRoot.resolve("other");
+        var indexFile = indexedRoot.resolve(ComponentIndex.INDEX_LOCATION);
+        Files.createDirectories(indexFile.getParent());
+        Files.write(indexFile, List.of("componentScan=com.example"));
+        Files.createDirectories(indexedRoot.resolve("com/example"));
+        Files.createDirectories(otherRoot.resolve("com/other"));
+
+        try (var indexedClassLoader = classLoaderOf(indexedRoot, otherRoot)) {
+            assertThat(ComponentIndex.load(indexedClassLoader).orElseThrow().covers(indexedClassLoader), is(true));
+        }
+
+        Files.createDirectories(otherRoot.resolve("com/example/more"));
+        try (var partlyIndexedClassLoader = classLoaderOf(indexedRoot, otherRoot)) {
+            var index = ComponentIndex.load(partlyIndexedClassLoader).orElseThrow();
+            assertThat(index.covers(partlyIndexedClassLoader), is(false));
+        }
+    }
+
+    private URLClassLoader classLoaderOf(Path... roots) throws IOException {
+        var urls = new URL[roots.length];
+        for (int i = 0; i < roots.length; i++) {
+            urls[i] = roots[i].toUri().toURL();
+        }
+        return new URLClassLoader(urls, null);
+    }
+}
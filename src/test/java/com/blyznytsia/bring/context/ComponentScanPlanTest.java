@@ -0,0 +1,68 @@
+package com.blyznytsia.bring.context;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.blyznytsia.bring.context.annotation.Component;
+import com.blyznytsia.bring.context.demo.test_data_classes.exception.ClassAwithB;
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class1;
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.HelloInterfaceImpl_2;
+
+class ComponentScanPlanTest {
+
+    private static final String PACKAGE = "com.blyznytsia.bring.context.demo.test_data_classes";
+    private static final String HAPPY_PATH_PACKAGE = PACKAGE + ".happy_path";
+    private static final String EXCEPTION_PACKAGE = PACKAGE + ".exception";
+
+    @Test
+    @DisplayName("Prefixes are normalized and subpackages of other prefixes are dropped, siblings are kept")
+    void packagesAreNormalizedAndDeduplicated() {
+        var plan = ComponentScanPlan.of(List.of(
+                " " + HAPPY_PATH_PACKAGE + ". ", HAPPY_PATH_PACKAGE, "com.blyznytsia.bring.demo.classes_x",
+                "com.blyznytsia.bring.demo.classes", "com.blyznytsia.bring.demo.classes.web", ".", ""));
+
+        assertThat(plan.getPackages(), contains(HAPPY_PATH_PACKAGE, "com.blyznytsia.bring.demo.classes",
+                "com.blyznytsia.bring.demo.classes_x"));
+    }
+
+    @Test
+    @DisplayName("A package sharing the characters of a planned package is not scanned")
+    void siblingPackageIsNotScanned() {
+        var plan = ComponentScanPlan.of(List.of(PACKAGE + ".happy", EXCEPTION_PACKAGE));
+
+        var components = plan.getTypesAnnotatedWith(Component.class);
+
+        assertThat(components, hasItems(ClassAwithB.class));
+        assertThat(components.stream().allMatch(component ->
+                component.getPackageName().equals(EXCEPTION_PACKAGE)), is(true));
+    }
+
+    @Test
+    @DisplayName("Nested package is not scanned separately")
+    void nestedPackageIsCoveredByParent() {
+        var plan = ComponentScanPlan.of(List.of(HAPPY_PATH_PACKAGE, PACKAGE, EXCEPTION_PACKAGE));
+
+        assertThat(plan.getPackages(), contains(PACKAGE));
+    }
+
+    @Test
+    @DisplayName("Each class file of the planned packages is read once")
+    void singleScan() {
+        var plan = ComponentScanPlan.of(List.of(HAPPY_PATH_PACKAGE, EXCEPTION_PACKAGE, HAPPY_PATH_PACKAGE));
+
+        var components = plan.getTypesAnnotatedWith(Component.class);
+
+        assertThat(components, hasSize(12));
+        assertThat(components, hasItems(Class1.class, HelloInterfaceImpl_2.class, ClassAwithB.class));
+        // 12 components and HelloInterface
+        assertThat(plan.getScannedClassFiles(), is(13L));
+    }
+}
@@ -0,0 +1,104 @@
+package com.blyznytsia.bring.context;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.blyznytsia.bring.context.exceptions.BeanDefinitionNotFoundException;
+import com.blyznytsia.bring.context.exceptions.CircularDependencyException;
+
+class DependencyGraphTest {
+
+    private final BeanDefinitionRegistry registry = new BeanDefinitionRegistry();
+
+    @Test
+    @DisplayName("Every BeanDefinition comes after its dependencies")
+    void creationOrder() {
+        register("A", "B", "C");
+        register("B", "C");
+        register("C");
+        register("D", "A");
+
+        var order = creationOrder(new HashMap<>());
+
+        assertThat(order, contains("C", "B", "A", "D"));
+    }
+
+    @Test
+    @DisplayName("Dependencies already in the objects' storage are satisfied")
+    void dependenciesInBeanMapAreSatisfied() {
+        register("A", "X");
+        var beanMap = new HashMap<String, Object>();
+        beanMap.put("X", new Object());
+
+        assertThat(creationOrder(beanMap), contains("A"));
+    }
+
+    @Test
+    @DisplayName("Unknown dependency is reported")
+    void unknownDependency() {
+        register("A", "X");
+
+        assertThrows(BeanDefinitionNotFoundException.class, () -> DependencyGraph.of(registry, new HashMap<>()));
+    }
+
+    @Test
+    @DisplayName("All circular dependencies are reported with their full paths")
+    void allCyclesAreReported() {
+        register("A", "B");
+        register("B", "C");
+        register("C", "A");
+        register("D", "E");
+        register("E", "D");
+        register("F", "F");
+        register("G", "A");
+        register("H");
+
+        var exception = assertThrows(CircularDependencyException.class, () -> creationOrder(new HashMap<>()));
+
+        assertThat(exception.getCycles(), containsInAnyOrder(
+                List.of("A", "B", "C", "A"),
+                List.of("D", "E", "D"),
+                List.of("F", "F")));
+    }
+
+    @Test
+    @DisplayName("Long dependency chain is resolved without exhausting the call stack")
+    void longChain() {
+        int length = 100_000;
+        for (int i = 0; i < length - 1; i++) {
+            register("bean" + i, "bean" + (i + 1));
+        }
+        register("bean" + (length - 1));
+
+        var graph = DependencyGraph.of(registry, new HashMap<>());
+
+        assertThat(graph.findCycles(), is(empty()));
+        assertThat(graph.getCreationOrder().get(0).getClassName(), is("bean" + (length - 1)));
+    }
+
+    private List<String> creationOrder(HashMap<String, Object> beanMap) {
+        return DependencyGraph.of(registry, beanMap).getCreationOrder().stream()
+                .map(BeanDefinition::getClassName)
+                .collect(toList());
+    }
+
+    private void register(String className, String... dependsOn) {
+        var beanDefinition = new BeanDefinition();
+        beanDefinition.setClassName(className);
+        beanDefinition.setDependsOnFields(List.of(dependsOn));
+        beanDefinition.setBeanConfigurators(Collections.emptyList());
+        registry.registerBeanDefinition(className, beanDefinition);
+    }
+}
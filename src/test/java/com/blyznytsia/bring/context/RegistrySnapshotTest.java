@@ -0,0 +1,114 @@
+package com.blyznytsia.bring.context;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class1;
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class2;
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class3;
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class4;
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class6;
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.HelloInterfaceImpl_1;
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.HelloInterfaceImpl_2;
+import com.blyznytsia.bring.context.demo.test_data_classes.prototype.PrototypeClass;
+import com.blyznytsia.bring.context.util.BeanDefinitionGenerator;
+
+class RegistrySnapshotTest {
+
+    private static final byte[] FINGERPRINT = new byte[32];
+
+    @TempDir
+    Path directory;
+
+    private Path snapshotPath;
+    private BeanDefinitionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        snapshotPath = directory.resolve("registry.snapshot");
+        registry = new BeanDefinitionRegistry();
+        var interfaceImplementations = Set.<Class<?>>of(HelloInterfaceImpl_1.class, HelloInterfaceImpl_2.class);
+        List.of(Class1.class, Class2.class, Class3.class, Class4.class, Class6.class,
+                HelloInterfaceImpl_1.class, HelloInterfaceImpl_2.class, PrototypeClass.class)
+                .forEach(targetClass -> registry.registerBeanDefinition(targetClass.getName(),
+                        BeanDefinitionGenerator.generate(targetClass, interfaceImplementations)));
+        registry.getBeanDefinition(Class3.class.getName()).setLazy(true);
+    }
+
+    @Test
+    @DisplayName("BeanDefinitions read from the snapshot are the same as the written ones")
+    void roundTrip() {
+        RegistrySnapshot.write(registry, snapshotPath, FINGERPRINT);
+
+        var beanDefinitions = RegistrySnapshot.read(snapshotPath, FINGERPRINT, getClass().getClassLoader())
+                .orElseThrow();
+
+        var restored = new BeanDefinitionRegistry();
+        beanDefinitions.forEach(beanDefinition ->
+                restored.registerBeanDefinition(beanDefinition.getClassName(), beanDefinition));
+        assertThat(describe(restored), is(describe(registry)));
+    }
+
+    @Test
+    @DisplayName("Snapshot written for another classpath is rejected")
+    void fingerprintMismatch() {
+        RegistrySnapshot.write(registry, snapshotPath, FINGERPRINT);
+        var otherFingerprint = Arrays.copyOf(FINGERPRINT, FINGERPRINT.length);
+        otherFingerprint[0] = 1;
+
+        assertThat(RegistrySnapshot.read(snapshotPath, otherFingerprint, getClass().getClassLoader()).isPresent(),
+                is(false));
+    }
+
+    @Test
+    @DisplayName("Missing or truncated snapshot is rejected")
+    void invalidSnapshot() throws IOException {
+        assertThat(RegistrySnapshot.read(snapshotPath, FINGERPRINT, getClass().getClassLoader()).isPresent(),
+                is(false));
+
+        RegistrySnapshot.write(registry, snapshotPath, FINGERPRINT);
+        var bytes = Files.readAllBytes(snapshotPath);
+        Files.write(snapshotPath, Arrays.copyOf(bytes, bytes.length / 2));
+
+        assertThat(RegistrySnapshot.read(snapshotPath, FINGERPRINT, getClass().getClassLoader()).isPresent(),
+                is(false));
+    }
+
+    @Test
+    @DisplayName("Classpath fingerprint is stable while the classpath is unchanged")
+    void stableFingerprint() {
+        var classLoader = getClass().getClassLoader();
+
+        assertThat(Arrays.equals(RegistrySnapshot.fingerprint(classLoader), RegistrySnapshot.fingerprint(classLoader)),
+                is(true));
+    }
+
+    static Map<String, List<Object>> describe(BeanDefinitionRegistry registry) {
+        var description = new TreeMap<String, List<Object>>();
+        registry.getBeanDefinitionMap().forEach((name, beanDefinition) -> description.put(name, List.of(
+                beanDefinition.getBeanClass(),
+                beanDefinition.getConstructor(),
+                beanDefinition.getBeanCreator().getClass(),
+                beanDefinition.getBeanConfigurators().stream().map(Object::getClass).collect(toList()),
+                beanDefinition.getDependsOnFields(),
+                beanDefinition.getAutowiredFieldTypes(),
+                beanDefinition.isLazy(),
+                beanDefinition.getScope())));
+        return description;
+    }
+}
@@ -0,0 +1,174 @@
+package com.blyznytsia.bring.context;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.blyznytsia.bring.context.constants.StartupPhase;
+import com.blyznytsia.bring.context.metrics.StartupMetrics;
+import com.blyznytsia.bring.demo.classes.Class1;
+import com.blyznytsia.bring.demo.classes_beans.ClassBean;
+import com.blyznytsia.bring.demo.classes_x.ClassX;
+import com.blyznytsia.bring.demo.config1.DemoAppConfig1;
+
+class ScannerTest {
+
+    @Test
+    @DisplayName("Parallel mode fills the registry with the same BeanDefinitions as sequential mode")
+    void parallelModeIsEquivalentToSequential() {
+        var sequentialRegistry = new BeanDefinitionRegistry();
+        var parallelRegistry = new BeanDefinitionRegistry();
+
+        new Scanner(false).scanAndFillBeanDefinitionRegistry(sequentialRegistry);
+        new Scanner(true).scanAndFillBeanDefinitionRegistry(parallelRegistry);
+
+        assertThat(describe(parallelRegistry), is(describe(sequentialRegistry)));
+    }
+
+    @Test
+    @DisplayName("Registry filled from a valid snapshot is the same as the scanned one, without scanning")
+    void snapshot(@TempDir Path directory) {
+        var snapshotPath = directory.resolve("registry.snapshot");
+        var scannedRegistry = new BeanDefinitionRegistry();
+        var snapshotRegistry = new BeanDefinitionRegistry();
+        var scanner = new Scanner(false);
+        scanner.setSnapshotPath(snapshotPath);
+        scanner.scanAndFillBeanDefinitionRegistry(scannedRegistry);
+
+        var snapshotScanner = new Scanner(false);
+        var metrics = new StartupMetrics(true);
+        snapshotScanner.setSnapshotPath(snapshotPath);
+        snapshotScanner.setStartupMetrics(metrics);
+        snapshotScanner.scanAndFillBeanDefinitionRegistry(snapshotRegistry);
+
+        assertThat(Files.exists(snapshotPath), is(true));
+        assertThat(RegistrySnapshotTest.describe(snapshotRegistry), is(RegistrySnapshotTest.describe(scannedRegistry)));
+        assertThat(snapshotScanner.getConfigScanPlan(), is(nullValue()));
+        assertThat(metrics.getPhaseTiming(StartupPhase.SNAPSHOT_LOADING).getCount(), is(1L));
+        assertThat(metrics.getPhaseTiming(StartupPhase.CONFIG_DISCOVERY).getCount(), is(0L));
+    }
+
+    @Test
+    @DisplayName("Index components of a sibling package sharing the name prefix of a scanned package are skipped")
+    void indexSiblingPackageIsNotScanned(@TempDir Path directory) throws IOException {
+        var classpathRoot = compileIndexedApplication(directory);
+        var registry = new BeanDefinitionRegistry();
+        var scanner = new Scanner(false);
+
+        withContextClassLoader(classpathRoot, () -> scanner.scanAndFillBeanDefinitionRegistry(registry));
+
+        assertThat(scanner.getConfigScanPlan(), is(nullValue()));
+        assertThat(registry.containsBeanDefinition("indexed.app.IndexedComponent"), is(true));
+        assertThat(registry.containsBeanDefinition("indexed.app_x.SiblingComponent"), is(false));
+    }
+
+    @Test
+    @DisplayName("Index not covering the classpath locations of the scanned packages is ignored")
+    void indexNotCoveringScannedPackagesIsIgnored(@TempDir Path classpathRoot) throws IOException {
+        writeIndex(classpathRoot, List.of(
+                "configuration=" + DemoAppConfig1.class.getName(),
+                "componentScan=com.blyznytsia.bring.demo.classes",
+                "component=" + Class1.class.getName(),
+                "bean=" + ClassBean.class.getName()));
+        var registry = new BeanDefinitionRegistry();
+        var scanner = new Scanner(false);
+
+        withContextClassLoader(classpathRoot, () -> scanner.scanAndFillBeanDefinitionRegistry(registry));
+
+        assertThat(scanner.getConfigScanPlan(), is(notNullValue()));
+        assertThat(registry.containsBeanDefinition(Class1.class.getName()), is(true));
+        assertThat(registry.containsBeanDefinition(ClassX.class.getName()), is(true));
+    }
+
+    @Test
+    @DisplayName("Disabled index is not read")
+    void disabledIndex(@TempDir Path directory) throws IOException {
+        var classpathRoot = compileIndexedApplication(directory);
+        var registry = new BeanDefinitionRegistry();
+        var scanner = new Scanner(false);
+        scanner.setIndexEnabled(false);
+
+        withContextClassLoader(classpathRoot, () -> scanner.scanAndFillBeanDefinitionRegistry(registry));
+
+        assertThat(scanner.getConfigScanPlan(), is(notNullValue()));
+        assertThat(registry.containsBeanDefinition("indexed.app.IndexedComponent"), is(false));
+    }
+
+    private Path compileIndexedApplication(Path directory) throws IOException {
+        var sourceDirectory = Files.createDirectories(directory.resolve("src"));
+        var classDirectory = Files.createDirectories(directory.resolve("classes"));
+        var sources = List.of(
+                write(sourceDirectory, "indexed.app.IndexedConfig", "@Configuration\n"
+                        + "@ComponentScan(\"indexed.app\")\n"
+                        + "public class IndexedConfig {}\n"),
+                write(sourceDirectory, "indexed.app.IndexedComponent",
+                        "@Component\npublic class IndexedComponent {}\n"),
+                write(sourceDirectory, "indexed.app_x.SiblingComponent",
+                        "@Component\npublic class SiblingComponent {}\n"));
+        var arguments = new ArrayList<>(List.of("-d", classDirectory.toString(),
+                "-cp", System.getProperty("java.class.path"), "-proc:none"));
+        sources.forEach(source -> arguments.add(source.toString()));
+        assertThat(ToolProvider.getSystemJavaCompiler().run(null, null, null, arguments.toArray(new String[0])),
+                is(0));
+        writeIndex(classDirectory, List.of(
+                "configuration=indexed.app.IndexedConfig",
+                "componentScan=indexed.app",
+                "component=indexed.app.IndexedComponent",
+                "component=indexed.app_x.SiblingComponent"));
+        return classDirectory;
+    }
+
+    private Path write(Path sourceDirectory, String className, String body) throws IOException {
+        var separator = className.lastIndexOf('.');
+        var source = sourceDirectory.resolve(className.replace('.', '/') + ".java");
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, "package " + className.substring(0, separator) + ";\n\n"
+                + "import com.blyznytsia.bring.context.annotation.*;\n\n" + body);
+        return source;
+    }
+
+    static void writeIndex(Path classpathRoot, List<String> entries) throws IOException {
+        var indexFile = classpathRoot.resolve(ComponentIndex.INDEX_LOCATION);
+        Files.createDirectories(indexFile.getParent());
+        Files.write(indexFile, entries);
+    }
+
+    static void withContextClassLoader(Path classpathRoot, Runnable action) throws IOException {
+        var thread = Thread.currentThread();
+        var previousClassLoader = thread.getContextClassLoader();
+        try (var classLoader = new URLClassLoader(new URL[]{classpathRoot.toUri().toURL()},
+                ScannerTest.class.getClassLoader())) {
+            thread.setContextClassLoader(classLoader);
+            action.run();
+        } finally {
+            thread.setContextClassLoader(previousClassLoader);
+        }
+    }
+
+    private Map<String, List<Object>> describe(BeanDefinitionRegistry registry) {
+        var description = new TreeMap<String, List<Object>>();
+        registry.getBeanDefinitionMap().forEach((name, beanDefinition) -> description.put(name, List.of(
+                beanDefinition.getBeanCreator().getClass(),
+                beanDefinition.getBeanConfigurators().stream().map(Object::getClass).collect(toList()),
+                beanDefinition.getDependsOnFields())));
+        return description;
+    }
+}
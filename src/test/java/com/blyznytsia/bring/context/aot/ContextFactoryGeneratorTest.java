@@ -0,0 +1,135 @@
+package com.blyznytsia.bring.context.aot;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.blyznytsia.bring.context.BeanDefinitionRegistry;
+import com.blyznytsia.bring.context.BeanFactory;
+import com.blyznytsia.bring.context.demo.test_data_classes.aot.AotController;
+import com.blyznytsia.bring.context.demo.test_data_classes.aot.AotListener;
+import com.blyznytsia.bring.context.demo.test_data_classes.aot.AotPrivateService;
+import com.blyznytsia.bring.context.demo.test_data_classes.aot.AotPrototype;
+import com.blyznytsia.bring.context.demo.test_data_classes.aot.AotRepository;
+import com.blyznytsia.bring.context.demo.test_data_classes.aot.AotService;
+import com.blyznytsia.bring.context.demo.test_data_classes.provider.ExpensiveReport;
+import com.blyznytsia.bring.context.demo.test_data_classes.provider.ReportController;
+import com.blyznytsia.bring.context.util.BeanDefinitionGenerator;
+
+class ContextFactoryGeneratorTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Generated factory creates and wires the beans without reflection")
+    void generatedFactory() throws IOException, ReflectiveOperationException {
+        var sources = ContextFactoryGenerator.generate(registryOf(
+                AotRepository.class, AotListener.class, AotService.class, AotController.class, AotPrototype.class));
+
+        var service = sources.get(AotService.class.getPackageName() + "." + ContextFactoryGenerator.WIRING_CLASS_NAME);
+        assertThat(service, containsString("bean.repository = "));
+        assertThat(service, containsString("bean.setListener("));
+        assertThat(service, not(containsString("java.lang.reflect")));
+
+        try (var classLoader = compile(sources)) {
+            var registry = new BeanDefinitionRegistry();
+            var beanMap = new HashMap<String, Object>();
+            AotContextFactory.load(classLoader).orElseThrow().fillBeanDefinitionRegistry(registry);
+            new BeanFactory().traverseBeanDefinitionRegistryAndFillBeanMap(registry, beanMap);
+
+            assertThat(beanMap.get(AotController.class.getName()).toString(),
+                    is("AotController[AotService[AotRepository, AotListener]]"));
+            var prototypeFactory = registry.getBeanDefinition(AotPrototype.class.getName()).getPrototypeFactory();
+            var prototype = (AotPrototype) prototypeFactory.newInstance();
+            assertThat(prototype, is(not(sameInstance(prototypeFactory.newInstance()))));
+            assertThat(prototype.repository, is(sameInstance(beanMap.get(AotRepository.class.getName()))));
+        }
+    }
+
+    @Test
+    @DisplayName("Private autowired fields and setters are set through handles")
+    void privateMembers() throws IOException {
+        var sources = ContextFactoryGenerator.generate(registryOf(
+                AotRepository.class, AotListener.class, AotPrivateService.class));
+
+        var wiring = sources.get(AotPrivateService.class.getPackageName() + "." + ContextFactoryGenerator.WIRING_CLASS_NAME);
+        assertThat(wiring, containsString("privateField(LOOKUP"));
+        assertThat(wiring, containsString("privateSetter(LOOKUP"));
+
+        try (var classLoader = compile(sources)) {
+            var beanMap = createBeans(classLoader);
+
+            assertThat(beanMap.get(AotPrivateService.class.getName()).toString(),
+                    is("AotPrivateService[AotRepository, AotListener]"));
+        }
+    }
+
+    @Test
+    @DisplayName("Object the generated code can not create is left to the runtime creators")
+    void runtimeFallback() throws IOException {
+        var sources = ContextFactoryGenerator.generate(registryOf(ExpensiveReport.class, ReportController.class));
+
+        assertThat(sources.get(AotContextFactory.GENERATED_CLASS_NAME), containsString("runtimeBeanDefinition"));
+        try (var classLoader = compile(sources)) {
+            var beanMap = createBeans(classLoader);
+
+            var controller = (ReportController) beanMap.get(ReportController.class.getName());
+            assertThat(controller.getReport().get(), instanceOf(ExpensiveReport.class));
+        }
+    }
+
+    private Map<String, Object> createBeans(ClassLoader classLoader) {
+        var registry = new BeanDefinitionRegistry();
+        var beanMap = new HashMap<String, Object>();
+        AotContextFactory.load(classLoader).orElseThrow().fillBeanDefinitionRegistry(registry);
+        new BeanFactory().traverseBeanDefinitionRegistryAndFillBeanMap(registry, beanMap);
+        return beanMap;
+    }
+
+    private BeanDefinitionRegistry registryOf(Class<?>... classes) {
+        var registry = new BeanDefinitionRegistry();
+        var components = Set.of(classes);
+        for (Class<?> targetClass : classes) {
+            registry.registerBeanDefinition(targetClass.getName(),
+                    BeanDefinitionGenerator.generate(targetClass, components));
+        }
+        return registry;
+    }
+
+    private URLClassLoader compile(Map<String, String> sources) throws IOException {
+        var sourceDirectory = directory.resolve("sources");
+        var classDirectory = Files.createDirectories(directory.resolve("classes"));
+        ContextFactoryGenerator.write(sources, sourceDirectory);
+        List<String> files;
+        try (Stream<Path> paths = Files.walk(sourceDirectory)) {
+            files = paths.filter(Files::isRegularFile).map(Path::toString).collect(Collectors.toList());
+        }
+        var arguments = Stream.concat(Stream.of(
+                "-d", classDirectory.toString(),
+                "-cp", System.getProperty("java.class.path")), files.stream()).toArray(String[]::new);
+        assertThat(ToolProvider.getSystemJavaCompiler().run(null, null, null, arguments), is(0));
+        return new URLClassLoader(new URL[]{classDirectory.toUri().toURL()}, getClass().getClassLoader());
+    }
+}
@@ -0,0 +1,20 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.aot;
+
+import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.annotation.Component;
+
+@Component
+public class AotController {
+
+    private final AotService service;
+
+    @Autowired
+    public AotController(AotService service) {
+        this.service = service;
+    }
+
+    @Override
+    public String toString() {
+        return "AotController[" + service + "]";
+    }
+}
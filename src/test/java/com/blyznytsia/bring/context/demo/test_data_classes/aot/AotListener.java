@@ -0,0 +1,12 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.aot;
+
+import com.blyznytsia.bring.context.annotation.Component;
+
+@Component
+public class AotListener {
+
+    @Override
+    public String toString() {
+        return "AotListener";
+    }
+}
@@ -0,0 +1,17 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.aot;
+
+import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.annotation.Component;
+import com.blyznytsia.bring.context.constants.BeanScope;
+
+@Component(scope = BeanScope.PROTOTYPE)
+public class AotPrototype {
+
+    @Autowired
+    public AotRepository repository;
+
+    @Override
+    public String toString() {
+        return "AotPrototype[" + repository + "]";
+    }
+}
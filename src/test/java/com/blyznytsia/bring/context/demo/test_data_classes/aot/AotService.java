@@ -0,0 +1,23 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.aot;
+
+import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.annotation.Component;
+
+@Component
+public class AotService {
+
+    @Autowired
+    public AotRepository repository;
+
+    private AotListener listener;
+
+    @Autowired
+    public void setListener(AotListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public String toString() {
+        return "AotService[" + repository + ", " + listener + "]";
+    }
+}
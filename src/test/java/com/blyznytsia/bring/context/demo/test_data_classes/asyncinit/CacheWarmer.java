@@ -0,0 +1,25 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.asyncinit;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.blyznytsia.bring.context.annotation.AsyncInit;
+import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.annotation.Component;
+
+import lombok.Getter;
+
+@Getter
+@Component
+public class CacheWarmer {
+
+    @Autowired
+    private ReferenceData referenceData;
+
+    private volatile boolean warmedWithLoadedData;
+
+    @AsyncInit
+    public CompletableFuture<Void> warm() {
+        warmedWithLoadedData = referenceData.isLoaded();
+        return CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,13 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.asyncinit;
+
+import com.blyznytsia.bring.context.annotation.AsyncInit;
+import com.blyznytsia.bring.context.annotation.Component;
+
+@Component
+public class FailingInit {
+
+    @AsyncInit
+    public void load() {
+        throw new IllegalStateException("Reference data is not available");
+    }
+}
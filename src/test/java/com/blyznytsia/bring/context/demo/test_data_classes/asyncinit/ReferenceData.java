@@ -0,0 +1,18 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.asyncinit;
+
+import com.blyznytsia.bring.context.annotation.AsyncInit;
+import com.blyznytsia.bring.context.annotation.Component;
+
+import lombok.Getter;
+
+@Getter
+@Component
+public class ReferenceData {
+
+    private volatile boolean loaded;
+
+    @AsyncInit
+    void load() {
+        loaded = true;
+    }
+}
@@ -0,0 +1,11 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.inheritance;
+
+import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.annotation.Component;
+
+@Component
+public class AmbiguousGreetingService {
+
+    @Autowired
+    private Greeting greeting;
+}
@@ -0,0 +1,12 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.inheritance;
+
+import com.blyznytsia.bring.context.annotation.Component;
+
+@Component("casual")
+public class CasualGreeting implements Greeting {
+
+    @Override
+    public String greet() {
+        return "Hi";
+    }
+}
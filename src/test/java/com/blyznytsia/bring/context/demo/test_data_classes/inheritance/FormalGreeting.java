@@ -0,0 +1,12 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.inheritance;
+
+import com.blyznytsia.bring.context.annotation.Component;
+
+@Component("formal")
+public class FormalGreeting extends AbstractPoliteGreeting {
+
+    @Override
+    public String greet() {
+        return "Good day";
+    }
+}
@@ -0,0 +1,5 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.inheritance;
+
+public interface Greeting {
+    String greet();
+}
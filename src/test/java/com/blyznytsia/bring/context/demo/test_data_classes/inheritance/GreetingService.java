@@ -0,0 +1,23 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.inheritance;
+
+import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.annotation.Component;
+import com.blyznytsia.bring.context.annotation.Qualifier;
+
+import lombok.Getter;
+
+@Component
+@Getter
+public class GreetingService {
+
+    @Autowired
+    private PoliteGreeting politeGreeting;
+
+    @Autowired
+    @Qualifier("formal")
+    private Greeting formalGreeting;
+
+    @Autowired
+    @Qualifier("casual")
+    private Greeting casualGreeting;
+}
@@ -0,0 +1,12 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.inheritance;
+
+import com.blyznytsia.bring.context.annotation.Component;
+
+@Component("kind")
+public class KindGreeting extends AbstractPoliteGreeting {
+
+    @Override
+    public String greet() {
+        return "Nice to see you";
+    }
+}
@@ -0,0 +1,4 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.inheritance;
+
+public interface PoliteGreeting extends Greeting {
+}
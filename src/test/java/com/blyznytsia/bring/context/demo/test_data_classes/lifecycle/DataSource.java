@@ -0,0 +1,30 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.lifecycle;
+
+import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.annotation.Component;
+import com.blyznytsia.bring.context.annotation.PostConstruct;
+import com.blyznytsia.bring.context.annotation.PreDestroy;
+
+import lombok.Getter;
+
+@Getter
+@Component
+public class DataSource {
+
+    @Autowired
+    private LifecycleLog log;
+
+    private boolean open;
+
+    @PostConstruct
+    void open() {
+        open = true;
+        log.record("open DataSource");
+    }
+
+    @PreDestroy
+    void close() {
+        open = false;
+        log.record("close DataSource");
+    }
+}
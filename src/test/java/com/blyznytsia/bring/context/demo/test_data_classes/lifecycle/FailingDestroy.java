@@ -0,0 +1,13 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.lifecycle;
+
+import com.blyznytsia.bring.context.annotation.Component;
+import com.blyznytsia.bring.context.annotation.PreDestroy;
+
+@Component
+public class FailingDestroy {
+
+    @PreDestroy
+    void close() {
+        throw new IllegalStateException("Connection is already closed");
+    }
+}
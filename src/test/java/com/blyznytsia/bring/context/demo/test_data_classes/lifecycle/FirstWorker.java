@@ -0,0 +1,17 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.lifecycle;
+
+import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.annotation.Component;
+import com.blyznytsia.bring.context.annotation.PreDestroy;
+
+@Component
+public class FirstWorker {
+
+    @Autowired
+    private ShutdownBarrier shutdownBarrier;
+
+    @PreDestroy
+    void stop() {
+        shutdownBarrier.await();
+    }
+}
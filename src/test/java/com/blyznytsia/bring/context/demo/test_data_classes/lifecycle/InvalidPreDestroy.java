@@ -0,0 +1,12 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.lifecycle;
+
+import com.blyznytsia.bring.context.annotation.Component;
+import com.blyznytsia.bring.context.annotation.PreDestroy;
+
+@Component
+public class InvalidPreDestroy {
+
+    @PreDestroy
+    void close(boolean force) {
+    }
+}
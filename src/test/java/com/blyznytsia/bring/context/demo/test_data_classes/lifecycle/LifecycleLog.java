@@ -0,0 +1,19 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.lifecycle;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.blyznytsia.bring.context.annotation.Component;
+
+import lombok.Getter;
+
+@Getter
+@Component
+public class LifecycleLog {
+
+    private final List<String> events = new CopyOnWriteArrayList<>();
+
+    public void record(String event) {
+        events.add(event);
+    }
+}
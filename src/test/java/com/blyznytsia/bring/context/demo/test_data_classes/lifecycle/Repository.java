@@ -0,0 +1,26 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.lifecycle;
+
+import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.annotation.Component;
+import com.blyznytsia.bring.context.annotation.PostConstruct;
+import com.blyznytsia.bring.context.annotation.PreDestroy;
+
+@Component
+public class Repository {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private LifecycleLog log;
+
+    @PostConstruct
+    void init() {
+        log.record("open Repository, DataSource open: " + dataSource.isOpen());
+    }
+
+    @PreDestroy
+    void close() {
+        log.record("close Repository, DataSource open: " + dataSource.isOpen());
+    }
+}
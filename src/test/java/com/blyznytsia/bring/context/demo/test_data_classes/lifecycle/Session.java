@@ -0,0 +1,29 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.lifecycle;
+
+import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.annotation.Component;
+import com.blyznytsia.bring.context.annotation.PostConstruct;
+import com.blyznytsia.bring.context.annotation.PreDestroy;
+import com.blyznytsia.bring.context.constants.BeanScope;
+
+import lombok.Getter;
+
+@Getter
+@Component(scope = BeanScope.POOLED)
+public class Session {
+
+    @Autowired
+    private DataSource dataSource;
+
+    private boolean started;
+
+    @PostConstruct
+    void start() {
+        started = true;
+    }
+
+    @PreDestroy
+    void close() {
+        dataSource.getLog().record("close Session, DataSource open: " + dataSource.isOpen());
+    }
+}
@@ -0,0 +1,22 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.lifecycle;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import com.blyznytsia.bring.context.annotation.Component;
+
+import lombok.SneakyThrows;
+
+/**
+ * Objects waiting at the barrier get through only if they are destroyed concurrently
+ */
+@Component
+public class ShutdownBarrier {
+
+    private final CyclicBarrier barrier = new CyclicBarrier(2);
+
+    @SneakyThrows
+    public void await() {
+        barrier.await(5, TimeUnit.SECONDS);
+    }
+}
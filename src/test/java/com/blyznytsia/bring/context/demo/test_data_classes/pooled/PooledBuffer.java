@@ -0,0 +1,10 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.pooled;
+
+import com.blyznytsia.bring.context.annotation.Component;
+import com.blyznytsia.bring.context.constants.BeanScope;
+
+@Component(scope = BeanScope.POOLED)
+public class PooledBuffer {
+
+    private final byte[] bytes = new byte[1024];
+}
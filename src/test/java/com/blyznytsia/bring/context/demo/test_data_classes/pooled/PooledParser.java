@@ -0,0 +1,20 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.pooled;
+
+import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.annotation.Component;
+import com.blyznytsia.bring.context.annotation.Pooled;
+import com.blyznytsia.bring.context.constants.BeanScope;
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class1;
+
+import lombok.Getter;
+
+@Getter
+@Pooled(maxSize = 2, prefill = 2)
+@Component(scope = BeanScope.POOLED)
+public class PooledParser {
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    @Autowired
+    private Class1 class1;
+}
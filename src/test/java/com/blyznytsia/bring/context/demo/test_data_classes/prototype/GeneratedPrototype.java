@@ -0,0 +1,31 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.prototype;
+
+import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class1;
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class3;
+
+import lombok.Getter;
+
+@Getter
+public class GeneratedPrototype {
+
+    private final Class1 class1;
+
+    @Autowired
+    private PrototypeDependency prototypeDependency;
+
+    private Class3 class3;
+    private PrototypeDependency setterDependency;
+
+    @Autowired
+    public GeneratedPrototype(Class1 class1) {
+        this.class1 = class1;
+    }
+
+    @Autowired
+    private GeneratedPrototype setDependencies(Class3 class3, PrototypeDependency setterDependency) {
+        this.class3 = class3;
+        this.setterDependency = setterDependency;
+        return this;
+    }
+}
@@ -0,0 +1,16 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.prototype;
+
+import com.blyznytsia.bring.context.annotation.Autowired;
+
+import lombok.Getter;
+
+@Getter
+public class PrimitiveSetterPrototype {
+
+    private long timeout;
+
+    @Autowired
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+}
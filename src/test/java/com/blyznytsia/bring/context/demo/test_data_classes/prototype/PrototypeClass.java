@@ -0,0 +1,19 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.prototype;
+
+import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.annotation.Component;
+import com.blyznytsia.bring.context.constants.BeanScope;
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class1;
+
+import lombok.Getter;
+
+@Getter
+@Component(scope = BeanScope.PROTOTYPE)
+public class PrototypeClass {
+
+    @Autowired
+    private Class1 class1;
+
+    @Autowired
+    private PrototypeDependency prototypeDependency;
+}
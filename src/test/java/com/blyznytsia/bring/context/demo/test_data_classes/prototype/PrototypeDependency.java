@@ -0,0 +1,8 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.prototype;
+
+import com.blyznytsia.bring.context.annotation.Component;
+import com.blyznytsia.bring.context.constants.BeanScope;
+
+@Component(scope = BeanScope.PROTOTYPE)
+public class PrototypeDependency {
+}
@@ -0,0 +1,18 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.prototype;
+
+import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.annotation.Component;
+
+import lombok.Getter;
+
+@Getter
+@Component
+public class SingletonWithPrototype {
+
+    private final PrototypeDependency prototypeDependency;
+
+    @Autowired
+    public SingletonWithPrototype(PrototypeDependency prototypeDependency) {
+        this.prototypeDependency = prototypeDependency;
+    }
+}
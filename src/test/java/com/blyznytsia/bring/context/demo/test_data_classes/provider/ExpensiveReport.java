@@ -0,0 +1,9 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.provider;
+
+import com.blyznytsia.bring.context.annotation.Component;
+import com.blyznytsia.bring.context.annotation.Lazy;
+
+@Lazy
+@Component
+public class ExpensiveReport {
+}
@@ -0,0 +1,19 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.provider;
+
+import com.blyznytsia.bring.context.Provider;
+import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.annotation.Component;
+
+import lombok.Getter;
+
+@Getter
+@Component
+public class ReportController {
+
+    private final Provider<ExpensiveReport> report;
+
+    @Autowired
+    public ReportController(Provider<ExpensiveReport> report) {
+        this.report = report;
+    }
+}
@@ -0,0 +1,20 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.provider;
+
+import com.blyznytsia.bring.context.ObjectFactory;
+import com.blyznytsia.bring.context.Provider;
+import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.annotation.Component;
+import com.blyznytsia.bring.context.demo.test_data_classes.prototype.PrototypeDependency;
+
+import lombok.Getter;
+
+@Getter
+@Component
+public class ReportService {
+
+    @Autowired
+    private Provider<ExpensiveReport> report;
+
+    @Autowired
+    private ObjectFactory<PrototypeDependency> dependencies;
+}
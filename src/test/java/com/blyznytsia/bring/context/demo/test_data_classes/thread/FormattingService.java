@@ -0,0 +1,14 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.thread;
+
+import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.annotation.Component;
+
+import lombok.Getter;
+
+@Getter
+@Component
+public class FormattingService {
+
+    @Autowired
+    private TextFormatter formatter;
+}
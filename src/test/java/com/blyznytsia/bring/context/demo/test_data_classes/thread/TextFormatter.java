@@ -0,0 +1,8 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.thread;
+
+public interface TextFormatter {
+
+    String format(String text);
+
+    Thread getOwner();
+}
@@ -0,0 +1,22 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.thread;
+
+import com.blyznytsia.bring.context.annotation.Component;
+import com.blyznytsia.bring.context.constants.BeanScope;
+
+@Component(scope = BeanScope.THREAD)
+public class ThreadFormatter implements TextFormatter {
+
+    private final StringBuilder buffer = new StringBuilder();
+    private final Thread owner = Thread.currentThread();
+
+    @Override
+    public String format(String text) {
+        buffer.setLength(0);
+        return buffer.append('[').append(text).append(']').toString();
+    }
+
+    @Override
+    public Thread getOwner() {
+        return owner;
+    }
+}
@@ -0,0 +1,11 @@
+package com.blyznytsia.bring.context.demo.test_data_classes.thread;
+
+import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.annotation.Component;
+
+@Component
+public class ThreadFormatterHolder {
+
+    @Autowired
+    private ThreadFormatter formatter;
+}
@@ -0,0 +1,109 @@
+package com.blyznytsia.bring.context.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.blyznytsia.bring.context.constants.StartupPhase;
+
+class StartupMetricsTest {
+
+    private final StartupMetrics metrics = new StartupMetrics(true);
+
+    @Test
+    @DisplayName("Measurements of a phase are accumulated")
+    void phaseTiming() {
+        metrics.start(StartupPhase.PACKAGE_SCANNING).stop();
+        metrics.start(StartupPhase.PACKAGE_SCANNING).stop();
+
+        var phaseTiming = metrics.getPhaseTiming(StartupPhase.PACKAGE_SCANNING);
+        assertThat(phaseTiming.getCount(), is(2L));
+        assertThat(phaseTiming.getStartNanos() >= 0, is(true));
+        assertThat(metrics.getPhaseTiming(StartupPhase.CONFIG_DISCOVERY).getStartNanos(), is(-1L));
+    }
+
+    @Test
+    @DisplayName("Concurrent getBean calls are all counted")
+    void getBeanCalls() throws InterruptedException, ExecutionException {
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            var calls = IntStream.range(0, 8)
+                    .mapToObj(i -> executor.submit(() -> IntStream.range(0, 1000).forEach(call -> {
+                        metrics.countGetBean(String.class);
+                        metrics.countGetBean(Integer.class);
+                    })))
+                    .collect(Collectors.toList());
+            for (Future<?> call : calls) {
+                call.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(metrics.getBeanCallCounts(), is(Map.of(
+                Integer.class.getName(), 8000L,
+                String.class.getName(), 8000L)));
+    }
+
+    @Test
+    @DisplayName("Phases, beans and getBean calls are exported as JSON")
+    void json() {
+        metrics.start(StartupPhase.CONFIG_DISCOVERY).stop();
+        var beanMeasurement = metrics.startBean("a.\"Quoted\"");
+        beanMeasurement.created();
+        beanMeasurement.stop();
+        metrics.countGetBean(String.class);
+
+        var json = metrics.toJson();
+
+        assertThat(metrics.getBeanTimings(), hasSize(1));
+        assertThat(json, containsString("{\"phase\": \"CONFIG_DISCOVERY\""));
+        assertThat(json, containsString("{\"phase\": \"CREATION\""));
+        assertThat(json, containsString("{\"name\": \"a.\\\"Quoted\\\"\""));
+        assertThat(json, containsString("\"java.lang.String\": 1"));
+        assertThat(json, not(containsString("PACKAGE_SCANNING")));
+    }
+
+    @Test
+    @DisplayName("Compilation of an object is recorded as a phase of its own")
+    void compiledBean() {
+        var beanMeasurement = metrics.startBean("bean");
+        beanMeasurement.compiled();
+        beanMeasurement.created();
+        beanMeasurement.stop();
+        metrics.startBean("notCompiled").stop();
+
+        var json = metrics.toJson();
+
+        assertThat(metrics.getPhaseTiming(StartupPhase.COMPILATION).getCount(), is(1L));
+        assertThat(metrics.getPhaseTiming(StartupPhase.CREATION).getCount(), is(2L));
+        assertThat(json, containsString("{\"phase\": \"COMPILATION\""));
+        assertThat(json, containsString("\"compilationNanos\": "));
+    }
+
+    @Test
+    @DisplayName("Disabled metrics record nothing")
+    void disabled() {
+        var disabled = StartupMetrics.disabled();
+
+        disabled.start(StartupPhase.CONFIG_DISCOVERY).stop();
+        disabled.startBean("bean").stop();
+        disabled.countGetBean(String.class);
+
+        assertThat(disabled.getPhaseTiming(StartupPhase.CONFIG_DISCOVERY).getCount(), is(0L));
+        assertThat(disabled.getBeanTimings(), hasSize(0));
+        assertThat(disabled.getBeanCallCounts().isEmpty(), is(true));
+    }
+}
@@ -0,0 +1,168 @@
+package com.blyznytsia.bring.context.reload;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.blyznytsia.bring.context.ApplicationContext;
+import com.blyznytsia.bring.context.BeanDefinitionRegistry;
+import com.blyznytsia.bring.context.Scanner;
+import com.blyznytsia.bring.context.demo.test_data_classes.inheritance.Greeting;
+import com.blyznytsia.bring.context.exceptions.NoSuchBeanException;
+import com.blyznytsia.bring.context.util.BeanDefinitionGenerator;
+import com.blyznytsia.bring.context.util.InterfaceResolutionIndex;
+
+class HotReloaderTest {
+
+    private static final String PACKAGE = "hotreload.app";
+    private static final String WORDS = PACKAGE + ".Words";
+    private static final String WORD_GREETING = PACKAGE + ".WordGreeting";
+    private static final String OTHER = PACKAGE + ".Other";
+
+    @TempDir
+    Path directory;
+
+    private Path sourceDirectory;
+    private Path classDirectory;
+    private URLClassLoader applicationClassLoader;
+    private ApplicationContext context;
+    private HotReloader hotReloader;
+
+    @BeforeEach
+    void setUp() throws IOException, ReflectiveOperationException {
+        sourceDirectory = Files.createDirectories(directory.resolve("sources"));
+        classDirectory = Files.createDirectories(directory.resolve("classes"));
+        writeWords("v1");
+        write(WORD_GREETING, "@Component public class WordGreeting implements " + Greeting.class.getName() + " {\n" +
+                "    @Autowired Words words;\n" +
+                "    public String greet() { return \"Hello \" + words.word(); }\n" +
+                "}\n");
+        write(OTHER, "@Component public class Other {\n}\n");
+        compile(WORDS, WORD_GREETING, OTHER);
+
+        applicationClassLoader = new URLClassLoader(new URL[]{classDirectory.toUri().toURL()},
+                getClass().getClassLoader());
+        var classes = new ArrayList<Class<?>>();
+        for (String className : List.of(WORDS, WORD_GREETING, OTHER)) {
+            classes.add(applicationClassLoader.loadClass(className));
+        }
+        var registry = new BeanDefinitionRegistry();
+        var resolutionIndex = InterfaceResolutionIndex.of(classes);
+        classes.forEach(beanClass -> registry.registerBeanDefinition(beanClass.getName(),
+                BeanDefinitionGenerator.generate(beanClass, resolutionIndex)));
+        context = new ApplicationContext();
+        context.setScanner(new Scanner() {
+            @Override
+            public void scanAndFillBeanDefinitionRegistry(BeanDefinitionRegistry beanDefinitionRegistry) {
+            }
+        });
+        context.setBeanDefinitionRegistry(registry);
+        context.init();
+        hotReloader = new HotReloader(context, List.of(classDirectory), applicationClassLoader);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        hotReloader.close();
+        applicationClassLoader.close();
+    }
+
+    @Test
+    @DisplayName("Changed class and its dependents are reloaded, other objects are kept")
+    void reloadChangedClass() throws ReflectiveOperationException, IOException {
+        var otherClass = applicationClassLoader.loadClass(OTHER);
+        var other = context.getBean(otherClass);
+        assertThat(context.getBean(Greeting.class).greet(), is("Hello v1"));
+
+        writeWords("v2");
+        compile(WORDS);
+        hotReloader.reload(List.of(WORDS));
+
+        assertThat(context.getBean(Greeting.class).greet(), is("Hello v2"));
+        assertThat(context.getBean(Greeting.class).getClass(),
+                is(not(sameInstance((Object) applicationClassLoader.loadClass(WORD_GREETING)))));
+        assertThat(context.getBean(otherClass), is(sameInstance(other)));
+        assertThat(hotReloader.getReloadCount(), is(1L));
+
+        writeWords("v3");
+        compile(WORDS);
+        hotReloader.reload(List.of(WORDS));
+
+        assertThat(context.getBean(Greeting.class).greet(), is("Hello v3"));
+    }
+
+    @Test
+    @DisplayName("Object whose class file is deleted is removed")
+    void reloadDeletedClass() throws ReflectiveOperationException, IOException {
+        var otherClass = applicationClassLoader.loadClass(OTHER);
+
+        Files.delete(classDirectory.resolve(OTHER.replace('.', '/') + ".class"));
+        hotReloader.reload(List.of(OTHER));
+
+        assertThrows(NoSuchBeanException.class, () -> context.getBean(otherClass));
+        assertThat(context.getBean(Greeting.class).greet(), is("Hello v1"));
+    }
+
+    @Test
+    @DisplayName("Changes of the watched directories are reloaded")
+    void watchDirectories() throws IOException, InterruptedException {
+        var failure = new AtomicReference<RuntimeException>();
+        hotReloader.setFailureHandler(failure::set);
+        hotReloader.setQuietPeriod(Duration.ofMillis(100));
+        hotReloader.start();
+
+        writeWords("v2");
+        compile(WORDS);
+
+        var deadline = System.nanoTime() + Duration.ofSeconds(20).toNanos();
+        while (hotReloader.getReloadCount() == 0 && failure.get() == null && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(failure.get() == null ? "" : failure.get().toString(), is(""));
+        assertThat(context.getBean(Greeting.class).greet(), is("Hello v2"));
+    }
+
+    private void writeWords(String word) throws IOException {
+        write(WORDS, "@Component public class Words {\n" +
+                "    public String word() { return \"" + word + "\"; }\n" +
+                "}\n");
+    }
+
+    private void write(String className, String body) throws IOException {
+        var file = sourceDirectory.resolve(className.replace('.', '/') + ".java");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "package " + PACKAGE + ";\n\n" +
+                "import com.blyznytsia.bring.context.annotation.Autowired;\n" +
+                "import com.blyznytsia.bring.context.annotation.Component;\n\n" + body);
+    }
+
+    private void compile(String... classNames) {
+        var arguments = new ArrayList<>(List.of("-d", classDirectory.toString(),
+                "-cp", System.getProperty("java.class.path") + java.io.File.pathSeparator + classDirectory));
+        for (String className : classNames) {
+            arguments.add(sourceDirectory.resolve(className.replace('.', '/') + ".java").toString());
+        }
+        assertThat(ToolProvider.getSystemJavaCompiler().run(null, null, null, arguments.toArray(new String[0])),
+                is(0));
+    }
+}
@@ -2,22 +2,29 @@ package com.blyznytsia.bring.context.util;
 
 import static java.util.stream.Collectors.toList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.emptyCollectionOf;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import com.blyznytsia.bring.context.BeanDefinition;
+import com.blyznytsia.bring.context.constants.BeanScope;
 import com.blyznytsia.bring.context.constants.BeanStatus;
+import com.blyznytsia.bring.context.demo.test_data_classes.asyncinit.InvalidAsyncInit;
+import com.blyznytsia.bring.context.demo.test_data_classes.lifecycle.DataSource;
+import com.blyznytsia.bring.context.demo.test_data_classes.lifecycle.InvalidPreDestroy;
 import com.blyznytsia.bring.context.demo.test_data_classes.exception.NoRequiredConstructors;
 import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class1;
 import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class2;
@@ -28,6 +35,11 @@ import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class6;
 import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class7;
 import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.HelloInterfaceImpl_1;
 import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.HelloInterfaceImpl_2;
+import com.blyznytsia.bring.context.demo.test_data_classes.prototype.PrototypeClass;
+import com.blyznytsia.bring.context.demo.test_data_classes.prototype.PrototypeDependency;
+import com.blyznytsia.bring.context.demo.test_data_classes.provider.ExpensiveReport;
+import com.blyznytsia.bring.context.demo.test_data_classes.provider.ReportController;
+import com.blyznytsia.bring.context.demo.test_data_classes.provider.ReportService;
 import com.blyznytsia.bring.context.exceptions.BeanCreationException;
 import com.blyznytsia.bring.context.services.BeanConfigurator;
 import com.blyznytsia.bring.context.services.impl.AutowiredConstructorBeanCreator;
@@ -131,6 +143,71 @@ class BeanDefinitionGeneratorTest {
         validateDependOnFields(beanDefinition, testClassFieldsToInject);
     }
 
+    @Test
+    @DisplayName("Bean class, constructor and interface field implementation are resolved once")
+    void resolvedClassHandles() throws NoSuchFieldException, NoSuchMethodException {
+        var beanDefinition = BeanDefinitionGenerator.generate(Class6.class,
+                Set.of(HelloInterfaceImpl_1.class, HelloInterfaceImpl_2.class));
+
+        assertThat(beanDefinition.getBeanClass(), is((Object) Class6.class));
+        assertThat(beanDefinition.getConstructor(), is((Object) Class6.class.getConstructor()));
+        assertThat(beanDefinition.getAutowiredFieldTypes(),
+                is(Map.of(Class6.class.getDeclaredField("hello"), HelloInterfaceImpl_2.class)));
+    }
+
+    @Test
+    @DisplayName("Scope is taken from @Component annotation")
+    void scope() {
+        assertThat(BeanDefinitionGenerator.generate(PrototypeClass.class, Collections.emptySet()).getScope(),
+                is(BeanScope.PROTOTYPE));
+        assertThat(BeanDefinitionGenerator.generate(Class1.class, Collections.emptySet()).getScope(),
+                is(BeanScope.SINGLETON));
+    }
+
+    @Test
+    @DisplayName("For Bean with provider fields the provided Beans are not dependencies")
+    void providerFields() {
+        var beanDefinition = BeanDefinitionGenerator.generate(ReportService.class, Collections.emptySet());
+
+        noDependsOnFields(beanDefinition);
+        assertThat(beanDefinition.getProvidedBeanNames(),
+                containsInAnyOrder(ExpensiveReport.class.getName(), PrototypeDependency.class.getName()));
+        assertThat(beanDefinition.getBeanConfigurators(), hasItem(instanceOf(AutowiredFieldBeanConfigurator.class)));
+    }
+
+    @Test
+    @DisplayName("For Bean with a provider constructor parameter the provided Bean is not a dependency")
+    void providerConstructorParameter() {
+        var beanDefinition = BeanDefinitionGenerator.generate(ReportController.class, Collections.emptySet());
+
+        noDependsOnFields(beanDefinition);
+        assertThat(beanDefinition.getProvidedBeanNames(), contains(ExpensiveReport.class.getName()));
+    }
+
+    @Test
+    @DisplayName("For Bean with an @AsyncInit method returning neither void nor CompletionStage")
+    void invalidAsyncInit() {
+        assertThrows(BeanCreationException.class,
+                () -> BeanDefinitionGenerator.generate(InvalidAsyncInit.class, Collections.emptySet()));
+    }
+
+    @Test
+    @DisplayName("Lifecycle methods are resolved with the BeanDefinition and kept by its copies")
+    void lifecycleMethods() {
+        var beanDefinition = BeanDefinitionGenerator.generate(DataSource.class, Collections.emptySet());
+
+        assertThat(beanDefinition.getLifecycleMethods().hasPostConstruct(), is(true));
+        assertThat(beanDefinition.getLifecycleMethods().hasPreDestroy(), is(true));
+        assertThat(beanDefinition.copy().getLifecycleMethods(), is(beanDefinition.getLifecycleMethods()));
+    }
+
+    @Test
+    @DisplayName("Exception if a @PreDestroy method has parameters")
+    void invalidPreDestroy() {
+        assertThrows(BeanCreationException.class,
+                () -> BeanDefinitionGenerator.generate(InvalidPreDestroy.class, Collections.emptySet()));
+    }
+
     @Test
     @DisplayName("Exception if no default or autowired constructors present")
     void withoutDefaultOrAutowiredConstructor() {
@@ -0,0 +1,76 @@
+package com.blyznytsia.bring.context.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class1;
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class3;
+import com.blyznytsia.bring.context.demo.test_data_classes.prototype.GeneratedPrototype;
+import com.blyznytsia.bring.context.demo.test_data_classes.prototype.PrimitiveSetterPrototype;
+import com.blyznytsia.bring.context.demo.test_data_classes.prototype.PrototypeDependency;
+
+class BeanFactoryGeneratorTest {
+
+    private final Class1 class1 = new Class1();
+    private final Class3 class3 = new Class3();
+    private final Map<String, Supplier<Object>> dependencies = Map.of(
+            Class1.class.getName(), () -> class1,
+            Class3.class.getName(), () -> class3,
+            PrototypeDependency.class.getName(), PrototypeDependency::new);
+
+    @Test
+    @DisplayName("Generated factory calls the constructor, the Autowired fields and setters in one class")
+    void generatedFactory() throws NoSuchMethodException {
+        var factory = BeanFactoryGenerator.generate(instantiationPlan(GeneratedPrototype.class, Class1.class),
+                injectionPlans(GeneratedPrototype.class), dependencies::get);
+
+        var first = (GeneratedPrototype) factory.get();
+        var second = (GeneratedPrototype) factory.get();
+
+        assertThat(factory.getClass().isHidden(), is(true));
+        assertThat(factory.getClass().getName(), containsString("GeneratedPrototype$$BringFactory"));
+        assertThat(first, not(sameInstance(second)));
+        assertThat(first.getClass1(), is(class1));
+        assertThat(first.getClass3(), is(class3));
+        assertThat(first.getPrototypeDependency(), instanceOf(PrototypeDependency.class));
+        assertThat(first.getSetterDependency(), instanceOf(PrototypeDependency.class));
+        assertThat(first.getPrototypeDependency(), not(sameInstance(second.getPrototypeDependency())));
+    }
+
+    @Test
+    @DisplayName("No factory is generated for primitive dependencies")
+    void primitiveDependency() throws NoSuchMethodException {
+        Function<String, Supplier<Object>> primitiveDependencies = name -> () -> 1L;
+
+        var factory = BeanFactoryGenerator.generate(instantiationPlan(PrimitiveSetterPrototype.class),
+                injectionPlans(PrimitiveSetterPrototype.class), primitiveDependencies);
+
+        assertThat(factory, nullValue());
+    }
+
+    private InstantiationPlan instantiationPlan(Class<?> targetClass, Class<?>... parameterTypes)
+            throws NoSuchMethodException {
+        var constructor = targetClass.getConstructor(parameterTypes);
+        var dependencyNames = List.of(parameterTypes).stream().map(Class::getName).toArray(String[]::new);
+        return new InstantiationPlan(targetClass, constructor,
+                BeanInstantiatorGenerator.generate(constructor), dependencyNames);
+    }
+
+    private List<InjectionPlan> injectionPlans(Class<?> targetClass) {
+        return List.of(InjectionPlan.forAutowiredFields(targetClass, field -> field.getType().getName()),
+                InjectionPlan.forAutowiredSetters(targetClass));
+    }
+}
@@ -0,0 +1,42 @@
+package com.blyznytsia.bring.context.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class1;
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class3;
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class4;
+
+class BeanInstantiatorGeneratorTest {
+
+    @Test
+    @DisplayName("Instantiator for empty constructor creates a new object on each call")
+    void emptyConstructor() throws NoSuchMethodException {
+        var instantiator = BeanInstantiatorGenerator.generate(Class1.class.getConstructor());
+
+        var first = instantiator.instantiate(new Object[0]);
+        var second = instantiator.instantiate(new Object[0]);
+
+        assertThat(first, instanceOf(Class1.class));
+        assertThat(second, not(sameInstance(first)));
+    }
+
+    @Test
+    @DisplayName("Instantiator for constructor with parameters passes the arguments in order")
+    void constructorWithParameters() throws NoSuchMethodException {
+        var instantiator = BeanInstantiatorGenerator.generate(Class4.class.getConstructor(Class1.class, Class3.class));
+        var class1 = new Class1();
+        var class3 = new Class3();
+
+        var created = (Class4) instantiator.instantiate(new Object[]{class1, class3});
+
+        assertThat(created.getClass1(), is(class1));
+        assertThat(created.getClass3(), is(class3));
+    }
+}
@@ -0,0 +1,113 @@
+package com.blyznytsia.bring.context.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BeanPoolTest {
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final BeanPool pool = new BeanPool(() -> new Object[]{created.incrementAndGet()}, 2);
+
+    @Test
+    @DisplayName("Returned objects are borrowed again, borrows from an empty pool create objects")
+    void borrowReusesReturnedObjects() {
+        var first = pool.borrow();
+        pool.release(first);
+
+        assertThat(pool.borrow(), sameInstance(first));
+        assertThat(pool.borrow(), not(sameInstance(first)));
+        assertThat(pool.getHitCount(), is(1L));
+        assertThat(pool.getMissCount(), is(2L));
+        assertThat(created.get(), is(2));
+    }
+
+    @Test
+    @DisplayName("Objects returned to a full pool are dropped")
+    void releaseDropsObjectsWhenFull() {
+        assertThat(pool.release(new Object()), is(true));
+        assertThat(pool.release(new Object()), is(true));
+        assertThat(pool.release(new Object()), is(false));
+
+        assertThat(pool.getIdleCount(), is(2));
+        assertThat(pool.getDropCount(), is(1L));
+        assertThrows(IllegalArgumentException.class, () -> pool.release(null));
+    }
+
+    @Test
+    @DisplayName("Prefill creates objects up to the requested count and never beyond the maximum size")
+    void prefill() throws Exception {
+        pool.prefill(1);
+        assertThat(pool.getIdleCount(), is(1));
+
+        pool.prefillAsync(5, Runnable::run).get(1, TimeUnit.SECONDS);
+        assertThat(pool.getIdleCount(), is(2));
+        assertThat(created.get(), is(2));
+        assertThat(pool.getMissCount(), is(0L));
+
+        pool.borrow();
+        assertThat(pool.getHitCount(), is(1L));
+    }
+
+    @Test
+    @DisplayName("Drain takes all the idle objects out of the pool")
+    void drain() {
+        pool.prefill(2);
+
+        assertThat(pool.drain().size(), is(2));
+        assertThat(pool.getIdleCount(), is(0));
+        assertThat(pool.drain().isEmpty(), is(true));
+    }
+
+    @Test
+    @DisplayName("An object is never borrowed by two threads at once")
+    void concurrentBorrowsGetDistinctObjects() throws Exception {
+        var concurrentPool = new BeanPool(Object::new, 4);
+        var inUse = ConcurrentHashMap.<Object>newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            var results = new ArrayList<Future<Boolean>>();
+            for (int thread = 0; thread < 8; thread++) {
+                results.add(executor.submit(() -> borrowAndReturn(concurrentPool, inUse)));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS), is(true));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(concurrentPool.getHitCount() + concurrentPool.getMissCount(), is(8L * 10_000));
+    }
+
+    private static boolean borrowAndReturn(BeanPool pool, Set<Object> inUse) {
+        for (int i = 0; i < 10_000; i++) {
+            var bean = pool.borrow();
+            if (!inUse.add(bean)) {
+                return false;
+            }
+            inUse.remove(bean);
+            pool.release(bean);
+        }
+        return true;
+    }
+
+    @Test
+    @DisplayName("A pool holds at least one object")
+    void maxSizeMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new BeanPool(Object::new, 0));
+    }
+}
@@ -0,0 +1,61 @@
+package com.blyznytsia.bring.context.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.blyznytsia.bring.context.annotation.Autowired;
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class1;
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class2;
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.Class3;
+
+class InjectionPlanTest {
+
+    private final Class1 class1 = new Class1();
+    private final Class3 class3 = new Class3();
+    private final Map<String, Object> beanMap = Map.of(
+            Class1.class.getName(), class1,
+            Class3.class.getName(), class3);
+
+    @Test
+    @DisplayName("Private autowired field is set")
+    void autowiredField() {
+        var plan = InjectionPlan.forAutowiredFields(Class2.class, field -> field.getType().getName());
+        var class2 = new Class2();
+
+        plan.inject(class2, beanMap);
+
+        assertThat(plan.size(), is(1));
+        assertThat(class2.getClass3(), is(class3));
+    }
+
+    @Test
+    @DisplayName("Autowired setter is called with all its parameters")
+    void autowiredSetterWithSeveralParameters() {
+        var plan = InjectionPlan.forAutowiredSetters(SetterInjected.class);
+        var setterInjected = new SetterInjected();
+
+        plan.inject(setterInjected, beanMap);
+
+        assertThat(setterInjected.class1, is(class1));
+        assertThat(setterInjected.class3, is(class3));
+        assertThat(setterInjected.setterCalls, is(1));
+    }
+
+    static class SetterInjected {
+        private Class1 class1;
+        private Class3 class3;
+        private int setterCalls;
+
+        @Autowired
+        private void setDependencies(Class1 class1, Class3 class3) {
+            this.class1 = class1;
+            this.class3 = class3;
+            setterCalls++;
+        }
+    }
+}
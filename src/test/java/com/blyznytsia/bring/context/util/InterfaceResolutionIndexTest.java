@@ -0,0 +1,84 @@
+package com.blyznytsia.bring.context.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.HelloInterface;
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.HelloInterfaceImpl_1;
+import com.blyznytsia.bring.context.demo.test_data_classes.happy_path.HelloInterfaceImpl_2;
+import com.blyznytsia.bring.context.demo.test_data_classes.inheritance.AmbiguousGreetingService;
+import com.blyznytsia.bring.context.demo.test_data_classes.inheritance.CasualGreeting;
+import com.blyznytsia.bring.context.demo.test_data_classes.inheritance.FormalGreeting;
+import com.blyznytsia.bring.context.demo.test_data_classes.inheritance.Greeting;
+import com.blyznytsia.bring.context.demo.test_data_classes.inheritance.GreetingService;
+import com.blyznytsia.bring.context.demo.test_data_classes.inheritance.PoliteGreeting;
+import com.blyznytsia.bring.context.exceptions.InterfaceInjectionException;
+
+class InterfaceResolutionIndexTest {
+
+    private static final Set<Class<?>> GREETINGS = Set.of(FormalGreeting.class, CasualGreeting.class);
+
+    @Test
+    @DisplayName("Interfaces of superclasses and superinterfaces are indexed")
+    void inheritedInterfaces() {
+        var index = InterfaceResolutionIndex.of(GREETINGS);
+
+        assertThat(index.getImplementations(PoliteGreeting.class), contains(FormalGreeting.class));
+        assertThat(index.getImplementations(Greeting.class),
+                containsInAnyOrder(FormalGreeting.class, CasualGreeting.class));
+        assertThat(index.getImplementations(HelloInterface.class), is(empty()));
+    }
+
+    @Test
+    @DisplayName("Implementations are indexed by interface and @Component value")
+    void qualifiedImplementations() {
+        var index = InterfaceResolutionIndex.of(Set.of(HelloInterfaceImpl_1.class, HelloInterfaceImpl_2.class,
+                FormalGreeting.class, CasualGreeting.class));
+
+        assertThat(index.getImplementations(HelloInterface.class, "impl_2"), contains(HelloInterfaceImpl_2.class));
+        assertThat(index.getImplementations(Greeting.class, "formal"), contains(FormalGreeting.class));
+        assertThat(index.getImplementations(PoliteGreeting.class, "casual"), is(empty()));
+        assertThat(index.getImplementations(HelloInterface.class, "formal"), is(empty()));
+    }
+
+    @Test
+    @DisplayName("Fields of inherited interfaces are resolved with and without @Qualifier")
+    void resolveInheritedInterfaceFields() throws NoSuchFieldException {
+        var autowiredFieldTypes = BeanDefinitionGenerator.resolveAutowiredFieldTypes(GreetingService.class,
+                InterfaceResolutionIndex.of(GREETINGS));
+
+        assertThat(autowiredFieldTypes, is(Map.of(
+                GreetingService.class.getDeclaredField("politeGreeting"), FormalGreeting.class,
+                GreetingService.class.getDeclaredField("formalGreeting"), FormalGreeting.class,
+                GreetingService.class.getDeclaredField("casualGreeting"), CasualGreeting.class)));
+    }
+
+    @Test
+    @DisplayName("Exception if an inherited interface has more than one implementation")
+    void ambiguousInheritedInterface() {
+        var index = InterfaceResolutionIndex.of(GREETINGS);
+
+        var exception = assertThrows(InterfaceInjectionException.class,
+                () -> BeanDefinitionGenerator.generate(AmbiguousGreetingService.class, index));
+        assertThat(exception.getMessage(), is(String.format("%s creation ambiguity: more than one %s implementation found",
+                AmbiguousGreetingService.class, Greeting.class.getName())));
+    }
+
+    @Test
+    @DisplayName("Index of an empty range resolves nothing")
+    void emptyRange() {
+        assertThat(InterfaceResolutionIndex.of(List.of()).getImplementations(Greeting.class), is(empty()));
+        assertThat(InterfaceResolutionIndex.empty().getImplementations(Greeting.class, "formal"), is(empty()));
+    }
+}